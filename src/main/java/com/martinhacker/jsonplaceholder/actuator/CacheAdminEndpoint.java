@@ -0,0 +1,286 @@
+package com.martinhacker.jsonplaceholder.actuator;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.martinhacker.jsonplaceholder.cache.RetainedSizeWeigher;
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.service.JsonPlaceholderService;
+import com.martinhacker.jsonplaceholder.upstream.UpstreamPriority;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Endpoint de actuator para administrar las caches en caliente (MBean cacheadmin):
+ * tamaño, bytes estimados, ratio de aciertos y edad de la entrada más antigua de cada cache,
+ * expulsión por clave o completa, y precarga (warm) o refresco (refresh) bajo demanda.
+ * Las precargas y refrescos se ejecutan en un pool propio y la operación responde al instante.
+ * Solo se publica por JMX: por HTTP quedaría fuera del límite de peticiones y del control de admisión
+ * y cualquier cliente podría vaciar las caches o lanzar recargas contra la API externa.
+ */
+@Component
+@JmxEndpoint(id = "cacheadmin")
+public class CacheAdminEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheAdminEndpoint.class);
+
+    public enum Action { WARM, REFRESH }
+
+    public enum OperationState { RUNNING, COMPLETED, FAILED }
+
+    public record CacheSummary(long size, long estimatedBytes, double hitRatio, long hitCount, long missCount,
+                               long evictionCount, Long oldestEntryAgeMs, CacheOperation lastOperation) {
+    }
+
+    public record CacheOperation(Action action, OperationState state, Instant startedAt, Instant finishedAt,
+                                 int loaded, int failed, String error) {
+    }
+
+    /**
+     * Cómo obtener las claves a precargar de una cache, cómo cargar una clave a través del servicio
+     * y cómo sustituir una entrada presente por un valor recién obtenido
+     */
+    private record Loader(Supplier<Collection<?>> warmKeys, Function<Object, Object> load,
+                          Function<Object, Object> refresh) {
+    }
+
+    private final CacheManager cacheManager;
+    private final Map<String, Loader> loaders;
+    private final ExecutorService executor;
+    private final Map<String, CacheOperation> operations = new ConcurrentHashMap<>();
+
+    public CacheAdminEndpoint(CacheManager cacheManager, JsonPlaceholderService jsonPlaceholderService,
+                              @Value("${cache.admin.parallelism:4}") int parallelism) {
+        this.cacheManager = cacheManager;
+        this.loaders = Map.of(
+                CacheNames.POSTS, new Loader(
+                        () -> jsonPlaceholderService.getPosts().stream().map(Post::getId).toList(),
+                        key -> jsonPlaceholderService.getPostById((Long) key),
+                        key -> jsonPlaceholderService.refreshPostById((Long) key)),
+                CacheNames.POST_LISTS, new Loader(
+                        () -> List.of(CacheNames.ALL_POSTS_KEY),
+                        key -> jsonPlaceholderService.getPosts(),
+                        key -> jsonPlaceholderService.refreshPosts()),
+                CacheNames.USERS, new Loader(
+                        () -> jsonPlaceholderService.getPosts().stream().map(Post::getUserId)
+                                .filter(Objects::nonNull).distinct().toList(),
+                        key -> jsonPlaceholderService.getUserById((Long) key),
+                        key -> jsonPlaceholderService.refreshUserById((Long) key)),
+                CacheNames.COMMENTS, new Loader(
+                        () -> jsonPlaceholderService.getPosts().stream().map(Post::getId).toList(),
+                        key -> jsonPlaceholderService.getCommentsByPostId((Long) key),
+                        key -> jsonPlaceholderService.refreshCommentsByPostId((Long) key)));
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(() -> UpstreamPriority.BACKGROUND.run(runnable),
+                    "cache-admin-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @ReadOperation
+    public Map<String, CacheSummary> caches() {
+        Map<String, CacheSummary> summaries = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            CacheSummary summary = summarize(name);
+            if (summary != null) {
+                summaries.put(name, summary);
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Resumen de una cache, o null (404) si no existe
+     */
+    @ReadOperation
+    public CacheSummary cache(@Selector String name) {
+        return summarize(name);
+    }
+
+    /**
+     * Expulsa una clave (numérica para posts, usuarios y comentarios) o, sin clave, toda la cache
+     */
+    @DeleteOperation
+    public Map<String, Object> evict(@Selector String name, @Nullable String key) {
+        Cache cache = requireCache(name);
+        if (key == null || key.isBlank()) {
+            cache.clear();
+            logger.info("Cache {} invalidada por completo desde actuator", name);
+            return Map.of("cache", name, "evicted", "all");
+        }
+        Object cacheKey = parseKey(key);
+        boolean evicted = cache.evictIfPresent(cacheKey);
+        logger.info("Clave {} expulsada de la cache {} desde actuator (presente={})", key, name, evicted);
+        return Map.of("cache", name, "key", cacheKey, "evicted", evicted);
+    }
+
+    /**
+     * Lanza en segundo plano la precarga (warm: claves conocidas a partir de la lista de posts)
+     * o el refresco (refresh: vuelve a cargar las claves presentes y sustituye cada entrada) de la cache
+     */
+    @WriteOperation
+    public CacheOperation load(@Selector String name, String action) {
+        Action parsed;
+        try {
+            parsed = Action.valueOf(action.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new InvalidEndpointRequestException("Acción no soportada: " + action + " (use warm o refresh)",
+                    "Acción no soportada");
+        }
+        start(name, parsed);
+        return operations.get(name);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Inicia la operación salvo que ya haya otra en curso sobre la misma cache; el future
+     * se completa con el estado final de la operación en curso
+     */
+    CompletableFuture<CacheOperation> start(String name, Action action) {
+        Cache cache = requireCache(name);
+        Loader loader = loaders.get(name);
+        if (loader == null) {
+            throw new InvalidEndpointRequestException("La cache " + name + " no admite precarga",
+                    "Cache sin precarga");
+        }
+
+        CacheOperation running = new CacheOperation(action, OperationState.RUNNING, Instant.now(), null, 0, 0, null);
+        CacheOperation previous = operations.compute(name, (cacheName, current) ->
+                current != null && current.state() == OperationState.RUNNING ? current : running);
+        if (previous != running) {
+            logger.info("Ya hay una operación {} en curso sobre la cache {}", previous.action(), name);
+            return CompletableFuture.completedFuture(previous);
+        }
+
+        logger.info("Iniciando {} de la cache {} desde actuator", action, name);
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        return CompletableFuture
+                .supplyAsync(() -> action == Action.WARM ? new ArrayList<>(loader.warmKeys().get()) : presentKeys(cache),
+                        executor)
+                .thenCompose(keys -> CompletableFuture.allOf(keys.stream()
+                        .map(key -> CompletableFuture.runAsync(() -> {
+                            // El refresco no expulsa antes de cargar: la entrada vieja sirve hasta que se sustituye
+                            (action == Action.REFRESH ? loader.refresh() : loader.load()).apply(key);
+                            loaded.incrementAndGet();
+                        }, executor).exceptionally(ex -> {
+                            logger.warn("No se pudo cargar la clave {} en la cache {}: {}", key, name, ex.getMessage());
+                            failed.incrementAndGet();
+                            return null;
+                        }))
+                        .toArray(CompletableFuture[]::new)))
+                .handle((ignored, ex) -> {
+                    CacheOperation finished = new CacheOperation(action,
+                            ex == null ? OperationState.COMPLETED : OperationState.FAILED,
+                            running.startedAt(), Instant.now(), loaded.get(), failed.get(),
+                            ex == null ? null : ex.getMessage());
+                    operations.put(name, finished);
+                    logger.info("{} de la cache {} terminado: {} claves cargadas, {} fallidas",
+                            action, name, finished.loaded(), finished.failed());
+                    return finished;
+                });
+    }
+
+    private CacheSummary summarize(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        CacheOperation lastOperation = operations.get(name);
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return new CacheSummary(-1, -1, 0, 0, 0, 0, null, lastOperation);
+        }
+
+        CacheStats stats = nativeCache.stats();
+        return new CacheSummary(nativeCache.estimatedSize(), estimatedBytes(nativeCache), stats.hitRate(),
+                stats.hitCount(), stats.missCount(), stats.evictionCount(), oldestEntryAgeMs(nativeCache),
+                lastOperation);
+    }
+
+    private static long estimatedBytes(com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+        // En las caches limitadas por peso Caffeine ya mantiene la suma; en el resto se estima entrada a entrada
+        Policy.Eviction<?, ?> eviction = nativeCache.policy().eviction().orElse(null);
+        if (eviction != null && eviction.isWeighted() && eviction.weightedSize().isPresent()) {
+            return eviction.weightedSize().getAsLong();
+        }
+        RetainedSizeWeigher weigher = new RetainedSizeWeigher();
+        long bytes = 0;
+        for (Map.Entry<?, ?> entry : nativeCache.asMap().entrySet()) {
+            bytes += weigher.weigh(entry.getKey(), entry.getValue());
+        }
+        return bytes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long oldestEntryAgeMs(com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+        Policy.FixedExpiration<Object, ?> expiration =
+                (Policy.FixedExpiration<Object, ?>) nativeCache.policy().expireAfterWrite().orElse(null);
+        if (expiration == null) {
+            return null;
+        }
+        return expiration.oldest(1).keySet().stream()
+                .findFirst()
+                .map(key -> expiration.ageOf(key, TimeUnit.MILLISECONDS))
+                .filter(age -> age.isPresent())
+                .map(age -> age.getAsLong())
+                .orElse(null);
+    }
+
+    private static List<Object> presentKeys(Cache cache) {
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            return new ArrayList<>(nativeCache.asMap().keySet());
+        }
+        return List.of();
+    }
+
+    private Cache requireCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new InvalidEndpointRequestException("Cache no encontrada: " + name, "Cache no encontrada");
+        }
+        return cache;
+    }
+
+    private static Object parseKey(String key) {
+        try {
+            return Long.valueOf(key.trim());
+        } catch (NumberFormatException e) {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.martinhacker.jsonplaceholder.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Media móvil exponencial (EWMA) de una latencia, actualizada sin locks. Si no llegan muestras
+ * durante {@code staleAfterNanos} la media se considera caducada y vale 0, para que una latencia
+ * alta ya pasada no siga rechazando trabajo cuando no hay nada en curso que la confirme.
+ */
+public class LatencyTracker {
+    
+    private static final double ALPHA = 0.2;
+    
+    private final long staleAfterNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong averageBits = new AtomicLong(Double.doubleToRawLongBits(0));
+    private volatile long lastSampleNanos;
+    private volatile boolean sampled;
+    
+    public LatencyTracker(long staleAfterNanos) {
+        this(staleAfterNanos, System::nanoTime);
+    }
+    
+    public LatencyTracker(long staleAfterNanos, LongSupplier nanoClock) {
+        this.staleAfterNanos = staleAfterNanos;
+        this.nanoClock = nanoClock;
+    }
+    
+    public void record(long latencyNanos) {
+        long current;
+        long updated;
+        do {
+            current = averageBits.get();
+            double average = Double.longBitsToDouble(current);
+            double next = sampled ? average + ALPHA * (latencyNanos - average) : latencyNanos;
+            updated = Double.doubleToRawLongBits(next);
+        } while (!averageBits.compareAndSet(current, updated));
+        sampled = true;
+        lastSampleNanos = nanoClock.getAsLong();
+    }
+    
+    /**
+     * Latencia media reciente en nanosegundos, o 0 si no hay muestras recientes
+     */
+    public long averageNanos() {
+        if (!sampled || nanoClock.getAsLong() - lastSampleNanos > staleAfterNanos) {
+            return 0;
+        }
+        return (long) Double.longBitsToDouble(averageBits.get());
+    }
+}
@@ -0,0 +1,176 @@
+package com.martinhacker.jsonplaceholder.admission;
+
+import com.martinhacker.jsonplaceholder.exception.ServiceOverloadedException;
+import com.martinhacker.jsonplaceholder.service.JsonPlaceholderService;
+import com.martinhacker.jsonplaceholder.upstream.UpstreamCallScheduler;
+import com.martinhacker.jsonplaceholder.upstream.UpstreamPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Control de admisión: rechaza pronto (503) el trabajo que no se puede atender a tiempo en lugar de
+ * encolarlo. Observa las peticiones en curso, la espera en la cola del pool de llamadas a la API
+ * externa, las llamadas de agregación y lotes que esperan hueco en el {@link UpstreamCallScheduler}
+ * y la latencia reciente de la agregación. La agregación completa se descarta antes que las
+ * consultas baratas, que solo se rechazan al alcanzar el máximo global de peticiones en curso.
+ */
+@Component
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadShedder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoadShedder.class);
+    
+    private static final long RETRY_AFTER_SECONDS = 1;
+    
+    /**
+     * Prioridad de la petición: AGGREGATE es la agregación completa de posts, LOOKUP el resto
+     */
+    public enum Priority {
+        AGGREGATE, LOOKUP
+    }
+    
+    private enum Reason {
+        IN_FLIGHT, QUEUE_WAIT, UPSTREAM_QUEUE, LATENCY
+    }
+    
+    private final int maxInFlight;
+    private final int maxAggregateInFlight;
+    private final long maxQueueWaitNanos;
+    private final int maxUpstreamQueued;
+    private final long targetLatencyNanos;
+    private final LongSupplier queueWaitNanos;
+    private final IntSupplier upstreamQueued;
+    private final LatencyTracker aggregateLatency;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Priority, AtomicInteger> inFlightByPriority = new EnumMap<>(Priority.class);
+    private final Map<Priority, Map<Reason, Counter>> shedCounters = new EnumMap<>(Priority.class);
+    
+    @Autowired
+    public LoadShedder(JsonPlaceholderService jsonPlaceholderService,
+                       ObjectProvider<UpstreamCallScheduler> upstreamCallScheduler,
+                       MeterRegistry meterRegistry,
+                       @Value("${admission.max-in-flight:200}") int maxInFlight,
+                       @Value("${admission.aggregate.max-in-flight:16}") int maxAggregateInFlight,
+                       @Value("${admission.aggregate.max-queue-wait:250}") long maxQueueWaitMs,
+                       @Value("${admission.aggregate.max-upstream-queued:500}") int maxUpstreamQueued,
+                       @Value("${admission.aggregate.target-latency:3000}") long targetLatencyMs) {
+        this(jsonPlaceholderService::getExecutorQueueWaitNanos, bulkQueued(upstreamCallScheduler.getIfAvailable()),
+                meterRegistry, maxInFlight, maxAggregateInFlight, maxQueueWaitMs, maxUpstreamQueued, targetLatencyMs,
+                new LatencyTracker(TimeUnit.SECONDS.toNanos(10)));
+    }
+    
+    LoadShedder(LongSupplier queueWaitNanos, IntSupplier upstreamQueued, MeterRegistry meterRegistry, int maxInFlight,
+                int maxAggregateInFlight, long maxQueueWaitMs, int maxUpstreamQueued, long targetLatencyMs,
+                LatencyTracker aggregateLatency) {
+        this.queueWaitNanos = queueWaitNanos;
+        this.upstreamQueued = upstreamQueued;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxAggregateInFlight = Math.max(1, maxAggregateInFlight);
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs);
+        this.maxUpstreamQueued = Math.max(1, maxUpstreamQueued);
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.aggregateLatency = aggregateLatency;
+        
+        for (Priority priority : Priority.values()) {
+            AtomicInteger count = new AtomicInteger();
+            inFlightByPriority.put(priority, count);
+            Gauge.builder("admission.in_flight", count, AtomicInteger::get)
+                    .description("Peticiones admitidas en curso")
+                    .tag("priority", tagValue(priority))
+                    .register(meterRegistry);
+            
+            Map<Reason, Counter> counters = new EnumMap<>(Reason.class);
+            for (Reason reason : Reason.values()) {
+                counters.put(reason, Counter.builder("admission.shed")
+                        .description("Peticiones rechazadas por el control de admisión")
+                        .tag("priority", tagValue(priority))
+                        .tag("reason", tagValue(reason))
+                        .register(meterRegistry));
+            }
+            shedCounters.put(priority, counters);
+        }
+    }
+    
+    /**
+     * Admite la petición o lanza {@link ServiceOverloadedException}. Cada admisión debe cerrarse con
+     * {@link #release(Priority, long)}.
+     */
+    public void acquire(Priority priority) {
+        AtomicInteger priorityInFlight = inFlightByPriority.get(priority);
+        int total = inFlight.incrementAndGet();
+        int current = priorityInFlight.incrementAndGet();
+        
+        Reason reason = rejectionReason(priority, total, current);
+        if (reason == null) {
+            return;
+        }
+        
+        inFlight.decrementAndGet();
+        priorityInFlight.decrementAndGet();
+        shedCounters.get(priority).get(reason).increment();
+        logger.warn("Petición {} rechazada por sobrecarga ({}): {} en curso", priority, reason, total - 1);
+        throw new ServiceOverloadedException("Servicio sobrecargado. Intente nuevamente más tarde.", RETRY_AFTER_SECONDS);
+    }
+    
+    /**
+     * Libera una admisión y registra la latencia de la petición
+     */
+    public void release(Priority priority, long latencyNanos) {
+        inFlight.decrementAndGet();
+        inFlightByPriority.get(priority).decrementAndGet();
+        if (priority == Priority.AGGREGATE) {
+            aggregateLatency.record(latencyNanos);
+        }
+    }
+    
+    private Reason rejectionReason(Priority priority, int total, int current) {
+        if (total > maxInFlight) {
+            return Reason.IN_FLIGHT;
+        }
+        if (priority != Priority.AGGREGATE) {
+            return null;
+        }
+        if (current > maxAggregateInFlight) {
+            return Reason.IN_FLIGHT;
+        }
+        if (queueWaitNanos.getAsLong() > maxQueueWaitNanos) {
+            return Reason.QUEUE_WAIT;
+        }
+        // Cada agregación encola ~110 llamadas en el planificador: con la cola llena solo añadiría espera
+        if (upstreamQueued.getAsInt() > maxUpstreamQueued) {
+            return Reason.UPSTREAM_QUEUE;
+        }
+        // Con latencia alta se admite una agregación cada vez, que actúa de sonda hasta que se recupere
+        if (current > 1 && aggregateLatency.averageNanos() > targetLatencyNanos) {
+            return Reason.LATENCY;
+        }
+        return null;
+    }
+    
+    /**
+     * Llamadas de agregación y lotes esperando hueco en el planificador (0 si está desactivado)
+     */
+    private static IntSupplier bulkQueued(UpstreamCallScheduler scheduler) {
+        return scheduler != null ? () -> scheduler.getQueued(UpstreamPriority.BULK) : () -> 0;
+    }
+    
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase();
+    }
+}
@@ -0,0 +1,53 @@
+package com.martinhacker.jsonplaceholder.admission;
+
+import com.martinhacker.jsonplaceholder.admission.LoadShedder.Priority;
+import com.martinhacker.jsonplaceholder.controller.PostRequests;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Aplica el control de admisión a las peticiones de la API. El rechazo se lanza en preHandle, de modo
+ * que lo resuelve GlobalExceptionHandler. En las peticiones asíncronas la admisión se libera al terminar
+ * el despacho asíncrono, no al soltar el hilo del contenedor.
+ */
+public class LoadSheddingInterceptor implements AsyncHandlerInterceptor {
+    
+    private static final String ADMISSION_ATTRIBUTE = LoadSheddingInterceptor.class.getName() + ".admission";
+    
+    private final LoadShedder loadShedder;
+    
+    public LoadSheddingInterceptor(LoadShedder loadShedder) {
+        this.loadShedder = loadShedder;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC
+                || request.getAttribute(ADMISSION_ATTRIBUTE) != null) {
+            return true;
+        }
+        Priority priority = priorityOf(request);
+        loadShedder.acquire(priority);
+        request.setAttribute(ADMISSION_ATTRIBUTE, new Admission(priority, System.nanoTime()));
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) instanceof Admission admission) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            loadShedder.release(admission.priority(), System.nanoTime() - admission.startNanos());
+        }
+    }
+    
+    /**
+     * GET /api/posts sin ids es la agregación completa; el resto son consultas puntuales
+     */
+    static Priority priorityOf(HttpServletRequest request) {
+        return PostRequests.isAggregate(request) ? Priority.AGGREGATE : Priority.LOOKUP;
+    }
+    
+    private record Admission(Priority priority, long startNanos) {}
+}
@@ -0,0 +1,47 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Operaciones masivas sobre caches de Spring. Si la cache está respaldada por Caffeine
+ * se usa su búsqueda masiva nativa; en otro caso se consulta clave a clave.
+ */
+public final class CacheBulkOperations {
+    
+    private CacheBulkOperations() {}
+    
+    /**
+     * Devuelve las entradas presentes en cache para las claves indicadas.
+     * Los valores nulos cacheados se devuelven como {@link NullValue#INSTANCE}
+     * para distinguir "no existe" de "no está en cache".
+     */
+    @SuppressWarnings("unchecked")
+    public static <K> Map<K, Object> getAllPresent(Cache cache, Collection<K> keys) {
+        Map<K, Object> found = new HashMap<>();
+        if (cache == null || keys.isEmpty()) {
+            return found;
+        }
+        
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            Map<Object, Object> present = ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache)
+                    .getAllPresent(keys);
+            present.forEach((key, value) -> found.put((K) key, value));
+        }
+        
+        // Claves no resueltas en el nivel nativo (p. ej. presentes solo en la cache L2)
+        for (K key : keys) {
+            if (!found.containsKey(key)) {
+                Cache.ValueWrapper wrapper = cache.get(key);
+                if (wrapper != null) {
+                    found.put(key, wrapper.get() == null ? NullValue.INSTANCE : wrapper.get());
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,16 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de difusión de invalidaciones entre los nodos que comparten la cache L2.
+ */
+public interface CacheInvalidationBus {
+    
+    void publish(InvalidationMessage message);
+    
+    /**
+     * Registra un listener y devuelve la acción que lo da de baja
+     */
+    Runnable subscribe(Consumer<InvalidationMessage> listener);
+}
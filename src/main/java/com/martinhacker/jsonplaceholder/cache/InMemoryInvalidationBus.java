@@ -0,0 +1,47 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus de invalidación en proceso, compartido por nombre de cluster.
+ * Entrega los mensajes de forma síncrona a todos los nodos suscritos.
+ */
+public class InMemoryInvalidationBus implements CacheInvalidationBus {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryInvalidationBus.class);
+    
+    private static final Map<String, InMemoryInvalidationBus> CLUSTERS = new ConcurrentHashMap<>();
+    
+    private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Obtiene el bus del cluster indicado, creándolo si no existe
+     */
+    public static InMemoryInvalidationBus forCluster(String clusterName) {
+        return CLUSTERS.computeIfAbsent(clusterName, name -> new InMemoryInvalidationBus());
+    }
+    
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (Consumer<InvalidationMessage> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                logger.error("Error entregando invalidación de cache {}: {}", message.cacheName(), e.getMessage());
+            }
+        }
+    }
+    
+    @Override
+    public Runnable subscribe(Consumer<InvalidationMessage> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+}
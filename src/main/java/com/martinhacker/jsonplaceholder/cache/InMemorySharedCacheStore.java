@@ -0,0 +1,64 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sustituto en proceso de un almacén L2 (Redis/Hazelcast).
+ * Las instancias se comparten por nombre de cluster, de modo que varias aplicaciones
+ * levantadas en la misma JVM ven el mismo almacén.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+    
+    private static final Map<String, InMemorySharedCacheStore> CLUSTERS = new ConcurrentHashMap<>();
+    
+    private final Duration ttl;
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+    
+    public InMemorySharedCacheStore(Duration ttl) {
+        this.ttl = ttl;
+    }
+    
+    /**
+     * Obtiene el almacén compartido del cluster indicado, creándolo si no existe.
+     * Todos los nodos de un cluster deben usar el mismo TTL; si no coincide se rechaza la configuración.
+     */
+    public static InMemorySharedCacheStore forCluster(String clusterName, Duration ttl) {
+        InMemorySharedCacheStore store = CLUSTERS.computeIfAbsent(clusterName, name -> new InMemorySharedCacheStore(ttl));
+        if (!store.ttl.equals(ttl)) {
+            throw new IllegalStateException("El almacén compartido del cluster " + clusterName
+                    + " ya existe con TTL " + store.ttl + " y no coincide con " + ttl);
+        }
+        return store;
+    }
+    
+    @Override
+    public Object get(String cacheName, Object key) {
+        return cache(cacheName).getIfPresent(key);
+    }
+    
+    @Override
+    public void put(String cacheName, Object key, Object value) {
+        cache(cacheName).put(key, value);
+    }
+    
+    @Override
+    public void evict(String cacheName, Object key) {
+        cache(cacheName).invalidate(key);
+    }
+    
+    @Override
+    public void clear(String cacheName) {
+        cache(cacheName).invalidateAll();
+    }
+    
+    private Cache<Object, Object> cache(String cacheName) {
+        return caches.computeIfAbsent(cacheName, name -> Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build());
+    }
+}
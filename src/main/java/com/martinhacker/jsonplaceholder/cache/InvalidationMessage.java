@@ -0,0 +1,11 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+/**
+ * Mensaje de invalidación difundido entre nodos. Una clave nula invalida la cache completa.
+ */
+public record InvalidationMessage(String originNodeId, String cacheName, Object key) {
+    
+    public boolean isClear() {
+        return key == null;
+    }
+}
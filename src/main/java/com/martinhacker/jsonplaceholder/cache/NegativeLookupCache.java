@@ -0,0 +1,126 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.martinhacker.jsonplaceholder.collection.LongBloomFilter;
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
+import com.martinhacker.jsonplaceholder.model.Post;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de búsquedas sin resultado (posts y usuarios inexistentes o con 404 en la API externa),
+ * separada de las caches de entidades para tener su propio TTL corto y su propio límite de tamaño.
+ * Además mantiene un filtro de Bloom con los IDs de la última lista completa de posts para descartar
+ * sin llamada externa los IDs que seguro no existen.
+ * Publica como métricas las llamadas evitadas (cache.negative.calls_avoided) y las entradas
+ * negativas vigentes (cache.negative.size).
+ */
+@Component
+public class NegativeLookupCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(NegativeLookupCache.class);
+
+    private record MissingKey(String cacheName, long id) {
+    }
+
+    private final Cache<MissingKey, Boolean> missing;
+    private final boolean postFilterEnabled;
+    private final double falsePositiveRate;
+    private final LongAdder upstreamCallsAvoided = new LongAdder();
+
+    // null hasta la primera carga completa de posts: sin ella no se descarta ningún ID
+    private volatile LongBloomFilter knownPostIds;
+
+    public NegativeLookupCache(@Value("${cache.negative.ttl:60000}") long ttlMs,
+                               @Value("${cache.negative.maximum-size:10000}") long maximumSize,
+                               @Value("${cache.negative.post-filter.enabled:true}") boolean postFilterEnabled,
+                               @Value("${cache.negative.post-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               MeterRegistry meterRegistry) {
+        this.missing = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maximumSize)
+                .build();
+        this.postFilterEnabled = postFilterEnabled;
+        this.falsePositiveRate = falsePositiveRate;
+
+        FunctionCounter.builder("cache.negative.calls_avoided", this, NegativeLookupCache::getUpstreamCallsAvoided)
+                .description("Llamadas a la API externa evitadas por IDs que se saben inexistentes")
+                .register(meterRegistry);
+        Gauge.builder("cache.negative.size", this, NegativeLookupCache::size)
+                .description("Entradas negativas vigentes (búsquedas recientes sin resultado)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si el ID se sabe inexistente en la cache indicada, ya sea por una búsqueda reciente
+     * sin resultado o, para posts, porque el filtro de IDs conocidos lo descarta
+     */
+    public boolean isKnownMissing(String cacheName, Long id) {
+        if (id == null) {
+            return false;
+        }
+        boolean knownMissing = missing.getIfPresent(new MissingKey(cacheName, id)) != null
+                || (CacheNames.POSTS.equals(cacheName) && isOutsideKnownPosts(id));
+        if (knownMissing) {
+            upstreamCallsAvoided.increment();
+        }
+        return knownMissing;
+    }
+
+    /**
+     * Registra que la búsqueda del ID no obtuvo resultado hasta que venza el TTL negativo
+     */
+    public void recordMissing(String cacheName, Long id) {
+        if (id != null) {
+            missing.put(new MissingKey(cacheName, id), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Reconstruye el filtro con los IDs de la lista completa de posts y olvida las entradas
+     * negativas de posts que ahora existen
+     */
+    @EventListener
+    public void onPostsLoaded(PostsLoadedEvent event) {
+        if (!postFilterEnabled) {
+            return;
+        }
+        LongBloomFilter filter = new LongBloomFilter(event.posts().size(), falsePositiveRate);
+        for (Post post : event.posts()) {
+            if (post.getId() != null) {
+                filter.add(post.getId());
+                missing.invalidate(new MissingKey(CacheNames.POSTS, post.getId()));
+            }
+        }
+        knownPostIds = filter;
+        logger.debug("Filtro de IDs de posts reconstruido: {} posts, {} bits, {} hashes",
+                event.posts().size(), filter.bitSize(), filter.hashCount());
+    }
+
+    /**
+     * Llamadas a la API externa evitadas por búsquedas ya conocidas como inexistentes
+     */
+    public long getUpstreamCallsAvoided() {
+        return upstreamCallsAvoided.sum();
+    }
+
+    public long size() {
+        return missing.estimatedSize();
+    }
+
+    private boolean isOutsideKnownPosts(long id) {
+        LongBloomFilter filter = knownPostIds;
+        return filter != null && !filter.mightContain(id);
+    }
+}
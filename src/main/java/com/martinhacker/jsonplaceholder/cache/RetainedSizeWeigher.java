@@ -0,0 +1,90 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.User;
+
+import java.util.Collection;
+
+/**
+ * Peso de una entrada de cache como estimación de los bytes que retiene (JVM de 64 bits con
+ * punteros comprimidos y strings compactos), para limitar cada cache con maximumWeight en lugar de
+ * un número de entradas. Del {@link Post} enriquecido se cuentan también el usuario y los comentarios:
+ * aunque sean instancias compartidas con sus propias caches, las expulsiones de aquellas no las liberan
+ * mientras el post las retenga, así que se sobrestima antes que dejar crecer la cache sin límite.
+ */
+public class RetainedSizeWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int BOXED_LONG = 16;
+    // Cabecera del String más la del array de bytes que lo respalda
+    private static final int STRING_OVERHEAD = 24 + 16;
+    // Entrada del mapa interno de Caffeine (nodo con clave, valor, peso y metadatos de expiración)
+    private static final int CACHE_ENTRY_OVERHEAD = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = CACHE_ENTRY_OVERHEAD + estimate(key) + estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    /**
+     * Bytes estimados que retiene el valor, incluidos los objetos anidados
+     */
+    public static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return STRING_OVERHEAD + string.length();
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return BOXED_LONG;
+        }
+        if (value instanceof Post post) {
+            return OBJECT_HEADER + 6 * REFERENCE + BOXED_LONG * 2
+                    + estimate(post.getTitle()) + estimate(post.getBody())
+                    + estimate(post.getUser()) + estimate(post.getComments());
+        }
+        if (value instanceof Comment comment) {
+            return OBJECT_HEADER + 5 * REFERENCE + BOXED_LONG * 2
+                    + estimate(comment.getName()) + estimate(comment.getEmail()) + estimate(comment.getBody());
+        }
+        if (value instanceof User user) {
+            return estimateUser(user);
+        }
+        if (value instanceof Collection<?> collection) {
+            // ArrayList/List.of: cabecera, array de referencias y elementos
+            long bytes = OBJECT_HEADER * 2L + (long) REFERENCE * collection.size();
+            for (Object element : collection) {
+                bytes += estimate(element);
+            }
+            return bytes;
+        }
+        // Tipos no modelados (p. ej. el marcador de null de Spring): solo la cabecera
+        return OBJECT_HEADER;
+    }
+
+    private static long estimateUser(User user) {
+        long bytes = OBJECT_HEADER + 8 * REFERENCE + BOXED_LONG
+                + estimate(user.getName()) + estimate(user.getUsername()) + estimate(user.getEmail())
+                + estimate(user.getPhone()) + estimate(user.getWebsite());
+        User.Address address = user.getAddress();
+        if (address != null) {
+            bytes += OBJECT_HEADER + 5 * REFERENCE + estimate(address.getStreet()) + estimate(address.getSuite())
+                    + estimate(address.getCity()) + estimate(address.getZipcode());
+            if (address.getGeo() != null) {
+                bytes += OBJECT_HEADER + 2 * REFERENCE
+                        + estimate(address.getGeo().getLat()) + estimate(address.getGeo().getLng());
+            }
+        }
+        User.Company company = user.getCompany();
+        if (company != null) {
+            bytes += OBJECT_HEADER + 3 * REFERENCE + estimate(company.getName())
+                    + estimate(company.getCatchPhrase()) + estimate(company.getBs());
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,19 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+/**
+ * Almacén de cache compartido entre nodos (nivel L2).
+ * Implementaciones posibles: Redis, Hazelcast embebido o el sustituto en memoria.
+ */
+public interface SharedCacheStore {
+    
+    /**
+     * Obtiene el valor almacenado o null si no existe
+     */
+    Object get(String cacheName, Object key);
+    
+    void put(String cacheName, Object key, Object value);
+    
+    void evict(String cacheName, Object key);
+    
+    void clear(String cacheName);
+}
@@ -0,0 +1,105 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache de dos niveles: Caffeine local (L1) delante de un almacén compartido (L2).
+ * Las escrituras e invalidaciones se difunden al resto de nodos para que descarten su L1.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+    
+    private final String name;
+    private final Cache<Object, Object> localCache;
+    private final SharedCacheStore sharedStore;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId;
+    
+    public TwoLevelCache(String name, Cache<Object, Object> localCache, SharedCacheStore sharedStore,
+                         CacheInvalidationBus invalidationBus, String nodeId, boolean allowNullValues) {
+        super(allowNullValues);
+        this.name = name;
+        this.localCache = localCache;
+        this.sharedStore = sharedStore;
+        this.invalidationBus = invalidationBus;
+        this.nodeId = nodeId;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return localCache;
+    }
+    
+    @Override
+    protected Object lookup(Object key) {
+        Object value = localCache.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        
+        value = sharedStore.get(name, key);
+        if (value != null) {
+            localCache.put(key, value);
+        }
+        return value;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(localCache.get(key, k -> {
+            Object shared = sharedStore.get(name, k);
+            if (shared != null) {
+                return shared;
+            }
+            
+            try {
+                Object loaded = toStoreValue(valueLoader.call());
+                sharedStore.put(name, k, loaded);
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+        }));
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        sharedStore.put(name, key, storeValue);
+        localCache.put(key, storeValue);
+        invalidationBus.publish(new InvalidationMessage(nodeId, name, key));
+    }
+    
+    @Override
+    public void evict(Object key) {
+        sharedStore.evict(name, key);
+        localCache.invalidate(key);
+        invalidationBus.publish(new InvalidationMessage(nodeId, name, key));
+    }
+    
+    @Override
+    public void clear() {
+        sharedStore.clear(name);
+        localCache.invalidateAll();
+        invalidationBus.publish(new InvalidationMessage(nodeId, name, null));
+    }
+    
+    /**
+     * Aplica una invalidación recibida de otro nodo: solo afecta al nivel local
+     */
+    void onRemoteInvalidation(InvalidationMessage message) {
+        if (message.isClear()) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(message.key());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CacheManager que combina caches Caffeine locales con un almacén compartido
+ * y escucha las invalidaciones publicadas por el resto de nodos.
+ */
+public class TwoLevelCacheManager implements CacheManager, DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+    
+    private final String nodeId;
+    private final Map<String, TwoLevelCache> caches = new LinkedHashMap<>();
+    private final Runnable unsubscribe;
+    
+    public TwoLevelCacheManager(Map<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> localCaches,
+                                SharedCacheStore sharedStore,
+                                CacheInvalidationBus invalidationBus,
+                                String nodeId) {
+        this.nodeId = nodeId;
+        localCaches.forEach((name, localCache) -> caches.put(name,
+                new TwoLevelCache(name, localCache, sharedStore, invalidationBus, nodeId, true)));
+        this.unsubscribe = invalidationBus.subscribe(this::onInvalidation);
+        logger.info("Cache de dos niveles inicializada en nodo {} para caches {}", nodeId, caches.keySet());
+    }
+    
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+    
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    private void onInvalidation(InvalidationMessage message) {
+        if (nodeId.equals(message.originNodeId())) {
+            return;
+        }
+        
+        TwoLevelCache cache = caches.get(message.cacheName());
+        if (cache != null) {
+            logger.debug("Invalidación remota desde nodo {} en cache {} (clave {})",
+                    message.originNodeId(), message.cacheName(), message.key());
+            cache.onRemoteInvalidation(message);
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        unsubscribe.run();
+    }
+}
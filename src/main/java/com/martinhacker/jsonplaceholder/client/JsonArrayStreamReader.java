@@ -0,0 +1,62 @@
+package com.martinhacker.jsonplaceholder.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Lectura en streaming de arrays JSON de la API externa: deserializa elemento a elemento con
+ * {@link JsonParser} y entrega cada objeto al consumidor sin construir la lista intermedia,
+ * de modo que la memoria de trabajo no depende del tamaño del payload.
+ */
+@Component
+public class JsonArrayStreamReader {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonArrayStreamReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lee un array JSON y entrega cada elemento al consumidor. Un cuerpo vacío o null se trata como
+     * un array vacío. Devuelve el número de elementos leídos.
+     */
+    public <T> int read(InputStream body, Class<T> elementType, Consumer<? super T> consumer) throws IOException {
+        if (body == null) {
+            return 0;
+        }
+
+        ObjectReader reader = objectMapper.readerFor(elementType);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return 0;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw MismatchedInputException.from(parser, elementType,
+                        "Se esperaba un array JSON de " + elementType.getSimpleName() + " y se recibió " + token);
+            }
+
+            int count = 0;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw MismatchedInputException.from(parser, elementType, "Array JSON incompleto");
+                }
+                T element = reader.readValue(parser);
+                if (element != null) {
+                    consumer.accept(element);
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
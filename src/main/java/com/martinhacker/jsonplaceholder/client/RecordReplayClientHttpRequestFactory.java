@@ -0,0 +1,379 @@
+package com.martinhacker.jsonplaceholder.client;
+
+import com.martinhacker.jsonplaceholder.client.UpstreamResponseStore.RecordedResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Graba y reproduce las respuestas de la API externa con un {@link UpstreamResponseStore}:
+ * <ul>
+ *   <li>RECORD: llama a la API externa y graba cada respuesta (salvo errores 5xx)</li>
+ *   <li>REPLAY: responde solo desde las grabaciones, con una latencia simulada configurable</li>
+ *   <li>FALLBACK: llama a la API externa sin grabar y, si no responde o devuelve 5xx, sirve la grabación</li>
+ * </ul>
+ * En RECORD el cuerpo llega al cliente a medida que se lee, se copia de paso y la grabación se escribe
+ * en segundo plano al cerrar la respuesta, sin añadir compresión ni disco a la latencia de la llamada.
+ * Las respuestas reproducidas se leen completas en memoria antes de devolverlas.
+ */
+public class RecordReplayClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordReplayClientHttpRequestFactory.class);
+
+    public enum Mode {
+        OFF, RECORD, REPLAY, FALLBACK;
+
+        public static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Modo de grabación no soportado: " + value
+                        + " (use off, record, replay o fallback)", e);
+            }
+        }
+    }
+
+    private final ClientHttpRequestFactory delegate;
+    private final UpstreamResponseStore store;
+    private final Mode mode;
+    private final long replayLatencyMs;
+    private final Executor recorder;
+
+    public RecordReplayClientHttpRequestFactory(ClientHttpRequestFactory delegate, UpstreamResponseStore store,
+                                                Mode mode, long replayLatencyMs) {
+        this(delegate, store, mode, replayLatencyMs, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upstream-recorder");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    RecordReplayClientHttpRequestFactory(ClientHttpRequestFactory delegate, UpstreamResponseStore store,
+                                         Mode mode, long replayLatencyMs, Executor recorder) {
+        this.delegate = delegate;
+        this.store = store;
+        this.mode = mode;
+        this.replayLatencyMs = replayLatencyMs;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new RecordReplayRequest(uri, httpMethod);
+    }
+
+    private ClientHttpResponse replay(HttpMethod method, URI uri) throws IOException {
+        RecordedResponse recorded = store.find(method, uri);
+        if (recorded == null) {
+            throw new IOException("No hay respuesta grabada para " + method + " " + uri);
+        }
+        if (replayLatencyMs > 0) {
+            try {
+                Thread.sleep(replayLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Reproducción interrumpida: " + method + " " + uri);
+            }
+        }
+        return new RecordedClientHttpResponse(recorded);
+    }
+
+    private ClientHttpResponse fallback(HttpMethod method, URI uri, String reason, IOException failure)
+            throws IOException {
+        RecordedResponse recorded = store.find(method, uri);
+        if (recorded == null) {
+            if (failure != null) {
+                throw failure;
+            }
+            return null;
+        }
+        logger.warn("API externa no disponible para {} {} ({}): se sirve la respuesta grabada", method, uri, reason);
+        return new RecordedClientHttpResponse(recorded);
+    }
+
+    private ClientHttpResponse executeLive(HttpMethod method, URI uri, HttpHeaders headers, byte[] body)
+            throws IOException {
+        ClientHttpResponse response = null;
+        HttpStatusCode status;
+        try {
+            response = send(method, uri, headers, body);
+            status = response.getStatusCode();
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
+            }
+            if (mode == Mode.FALLBACK) {
+                return fallback(method, uri, e.getMessage(), e);
+            }
+            throw e;
+        }
+
+        if (status.is5xxServerError()) {
+            if (mode == Mode.FALLBACK) {
+                ClientHttpResponse stored = fallback(method, uri, "estado " + status.value(), null);
+                if (stored != null) {
+                    response.close();
+                    return stored;
+                }
+            }
+            return response;
+        }
+        return mode == Mode.RECORD ? new RecordingClientHttpResponse(method, uri, response) : response;
+    }
+
+    private void saveInBackground(HttpMethod method, URI uri, RecordedResponse recorded) {
+        try {
+            recorder.execute(() -> {
+                try {
+                    store.save(method, uri, recorded);
+                } catch (IOException e) {
+                    logger.warn("No se pudo grabar la respuesta de {} {}: {}", method, uri, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Grabación de {} {} descartada: {}", method, uri, e.getMessage());
+        }
+    }
+
+    private ClientHttpResponse send(HttpMethod method, URI uri, HttpHeaders headers, byte[] body) throws IOException {
+        ClientHttpRequest request = delegate.createRequest(uri, method);
+        request.getHeaders().putAll(headers);
+        if (body.length > 0) {
+            request.getBody().write(body);
+        }
+        return request.execute();
+    }
+
+    private class RecordReplayRequest implements ClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private RecordReplayRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            if (mode == Mode.REPLAY) {
+                return replay(method, uri);
+            }
+            return executeLive(method, uri, headers, body.toByteArray());
+        }
+    }
+
+    /**
+     * Respuesta en vivo cuyo cuerpo se copia a medida que el cliente lo lee. Al cerrarla se lee lo que
+     * quede (el cliente puede no consumirlo entero) y la copia se graba en segundo plano.
+     */
+    private class RecordingClientHttpResponse implements ClientHttpResponse {
+
+        private final HttpMethod method;
+        private final URI uri;
+        private final ClientHttpResponse response;
+        private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private TeeInputStream body;
+        private boolean closed;
+
+        private RecordingClientHttpResponse(HttpMethod method, URI uri, ClientHttpResponse response) {
+            this.method = method;
+            this.uri = uri;
+            this.response = response;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new TeeInputStream(response.getBody(), copy);
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            boolean complete;
+            try {
+                ((TeeInputStream) getBody()).drain();
+                complete = true;
+            } catch (IOException e) {
+                logger.debug("Respuesta de {} {} incompleta, no se graba: {}", method, uri, e.getMessage());
+                complete = false;
+            }
+            try {
+                MediaType contentType = response.getHeaders().getContentType();
+                int status = response.getStatusCode().value();
+                if (complete) {
+                    saveInBackground(method, uri, new RecordedResponse(status,
+                            contentType != null ? contentType.toString() : null, copy.toByteArray()));
+                }
+            } catch (IOException e) {
+                logger.debug("No se pudo leer el estado de {} {}: {}", method, uri, e.getMessage());
+            } finally {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * Copia en un buffer lo que se lee del stream; cerrarlo no cierra la conexión, que se libera
+     * al cerrar la respuesta
+     */
+    private static class TeeInputStream extends FilterInputStream {
+
+        private final OutputStream copy;
+
+        private TeeInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = in.read(buffer, offset, length);
+            if (n > 0) {
+                copy.write(buffer, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void drain() throws IOException {
+            byte[] buffer = new byte[8192];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // la copia se hace en read
+            }
+        }
+    }
+
+    private static class RecordedClientHttpResponse implements ClientHttpResponse {
+
+        private final RecordedResponse recorded;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private RecordedClientHttpResponse(RecordedResponse recorded) {
+            this.recorded = recorded;
+            if (recorded.contentType() != null) {
+                headers.set(HttpHeaders.CONTENT_TYPE, recorded.contentType());
+            }
+            headers.setContentLength(recorded.body().length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(recorded.status());
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(recorded.status());
+            return status != null ? status.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(recorded.body());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.martinhacker.jsonplaceholder.client;
+
+import org.springframework.http.HttpMethod;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Almacén local de respuestas grabadas de la API externa: un fichero GZIP por método y ruta
+ * (sin el host, para poder reutilizarlo con otra URL base) con el estado, el content type y el cuerpo.
+ * Las escrituras se hacen sobre un fichero temporal y se mueven al destino para no dejar grabaciones a medias.
+ */
+public class UpstreamResponseStore {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".bin.gz";
+
+    /**
+     * Respuesta grabada; contentType es null si la respuesta original no lo indicaba
+     */
+    public record RecordedResponse(int status, String contentType, byte[] body) {
+    }
+
+    private final Path directory;
+
+    public UpstreamResponseStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Obtiene la respuesta grabada para la petición, o null si no hay ninguna
+     */
+    public RecordedResponse find(HttpMethod method, URI uri) throws IOException {
+        Path file = directory.resolve(fileName(method, uri));
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Versión de grabación no soportada en " + file + ": " + version);
+            }
+            int status = in.readInt();
+            String contentType = in.readUTF();
+            byte[] body = in.readNBytes(in.readInt());
+            return new RecordedResponse(status, contentType.isEmpty() ? null : contentType, body);
+        }
+    }
+
+    /**
+     * Guarda (o reemplaza) la respuesta grabada para la petición
+     */
+    public void save(HttpMethod method, URI uri, RecordedResponse response) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName(method, uri));
+        Path temp = Files.createTempFile(directory, "recording-", ".tmp");
+        try {
+            try (OutputStream fileOut = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(
+                         new GZIPOutputStream(new BufferedOutputStream(fileOut)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(response.status());
+                out.writeUTF(response.contentType() != null ? response.contentType() : "");
+                out.writeInt(response.body().length);
+                out.write(response.body());
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Nombre de fichero legible derivado del método, la ruta y la query: GET /posts/1 → get_posts_1.bin.gz
+     */
+    static String fileName(HttpMethod method, URI uri) {
+        String target = uri.getRawPath() + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        String sanitized = target.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_+|_+$", "");
+        return method.name().toLowerCase(Locale.ROOT) + (sanitized.isEmpty() ? "" : "_" + sanitized) + EXTENSION;
+    }
+}
@@ -0,0 +1,83 @@
+package com.martinhacker.jsonplaceholder.collection;
+
+import java.util.Arrays;
+
+/**
+ * Lista creciente de long primitivos, sin boxing. No es thread-safe.
+ */
+public class LongArrayList {
+
+    private long[] elements;
+    private int size;
+
+    public LongArrayList() {
+        this(4);
+    }
+
+    public LongArrayList(int initialCapacity) {
+        this.elements = new long[Math.max(1, initialCapacity)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera de rango (tamaño " + size + ")");
+        }
+        return elements[index];
+    }
+
+    public void add(long value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Añade el valor solo si no está ya en la lista
+     */
+    public boolean addIfAbsent(long value) {
+        if (contains(value)) {
+            return false;
+        }
+        add(value);
+        return true;
+    }
+
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Elimina la primera aparición del valor, conservando el orden del resto
+     */
+    public boolean removeValue(long value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
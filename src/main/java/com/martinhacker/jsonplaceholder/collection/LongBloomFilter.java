@@ -0,0 +1,68 @@
+package com.martinhacker.jsonplaceholder.collection;
+
+/**
+ * Filtro de Bloom de claves long sobre un array de bits: responde "seguro que no está"
+ * o "puede estar" con una tasa de falsos positivos acotada, usando unos pocos bits por clave.
+ * Las k posiciones se derivan de dos hashes (doble hashing de Kirsch-Mitzenmacher).
+ * No es thread-safe para escrituras; se construye completo y después solo se consulta.
+ */
+public class LongBloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public LongBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1: " + falsePositiveRate);
+        }
+        int expected = Math.max(1, expectedInsertions);
+        // m = -n ln(p) / (ln 2)^2, k = m/n ln 2
+        long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    public void add(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // Finalizador de MurmurHash3 (fmix64): los ids consecutivos quedan bien repartidos
+    private static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,45 @@
+package com.martinhacker.jsonplaceholder.collection;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Agrupación por clave long sobre estructuras primitivas, para joins en memoria.
+ */
+public final class LongGrouping {
+
+    private LongGrouping() {}
+
+    /**
+     * Agrupa las posiciones de los elementos por su clave: clave → índices en la lista, en orden.
+     * Los elementos con clave null se omiten. Hace dos pasadas (contar y rellenar) para reservar
+     * cada array con su tamaño exacto.
+     */
+    public static <T> LongObjectHashMap<int[]> indicesByKey(List<T> elements, Function<? super T, Long> keyExtractor) {
+        LongObjectHashMap<int[]> counts = new LongObjectHashMap<>();
+        long[] keys = new long[elements.size()];
+        boolean[] present = new boolean[elements.size()];
+
+        for (int i = 0; i < elements.size(); i++) {
+            Long key = keyExtractor.apply(elements.get(i));
+            if (key != null) {
+                keys[i] = key;
+                present[i] = true;
+                counts.computeIfAbsent(key, k -> new int[1])[0]++;
+            }
+        }
+
+        LongObjectHashMap<int[]> groups = new LongObjectHashMap<>(counts.size());
+        counts.forEach((key, count) -> groups.put(key, new int[count[0]]));
+
+        // Reutiliza los contadores como cursor de escritura de cada grupo
+        counts.forEach((key, count) -> count[0] = 0);
+        for (int i = 0; i < keys.length; i++) {
+            if (present[i]) {
+                int[] cursor = counts.get(keys[i]);
+                groups.get(keys[i])[cursor[0]++] = i;
+            }
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,261 @@
+package com.martinhacker.jsonplaceholder.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * Mapa long → objeto con direccionamiento abierto (sondeo lineal) sobre arrays primitivos.
+ * Evita el boxing de las claves y los nodos de {@link java.util.HashMap}: dos arrays por mapa
+ * en lugar de un objeto {@code Long} y un nodo por entrada.
+ * No admite valores null y no es thread-safe.
+ */
+public class LongObjectHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    // La clave 0 marca una celda libre; su valor se guarda aparte
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    private boolean hasZeroKey;
+    private Object zeroValue;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == EMPTY) {
+            return (V) zeroValue;
+        }
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return key == EMPTY ? hasZeroKey : get(key) != null;
+    }
+
+    /**
+     * Asocia el valor a la clave y devuelve el valor anterior, o null si no existía
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        if (key == EMPTY) {
+            V previous = (V) zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            allocateAndRehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Elimina la clave y devuelve su valor, o null si no existía
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V previous = (V) zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+
+        int slot = slot(key);
+        long current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                V previous = (V) values[slot];
+                shiftKeysBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        if (hasZeroKey) {
+            action.accept(EMPTY, (V) zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Claves del mapa, sin orden definido
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int index = 0;
+        if (hasZeroKey) {
+            result[index++] = EMPTY;
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        if (hasZeroKey) {
+            result.add((V) zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                result.add((V) values[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Borrado sin lápidas: desplaza hacia atrás las entradas de la misma secuencia de sondeo
+     */
+    private void shiftKeysBack(int freed) {
+        int gap = freed;
+        int slot = freed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == EMPTY) {
+                break;
+            }
+            int ideal = slot(key);
+            // La entrada puede ocupar el hueco si su posición ideal no está entre el hueco y ella
+            boolean movable = gap <= slot
+                    ? ideal <= gap || ideal > slot
+                    : ideal <= gap && ideal > slot;
+            if (movable) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+    }
+
+    private int slot(long key) {
+        // Mezcla de Fibonacci: los IDs consecutivos se reparten por toda la tabla
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void allocateAndRehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int required = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(required - 1) << 1);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+}
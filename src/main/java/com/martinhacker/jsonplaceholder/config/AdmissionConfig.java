@@ -0,0 +1,30 @@
+package com.martinhacker.jsonplaceholder.config;
+
+import com.martinhacker.jsonplaceholder.admission.LoadShedder;
+import com.martinhacker.jsonplaceholder.admission.LoadSheddingInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra el control de admisión sobre la API cuando está habilitado (admission.enabled)
+ */
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+    
+    private final ObjectProvider<LoadShedder> loadShedder;
+    
+    public AdmissionConfig(ObjectProvider<LoadShedder> loadShedder) {
+        this.loadShedder = loadShedder;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        loadShedder.ifAvailable(shedder -> registry
+                .addInterceptor(new LoadSheddingInterceptor(shedder))
+                .addPathPatterns("/api/**")
+                // Las conexiones SSE son de larga duración y no deben ocupar plazas de admisión
+                .excludePathPatterns("/api/posts/events"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.martinhacker.jsonplaceholder.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.martinhacker.jsonplaceholder.protobuf.ProtobufApiResponseHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Formatos binarios de respuesta por negociación de contenido (cabecera Accept):
+ * application/x-jackson-smile, application/cbor y application/x-protobuf.
+ * Los conversores Smile y CBOR se construyen con el Jackson2ObjectMapperBuilder de Spring Boot,
+ * de modo que aplican la misma configuración y módulos (json.serialization.mode) que el JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+    
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+    
+    public BinaryFormatsConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Sustituye los conversores por defecto, que usan un ObjectMapper sin la configuración de Boot
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new ProtobufApiResponseHttpMessageConverter());
+    }
+}
@@ -0,0 +1,106 @@
+package com.martinhacker.jsonplaceholder.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.martinhacker.jsonplaceholder.cache.CacheInvalidationBus;
+import com.martinhacker.jsonplaceholder.cache.InMemoryInvalidationBus;
+import com.martinhacker.jsonplaceholder.cache.InMemorySharedCacheStore;
+import com.martinhacker.jsonplaceholder.cache.RetainedSizeWeigher;
+import com.martinhacker.jsonplaceholder.cache.SharedCacheStore;
+import com.martinhacker.jsonplaceholder.cache.TwoLevelCacheManager;
+import com.martinhacker.jsonplaceholder.event.CacheEntryEvictedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Configuración de caches: Caffeine local y, opcionalmente, un segundo nivel compartido
+ * entre nodos con difusión de invalidaciones.
+ * Cada cache con entrada en cache.caffeine.specs se limita por bytes retenidos estimados y tiene su propio TTL.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+@EnableConfigurationProperties(CaffeineCacheProperties.class)
+public class CacheConfig {
+    
+    @Value("${spring.cache.cache-names:posts,postLists,users,comments}")
+    private String[] cacheNames;
+    
+    @Value("${spring.cache.caffeine.spec:maximumSize=1000,expireAfterWrite=5m}")
+    private String caffeineSpec;
+    
+    private final CaffeineCacheProperties cacheProperties;
+    
+    public CacheConfig(CaffeineCacheProperties cacheProperties) {
+        this.cacheProperties = cacheProperties;
+    }
+    
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<SharedCacheStore> sharedCacheStore,
+                                     ObjectProvider<CacheInvalidationBus> invalidationBus,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${cache.l2.node-id:}") String nodeId) {
+        SharedCacheStore store = sharedCacheStore.getIfAvailable();
+        CacheInvalidationBus bus = invalidationBus.getIfAvailable();
+        
+        Map<String, Cache<Object, Object>> localCaches = new LinkedHashMap<>();
+        Arrays.stream(cacheNames).forEach(name -> localCaches.put(name, buildLocalCache(name, eventPublisher)));
+        
+        if (store == null || bus == null) {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(cacheNames);
+            localCaches.forEach(cacheManager::registerCustomCache);
+            return cacheManager;
+        }
+        
+        return new TwoLevelCacheManager(localCaches, store, bus,
+                nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId);
+    }
+    
+    /**
+     * Cache Caffeine local que notifica las expulsiones por tamaño o expiración
+     * para que los índices en memoria se mantengan coherentes, y registra estadísticas de aciertos
+     */
+    private Cache<Object, Object> buildLocalCache(String name, ApplicationEventPublisher eventPublisher) {
+        CaffeineCacheProperties.Spec spec = cacheProperties.specFor(name);
+        Caffeine<Object, Object> builder = spec == null
+                ? Caffeine.from(caffeineSpec)
+                : Caffeine.newBuilder()
+                        .maximumWeight(spec.getMaximumWeight().toBytes())
+                        .weigher(new RetainedSizeWeigher())
+                        .expireAfterWrite(spec.getExpireAfterWrite());
+        return builder
+                .recordStats()
+                .removalListener((Object key, Object value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        eventPublisher.publishEvent(new CacheEntryEvictedEvent(name, key, value));
+                    }
+                })
+                .build();
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "cache.l2.enabled", havingValue = "true")
+    public SharedCacheStore sharedCacheStore(@Value("${cache.l2.cluster-name:jsonplaceholder-api}") String clusterName,
+                                             @Value("${cache.l2.ttl:600000}") long ttlMs) {
+        return InMemorySharedCacheStore.forCluster(clusterName, Duration.ofMillis(ttlMs));
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "cache.l2.enabled", havingValue = "true")
+    public CacheInvalidationBus cacheInvalidationBus(@Value("${cache.l2.cluster-name:jsonplaceholder-api}") String clusterName) {
+        return InMemoryInvalidationBus.forCluster(clusterName);
+    }
+}
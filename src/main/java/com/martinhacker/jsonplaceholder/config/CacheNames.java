@@ -0,0 +1,19 @@
+package com.martinhacker.jsonplaceholder.config;
+
+/**
+ * Nombres de las caches de la aplicación
+ */
+public final class CacheNames {
+    
+    public static final String POSTS = "posts";
+    // Listas de posts, separadas de los posts individuales para que no compartan presupuesto
+    public static final String POST_LISTS = "postLists";
+    // Clave de la lista completa en la cache de listas de posts
+    public static final String ALL_POSTS_KEY = "all";
+    public static final String USERS = "users";
+    public static final String COMMENTS = "comments";
+    // Posts eliminados en el almacén compartido y el bus de invalidación (no es una cache de Spring)
+    public static final String TOMBSTONES = "tombstones";
+    
+    private CacheNames() {}
+}
@@ -0,0 +1,66 @@
+package com.martinhacker.jsonplaceholder.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración por cache de Caffeine (cache.caffeine.specs.&lt;cache&gt;): presupuesto en bytes estimados
+ * y TTL. Las caches sin entrada usan spring.cache.caffeine.spec.
+ */
+@ConfigurationProperties(prefix = "cache.caffeine")
+public class CaffeineCacheProperties {
+    
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+    
+    /**
+     * Configuración de la cache indicada, o null si no tiene una propia
+     */
+    public Spec specFor(String cacheName) {
+        Spec spec = specs.get(cacheName);
+        if (spec != null) {
+            return spec;
+        }
+        // Las claves de mapas en propiedades pueden llegar normalizadas a minúsculas
+        return specs.entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(cacheName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+    
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+    
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs;
+    }
+    
+    public static class Spec {
+        
+        // Suma de los bytes retenidos estimados de todas las entradas
+        private DataSize maximumWeight = DataSize.ofMegabytes(1);
+        
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+        
+        public DataSize getMaximumWeight() {
+            return maximumWeight;
+        }
+        
+        public void setMaximumWeight(DataSize maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+        
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+        
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
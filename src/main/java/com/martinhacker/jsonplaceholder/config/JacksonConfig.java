@@ -0,0 +1,31 @@
+package com.martinhacker.jsonplaceholder.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.martinhacker.jsonplaceholder.json.ModelSerializersModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modo de serialización JSON de las respuestas, seleccionado con json.serialization.mode:
+ * jackson, el valor por defecto (serializador de beans por reflexión), blackbird (accesores generados con
+ * LambdaMetafactory) o custom (serializadores escritos a mano para Post, User y Comment), que hay que activar
+ * expresamente tras medir la mejora con JsonSerializationBenchmark.
+ * Spring Boot registra en el ObjectMapper cualquier bean de tipo {@link Module}.
+ */
+@Configuration
+public class JacksonConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "json.serialization.mode", havingValue = "blackbird")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "json.serialization.mode", havingValue = "custom")
+    public Module modelSerializersModule() {
+        return new ModelSerializersModule();
+    }
+}
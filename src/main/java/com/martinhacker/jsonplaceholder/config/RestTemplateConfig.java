@@ -1,30 +1,149 @@
 package com.martinhacker.jsonplaceholder.config;
 
+import com.martinhacker.jsonplaceholder.client.RecordReplayClientHttpRequestFactory;
+import com.martinhacker.jsonplaceholder.client.UpstreamResponseStore;
+import com.martinhacker.jsonplaceholder.upstream.PrioritizedClientHttpRequestFactory;
+import com.martinhacker.jsonplaceholder.upstream.UpstreamCallScheduler;
+import com.martinhacker.jsonplaceholder.upstream.UpstreamPool;
+import com.martinhacker.jsonplaceholder.upstream.UpstreamPriority;
+import com.martinhacker.jsonplaceholder.upstream.UpstreamRoutingClientHttpRequestFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 @Configuration
 public class RestTemplateConfig {
     
+    private static final Logger logger = LoggerFactory.getLogger(RestTemplateConfig.class);
+    
+    @Value("${external.api.jsonplaceholder.base-url}")
+    private String baseUrl;
+    
     @Value("${external.api.jsonplaceholder.timeout:5000}")
     private int timeout;
     
+    @Value("${upstream.record-replay.mode:off}")
+    private String recordReplayMode;
+    
+    @Value("${upstream.record-replay.directory:upstream-recordings}")
+    private String recordReplayDirectory;
+    
+    @Value("${upstream.record-replay.replay-latency:0}")
+    private long replayLatencyMs;
+    
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
         RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setRequestFactory(clientHttpRequestFactory());
+        restTemplate.setRequestFactory(clientHttpRequestFactory);
         return restTemplate;
     }
     
+    /**
+     * Réplicas de la API externa entre las que se reparten las llamadas a la URL base.
+     * Solo se crea si se configura external.api.jsonplaceholder.upstreams.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "external.api.jsonplaceholder.upstreams")
+    public UpstreamPool upstreamPool(@Value("${external.api.jsonplaceholder.upstreams}") List<String> upstreams,
+                                     @Value("${external.api.jsonplaceholder.health.path:/posts/1}") String probePath,
+                                     @Value("${external.api.jsonplaceholder.health.interval:10000}") long probeIntervalMs,
+                                     @Value("${external.api.jsonplaceholder.health.timeout:2000}") int probeTimeoutMs,
+                                     @Value("${external.api.jsonplaceholder.ejection.failure-threshold:3}") int failureThreshold,
+                                     @Value("${external.api.jsonplaceholder.ejection.duration:30000}") long ejectionMs,
+                                     @Value("${external.api.jsonplaceholder.ejection.max-duration:300000}") long maxEjectionMs) {
+        SimpleClientHttpRequestFactory probeFactory = new SimpleClientHttpRequestFactory();
+        probeFactory.setConnectTimeout(probeTimeoutMs);
+        probeFactory.setReadTimeout(probeTimeoutMs);
+        
+        UpstreamPool pool = new UpstreamPool(upstreams, probeFactory, probePath, failureThreshold, ejectionMs, maxEjectionMs);
+        pool.startProbing(probeIntervalMs);
+        logger.info("Llamadas a {} repartidas entre las réplicas {}", baseUrl, pool.getEndpoints());
+        return pool;
+    }
+    
+    /**
+     * Planificador de llamadas a la API externa por prioridad (interactivas, agregación, precarga)
+     * con encolado justo ponderado. Se desactiva con upstream.scheduler.enabled=false.
+     * Sin max-concurrency explícito admite tantas llamadas como hilos tiene el pool de la agregación más
+     * las reservadas para interactivas, de modo que la agregación conserva su paralelismo de siempre.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "upstream.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+    public UpstreamCallScheduler upstreamCallScheduler(MeterRegistry meterRegistry,
+                                                       @Value("${upstream.scheduler.max-concurrency:0}") int maxConcurrency,
+                                                       @Value("${upstream.scheduler.interactive-reserved:2}") int interactiveReserved,
+                                                       @Value("${external.api.jsonplaceholder.executor.threads:10}") int executorThreads,
+                                                       @Value("${upstream.scheduler.queue-timeout:10000}") long queueTimeoutMs,
+                                                       @Value("${upstream.scheduler.weights.interactive:8}") int interactiveWeight,
+                                                       @Value("${upstream.scheduler.weights.bulk:2}") int bulkWeight,
+                                                       @Value("${upstream.scheduler.weights.background:1}") int backgroundWeight) {
+        if (maxConcurrency <= 0) {
+            maxConcurrency = executorThreads + interactiveReserved;
+        }
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(maxConcurrency, interactiveReserved,
+                Map.of(UpstreamPriority.INTERACTIVE, interactiveWeight,
+                        UpstreamPriority.BULK, bulkWeight,
+                        UpstreamPriority.BACKGROUND, backgroundWeight),
+                queueTimeoutMs);
+        Gauge.builder("upstream.scheduler.in-flight", scheduler, UpstreamCallScheduler::getInFlight)
+                .description("Llamadas en curso a la API externa")
+                .register(meterRegistry);
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("upstream.scheduler.queued", scheduler, s -> s.getQueued(priority))
+                    .description("Llamadas a la API externa esperando hueco")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            Gauge.builder("upstream.scheduler.queue-wait", scheduler, s -> s.getQueueWaitNanos(priority) / 1_000_000.0)
+                    .description("Espera media reciente en cola en milisegundos")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+        }
+        logger.info("Llamadas a la API externa limitadas a {} simultáneas ({} reservadas para interactivas)",
+                maxConcurrency, interactiveReserved);
+        return scheduler;
+    }
+    
     @Bean
-    public ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(timeout);
-        factory.setReadTimeout(timeout);
-        return factory;
+    public ClientHttpRequestFactory clientHttpRequestFactory(ObjectProvider<UpstreamPool> upstreamPool,
+                                                             ObjectProvider<UpstreamCallScheduler> callScheduler) {
+        SimpleClientHttpRequestFactory simpleFactory = new SimpleClientHttpRequestFactory();
+        simpleFactory.setConnectTimeout(timeout);
+        simpleFactory.setReadTimeout(timeout);
+        
+        // Reparto entre réplicas de la API externa (external.api.jsonplaceholder.upstreams)
+        UpstreamPool pool = upstreamPool.getIfAvailable();
+        ClientHttpRequestFactory factory = pool != null
+                ? new UpstreamRoutingClientHttpRequestFactory(simpleFactory, pool, baseUrl)
+                : simpleFactory;
+        
+        // Prioridad de las llamadas antes de elegir réplica, para no contar la espera en cola como latencia
+        UpstreamCallScheduler scheduler = callScheduler.getIfAvailable();
+        if (scheduler != null) {
+            factory = new PrioritizedClientHttpRequestFactory(factory, scheduler);
+        }
+        
+        // Grabación/reproducción de la API externa (upstream.record-replay.mode)
+        RecordReplayClientHttpRequestFactory.Mode mode = RecordReplayClientHttpRequestFactory.Mode.parse(recordReplayMode);
+        if (mode == RecordReplayClientHttpRequestFactory.Mode.OFF) {
+            return factory;
+        }
+        UpstreamResponseStore store = new UpstreamResponseStore(Path.of(recordReplayDirectory));
+        logger.info("Grabación de la API externa en modo {} sobre {}", mode, store.getDirectory().toAbsolutePath());
+        return new RecordReplayClientHttpRequestFactory(factory, store, mode, replayLatencyMs);
     }
 }
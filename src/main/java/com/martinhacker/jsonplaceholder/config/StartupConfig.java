@@ -0,0 +1,51 @@
+package com.martinhacker.jsonplaceholder.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+
+/**
+ * Inicialización diferida opcional (startup.lazy-non-critical=true) de los beans que no intervienen en
+ * las peticiones de la API: la documentación OpenAPI (springdoc y {@link OpenApiConfig}) se crea con la
+ * primera petición a /api-docs o /swagger-ui en lugar de durante el arranque. A diferencia de
+ * spring.main.lazy-initialization, el camino caliente (controladores, servicio, caches) sigue creándose al arrancar.
+ */
+@Configuration
+public class StartupConfig {
+    
+    static final String[] DEFAULT_LAZY_PREFIXES = {"org.springdoc.", OpenApiConfig.class.getName()};
+    
+    @Bean
+    @ConditionalOnProperty(name = "startup.lazy-non-critical", havingValue = "true")
+    public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+        String[] prefixes = environment.getProperty("startup.lazy-bean-prefixes", String[].class, DEFAULT_LAZY_PREFIXES);
+        return beanFactory -> markLazy(beanFactory, prefixes);
+    }
+    
+    /**
+     * Marca como lazy los beans cuya clase, o la de la configuración que los declara, empieza por alguno de los prefijos
+     */
+    static void markLazy(ConfigurableListableBeanFactory beanFactory, String[] prefixes) {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            String origin = originClassName(beanFactory, definition);
+            if (origin != null && Arrays.stream(prefixes).anyMatch(origin::startsWith)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+    
+    private static String originClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -0,0 +1,88 @@
+package com.martinhacker.jsonplaceholder.controller;
+
+import com.martinhacker.jsonplaceholder.exception.BusinessException;
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.service.PostQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/comments")
+@Validated
+@Tag(name = "Comments", description = "Consultas de comentarios sobre índices en memoria")
+public class CommentController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CommentController.class);
+    
+    private final PostQueryService postQueryService;
+    
+    public CommentController(PostQueryService postQueryService) {
+        this.postQueryService = postQueryService;
+    }
+    
+    /**
+     * Endpoint: GET /comments?email=
+     * Obtiene los comentarios escritos desde un email
+     */
+    @GetMapping
+    @Operation(
+            summary = "Obtener comentarios por email del autor",
+            description = "Resuelve los comentarios mediante el índice email → comentarios en memoria. " +
+                         "La comparación no distingue mayúsculas."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Comentarios obtenidos exitosamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Email inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<ApiResponse<List<Comment>>> getCommentsByEmail(
+            @Parameter(description = "Email del autor del comentario", required = true, example = "Eliseo@gardner.biz")
+            @RequestParam @NotBlank @Email(message = "El email no tiene un formato válido") String email) {
+        
+        logger.info("Solicitud recibida para obtener comentarios del email {}", email);
+        
+        try {
+            List<Comment> comments = postQueryService.getCommentsByEmail(email);
+            
+            ApiResponse<List<Comment>> response = ApiResponse.success(
+                    String.format("Se obtuvieron %d comentarios", comments.size()),
+                    comments
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error obteniendo comentarios del email {}: {}", email, e.getMessage(), e);
+            throw new BusinessException("Error obteniendo comentarios: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
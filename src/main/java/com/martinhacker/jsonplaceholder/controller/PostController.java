@@ -1,24 +1,50 @@
 package com.martinhacker.jsonplaceholder.controller;
 
 import com.martinhacker.jsonplaceholder.exception.BusinessException;
+import com.martinhacker.jsonplaceholder.feed.DataVersion;
+import com.martinhacker.jsonplaceholder.feed.PostChangeLog;
+import com.martinhacker.jsonplaceholder.feed.PostChangeStream;
 import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.BulkDeleteRequest;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.DeleteStatus;
+import com.martinhacker.jsonplaceholder.model.NormalizedPosts;
 import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.PostBatchRequest;
+import com.martinhacker.jsonplaceholder.model.PostBatchResult;
+import com.martinhacker.jsonplaceholder.model.PostChange;
+import com.martinhacker.jsonplaceholder.model.PostDelta;
+import com.martinhacker.jsonplaceholder.model.PostSearchResult;
+import com.martinhacker.jsonplaceholder.protobuf.ProtobufApiResponseHttpMessageConverter;
 import com.martinhacker.jsonplaceholder.service.JsonPlaceholderService;
+import com.martinhacker.jsonplaceholder.service.PostQueryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -28,10 +54,30 @@ public class PostController {
     
     private static final Logger logger = LoggerFactory.getLogger(PostController.class);
     
+    /**
+     * Media type que selecciona la representación normalizada de GET /posts
+     */
+    public static final String NORMALIZED_MEDIA_TYPE = "application/vnd.jsonplaceholder.normalized+json";
+    
+    /**
+     * Cabecera con la versión de datos de GET /posts, punto de partida para GET /posts/changes
+     */
+    public static final String DATA_VERSION_HEADER = "X-Data-Version";
+    
+    private static final String FORMAT_FULL = "full";
+    private static final String FORMAT_NORMALIZED = "normalized";
+    
     private final JsonPlaceholderService jsonPlaceholderService;
+    private final PostQueryService postQueryService;
+    private final PostChangeLog postChangeLog;
+    private final PostChangeStream postChangeStream;
     
-    public PostController(JsonPlaceholderService jsonPlaceholderService) {
+    public PostController(JsonPlaceholderService jsonPlaceholderService, PostQueryService postQueryService,
+                          PostChangeLog postChangeLog, PostChangeStream postChangeStream) {
         this.jsonPlaceholderService = jsonPlaceholderService;
+        this.postQueryService = postQueryService;
+        this.postChangeLog = postChangeLog;
+        this.postChangeStream = postChangeStream;
     }
     
     /**
@@ -42,12 +88,51 @@ public class PostController {
     @Operation(
             summary = "Obtener todos los posts con detalles completos",
             description = "Obtiene la lista completa de posts con información del usuario autor y comentarios. " +
-                         "Realiza múltiples llamadas a la API externa JSONPlaceholder para mergear toda la información."
+                         "Realiza múltiples llamadas a la API externa JSONPlaceholder para mergear toda la información. " +
+                         "Con format=normalized (o Accept: " + NORMALIZED_MEDIA_TYPE + ") devuelve usuarios y " +
+                         "comentarios una sola vez en diccionarios por ID y los posts los referencian por ID. " +
+                         "Admite formatos binarios por cabecera Accept: application/x-jackson-smile, " +
+                         "application/cbor y application/x-protobuf (esquema en src/main/proto/jsonplaceholder.proto). " +
+                         "La cabecera " + DATA_VERSION_HEADER + " indica la versión de datos a usar en GET /api/posts/changes."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
                     description = "Posts obtenidos exitosamente",
+                    content = {
+                            @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiResponse.class)
+                            ),
+                            @Content(
+                                    mediaType = NORMALIZED_MEDIA_TYPE,
+                                    schema = @Schema(implementation = NormalizedPosts.class)
+                            ),
+                            @Content(
+                                    mediaType = "application/x-jackson-smile",
+                                    schema = @Schema(implementation = ApiResponse.class)
+                            ),
+                            @Content(
+                                    mediaType = "application/cbor",
+                                    schema = @Schema(implementation = ApiResponse.class)
+                            ),
+                            @Content(
+                                    mediaType = ProtobufApiResponseHttpMessageConverter.PROTOBUF_MEDIA_TYPE_VALUE,
+                                    schema = @Schema(type = "string", format = "binary")
+                            )
+                    }
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Formato de respuesta no soportado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "429",
+                    description = "Límite de peticiones del cliente superado (ver cabecera Retry-After)",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = ApiResponse.class)
@@ -70,30 +155,155 @@ public class PostController {
                     )
             )
     })
-    public ResponseEntity<ApiResponse<List<Post>>> getAllPosts() {
+    public CompletableFuture<ResponseEntity<? extends ApiResponse<?>>> getAllPosts(
+            @Parameter(description = "Representación de la respuesta (full o normalized)", example = "full")
+            @RequestParam(defaultValue = FORMAT_FULL) String format,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         logger.info("Solicitud recibida para obtener todos los posts con detalles");
         
-        try {
-            long startTime = System.currentTimeMillis();
-            
-            List<Post> posts = jsonPlaceholderService.getAllPostsWithDetails();
+        boolean acceptsNormalized = accept != null && accept.contains(NORMALIZED_MEDIA_TYPE);
+        if (!FORMAT_FULL.equalsIgnoreCase(format) && !FORMAT_NORMALIZED.equalsIgnoreCase(format)) {
+            throw new BusinessException("Formato no soportado: " + format + " (use full o normalized)");
+        }
+        boolean normalized = acceptsNormalized || FORMAT_NORMALIZED.equalsIgnoreCase(format);
+        
+        long startTime = System.currentTimeMillis();
+        // Se toma antes de leer los datos: una sincronización posterior puede repetir cambios, nunca perderlos
+        String dataVersion = postChangeLog.getLatestVersion().toString();
+        
+        // El hilo del contenedor se libera aquí; la respuesta se escribe al completarse el future
+        return jsonPlaceholderService.getAllPostsWithDetailsAsync().<ResponseEntity<? extends ApiResponse<?>>>handle((posts, ex) -> {
+            if (ex != null) {
+                Throwable cause = unwrap(ex);
+                logger.error("Error obteniendo posts: {}", cause.getMessage(), cause);
+                throw new BusinessException("Error obteniendo posts: " + cause.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+            }
             
-            long endTime = System.currentTimeMillis();
-            long duration = endTime - startTime;
+            long duration = System.currentTimeMillis() - startTime;
             
             logger.info("Posts obtenidos exitosamente: {} posts en {} ms", posts.size(), duration);
             
-            ApiResponse<List<Post>> response = ApiResponse.success(
-                    String.format("Se obtuvieron %d posts con detalles completos en %d ms", posts.size(), duration),
-                    posts
-            );
+            String message = String.format("Se obtuvieron %d posts con detalles completos en %d ms", posts.size(), duration);
             
-            return ResponseEntity.ok(response);
+            if (normalized) {
+                NormalizedPosts normalizedPosts = NormalizedPosts.from(posts);
+                logger.debug("Respuesta normalizada: {}", normalizedPosts);
+                
+                // Con el media type propio se responde con él; con format=normalized se mantiene application/json
+                return ResponseEntity.ok()
+                        .header(DATA_VERSION_HEADER, dataVersion)
+                        .contentType(acceptsNormalized
+                                ? MediaType.parseMediaType(NORMALIZED_MEDIA_TYPE)
+                                : MediaType.APPLICATION_JSON)
+                        .body(ApiResponse.success(message, normalizedPosts));
+            }
             
+            return ResponseEntity.ok()
+                    .header(DATA_VERSION_HEADER, dataVersion)
+                    .body(ApiResponse.success(message, posts));
+        });
+    }
+    
+    /**
+     * Endpoint adicional: GET /posts?ids=1,2,3
+     * Obtiene varios posts por ID en una sola petición
+     */
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Obtener varios posts por ID",
+            description = "Obtiene los posts indicados en una sola petición, manteniendo el orden de los IDs. " +
+                         "Resuelve los presentes en cache con una búsqueda masiva y obtiene el resto en paralelo. " +
+                         "Con details=true incluye el usuario autor y los comentarios de cada post."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Posts obtenidos; los IDs inexistentes se informan en missingIds",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Lista de IDs vacía, demasiado grande o con IDs inválidos",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public CompletableFuture<ResponseEntity<ApiResponse<PostBatchResult>>> getPostsByIds(
+            @Parameter(description = "IDs de los posts separados por comas", required = true, example = "1,2,3")
+            @RequestParam
+            @NotEmpty(message = "Debe indicar al menos un ID de post")
+            @Size(max = 1000, message = "No se pueden consultar más de 1000 posts por petición")
+            List<@Positive(message = "Los IDs de post deben ser números positivos") Long> ids,
+            @Parameter(description = "Incluir usuario autor y comentarios", example = "false")
+            @RequestParam(defaultValue = "false") boolean details) {
+        
+        return buildBatchResponse(ids, details);
+    }
+    
+    /**
+     * Endpoint adicional: POST /posts/batch
+     * Variante de la consulta por lote para listas de IDs largas
+     */
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Obtener varios posts por ID (cuerpo JSON)",
+            description = "Igual que GET /api/posts?ids=..., recibiendo los IDs en el cuerpo de la petición."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Posts obtenidos; los IDs inexistentes se informan en missingIds",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Lista de IDs vacía, demasiado grande o con IDs inválidos",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public CompletableFuture<ResponseEntity<ApiResponse<PostBatchResult>>> getPostsBatch(@Valid @RequestBody PostBatchRequest request) {
+        return buildBatchResponse(request.getIds(), request.isDetails());
+    }
+    
+    private CompletableFuture<ResponseEntity<ApiResponse<PostBatchResult>>> buildBatchResponse(List<Long> ids, boolean details) {
+        logger.info("Solicitud recibida para obtener {} posts por ID", ids.size());
+        
+        CompletableFuture<PostBatchResult> result;
+        try {
+            result = jsonPlaceholderService.getPostsByIdsAsync(ids, details);
         } catch (Exception e) {
-            logger.error("Error obteniendo posts: {}", e.getMessage(), e);
-            throw new BusinessException("Error obteniendo posts: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+            result = CompletableFuture.failedFuture(e);
         }
+        
+        return result.handle((batch, ex) -> {
+            if (ex != null) {
+                Throwable cause = unwrap(ex);
+                logger.error("Error obteniendo posts por ID: {}", cause.getMessage(), cause);
+                throw new BusinessException("Error obteniendo posts: " + cause.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+            
+            ApiResponse<PostBatchResult> response = ApiResponse.success(
+                    String.format("Se obtuvieron %d posts de %d solicitados", batch.getPosts().size(), ids.size()),
+                    batch
+            );
+            return ResponseEntity.ok(response);
+        });
+    }
+    
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
     }
     
     /**
@@ -169,6 +379,59 @@ public class PostController {
         }
     }
     
+    /**
+     * Endpoint adicional: POST /posts/bulk-delete
+     * Elimina varios posts en una sola petición
+     */
+    @PostMapping("/bulk-delete")
+    @Operation(
+            summary = "Eliminar varios posts",
+            description = "Elimina una lista de posts realizando las llamadas DELETE a la API externa de forma concurrente " +
+                         "con un límite configurable. Devuelve el resultado por ID (DELETED, NOT_FOUND o FAILED)."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Lote procesado; el detalle por ID indica el resultado de cada eliminación",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Lista de IDs vacía, demasiado grande o con IDs inválidos",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<ApiResponse<Map<Long, DeleteStatus>>> deletePosts(
+            @Valid @RequestBody BulkDeleteRequest request) {
+        
+        logger.info("Solicitud recibida para eliminar {} posts", request.getIds().size());
+        
+        try {
+            Map<Long, DeleteStatus> results = jsonPlaceholderService.deletePosts(request.getIds());
+            
+            long deleted = results.values().stream().filter(status -> status == DeleteStatus.DELETED).count();
+            long notFound = results.values().stream().filter(status -> status == DeleteStatus.NOT_FOUND).count();
+            long failed = results.size() - deleted - notFound;
+            
+            ApiResponse<Map<Long, DeleteStatus>> response = ApiResponse.success(
+                    String.format("Se procesaron %d posts: %d eliminados, %d no encontrados, %d con error",
+                            results.size(), deleted, notFound, failed),
+                    results
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error en la eliminación masiva de posts: {}", e.getMessage(), e);
+            throw new BusinessException("Error eliminando posts: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
     /**
      * Endpoint adicional: GET /posts/{id}
      * Obtiene un post específico por ID
@@ -230,4 +493,213 @@ public class PostController {
             throw new BusinessException("Error obteniendo post: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+    
+    /**
+     * Endpoint adicional: GET /posts/{id}/comments
+     * Obtiene los comentarios de un post desde el índice en memoria
+     */
+    @GetMapping("/{id}/comments")
+    @Operation(
+            summary = "Obtener los comentarios de un post",
+            description = "Resuelve los comentarios mediante el índice postId → comentarios en memoria, " +
+                         "cargándolos desde la API externa solo si aún no están indexados."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Comentarios obtenidos exitosamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "ID de post inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<ApiResponse<List<Comment>>> getCommentsByPost(
+            @Parameter(description = "ID del post", required = true, example = "1")
+            @PathVariable @Positive(message = "El ID del post debe ser un número positivo") Long id) {
+        
+        logger.info("Solicitud recibida para obtener comentarios del post {}", id);
+        
+        try {
+            List<Comment> comments = postQueryService.getCommentsByPost(id);
+            
+            ApiResponse<List<Comment>> response = ApiResponse.success(
+                    String.format("Se obtuvieron %d comentarios del post %d", comments.size(), id),
+                    comments
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error obteniendo comentarios del post {}: {}", id, e.getMessage(), e);
+            throw new BusinessException("Error obteniendo comentarios: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Endpoint adicional: GET /posts/search?q=
+     * Búsqueda de texto sobre título, cuerpo y comentarios de los posts
+     */
+    @GetMapping("/search")
+    @Operation(
+            summary = "Buscar posts por texto",
+            description = "Busca en el título, el cuerpo y los comentarios de los posts mediante un índice invertido en memoria. " +
+                         "Los resultados se ordenan por relevancia y un término terminado en '*' se trata como prefijo."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Búsqueda realizada exitosamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Consulta o límite inválidos",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<ApiResponse<List<PostSearchResult>>> searchPosts(
+            @Parameter(description = "Texto a buscar", required = true, example = "dolor qui*")
+            @RequestParam @NotBlank(message = "La consulta no puede estar vacía")
+            @Size(max = 200, message = "La consulta no puede superar 200 caracteres") String q,
+            @Parameter(description = "Número máximo de resultados", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        
+        logger.info("Solicitud recibida para buscar posts: '{}'", q);
+        
+        try {
+            List<PostSearchResult> results = postQueryService.search(q, limit);
+            
+            ApiResponse<List<PostSearchResult>> response = ApiResponse.success(
+                    String.format("Se encontraron %d posts", results.size()),
+                    results
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error buscando posts con '{}': {}", q, e.getMessage(), e);
+            throw new BusinessException("Error buscando posts: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Endpoint adicional: GET /posts/events
+     * Feed de cambios de posts por Server-Sent Events, reanudable con Last-Event-ID
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Suscribirse a los cambios de posts",
+            description = "Abre un stream Server-Sent Events con los posts creados, actualizados y eliminados que se " +
+                         "detectan al recargar la lista desde la API externa o al eliminar posts. Cada evento lleva " +
+                         "como ID su versión de datos (<época>-<secuencia>) y como nombre el tipo de cambio (created, updated, deleted, " +
+                         "comments_updated). " +
+                         "Al reconectar con la cabecera Last-Event-ID se reenvían los cambios perdidos; si ya no están " +
+                         "en el registro acotado, o el ID es de otra época, se envía un evento '" +
+                         PostChangeStream.RESET_EVENT + "' y el cliente debe volver a cargar la lista completa."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Stream de cambios abierto",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = PostChange.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Límite de suscripciones abiertas alcanzado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public SseEmitter streamPostChanges(
+            @Parameter(description = "ID del último evento recibido, para reanudar el stream", example = "lq3k2a1f9c-42")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        
+        logger.info("Solicitud recibida para el feed de cambios de posts (Last-Event-ID={})", lastEventId);
+        return postChangeStream.subscribe(lastEventId);
+    }
+    
+    /**
+     * Endpoint adicional: GET /posts/changes?since=
+     * Sincronización incremental: posts y comentarios modificados desde una versión de datos
+     */
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Obtener los cambios desde una versión",
+            description = "Devuelve solo los posts y comentarios creados, modificados o eliminados desde la versión " +
+                         "indicada, para clientes que sincronizan periódicamente sin mantener abierto el feed SSE. " +
+                         "La versión inicial se obtiene de la cabecera " + DATA_VERSION_HEADER + " de GET /api/posts " +
+                         "y la siguiente del campo version de la respuesta. Si la versión ya no está en el registro " +
+                         "o es de otra época (la instancia se reinició) se responde con fullResync=true y el cliente " +
+                         "debe recargar la lista completa."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Cambios obtenidos exitosamente (o indicación de resincronización completa)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Versión inválida",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<ApiResponse<PostDelta>> getPostChanges(
+            @Parameter(description = "Versión de datos de la última sincronización", required = true, example = "lq3k2a1f9c-42")
+            @RequestParam String since) {
+        
+        logger.info("Solicitud recibida para obtener los cambios de posts desde la versión {}", since);
+        
+        DataVersion version;
+        try {
+            version = DataVersion.parse(since);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Versión inválida: " + since + " (use el valor de " + DATA_VERSION_HEADER + ")");
+        }
+        
+        try {
+            PostDelta delta = postChangeLog.deltaSince(version);
+            
+            String message = delta.isFullResync()
+                    ? String.format("La versión %s ya no está disponible: recargue la lista completa", since)
+                    : String.format("Se encontraron %d posts y %d comentarios modificados desde la versión %s",
+                            delta.getPosts().size() + delta.getRemovedPostIds().size(),
+                            delta.getComments().size() + delta.getRemovedCommentIds().size(), since);
+            return ResponseEntity.ok(ApiResponse.success(message, delta));
+            
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error obteniendo cambios desde la versión {}: {}", since, e.getMessage(), e);
+            throw new BusinessException("Error obteniendo cambios: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.martinhacker.jsonplaceholder.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Clasificación de las peticiones a /api/posts que comparten el límite de peticiones y el control
+ * de admisión, para que ambos traten igual la agregación completa y las consultas puntuales
+ */
+public final class PostRequests {
+
+    public static final String POSTS_PATH = "/api/posts";
+
+    private PostRequests() {
+    }
+
+    /**
+     * GET /api/posts sin ids recorre todos los posts con sus usuarios y comentarios
+     */
+    public static boolean isAggregate(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod())
+                && request.getRequestURI().endsWith(POSTS_PATH)
+                && request.getParameter("ids") == null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.martinhacker.jsonplaceholder.controller;
+
+import com.martinhacker.jsonplaceholder.exception.BusinessException;
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.service.PostQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@Validated
+@Tag(name = "Users", description = "Consultas de posts por usuario sobre índices en memoria")
+public class UserController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    
+    private final PostQueryService postQueryService;
+    
+    public UserController(PostQueryService postQueryService) {
+        this.postQueryService = postQueryService;
+    }
+    
+    /**
+     * Endpoint: GET /users/{id}/posts
+     * Obtiene los posts de un usuario con filtrado y ordenación en el servidor
+     */
+    @GetMapping("/{id}/posts")
+    @Operation(
+            summary = "Obtener los posts de un usuario",
+            description = "Resuelve los posts del usuario mediante el índice userId → posts en memoria. " +
+                         "Permite filtrar por texto del título y ordenar por id o title."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Posts del usuario obtenidos exitosamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "ID de usuario o parámetros de ordenación inválidos",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            )
+    })
+    public ResponseEntity<ApiResponse<List<Post>>> getPostsByUser(
+            @Parameter(description = "ID del usuario", required = true, example = "1")
+            @PathVariable @Positive(message = "El ID del usuario debe ser un número positivo") Long id,
+            @Parameter(description = "Texto que debe contener el título", example = "qui")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Campo de ordenación (id o title)", example = "id")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Dirección de ordenación (asc o desc)", example = "asc")
+            @RequestParam(defaultValue = "asc") String order) {
+        
+        logger.info("Solicitud recibida para obtener posts del usuario {}", id);
+        
+        try {
+            List<Post> posts = postQueryService.getPostsByUser(id, q, sort, order);
+            
+            ApiResponse<List<Post>> response = ApiResponse.success(
+                    String.format("Se obtuvieron %d posts del usuario %d", posts.size(), id),
+                    posts
+            );
+            return ResponseEntity.ok(response);
+            
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error obteniendo posts del usuario {}: {}", id, e.getMessage(), e);
+            throw new BusinessException("Error obteniendo posts del usuario: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.martinhacker.jsonplaceholder.event;
+
+/**
+ * Publicado cuando Caffeine expulsa una entrada por tamaño o expiración
+ */
+public record CacheEntryEvictedEvent(String cacheName, Object key, Object value) {
+}
@@ -0,0 +1,11 @@
+package com.martinhacker.jsonplaceholder.event;
+
+import com.martinhacker.jsonplaceholder.model.Comment;
+
+import java.util.List;
+
+/**
+ * Publicado cuando se cargan desde la API externa los comentarios de un post
+ */
+public record CommentsLoadedEvent(Long postId, List<Comment> comments) {
+}
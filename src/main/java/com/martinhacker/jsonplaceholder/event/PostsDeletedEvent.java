@@ -0,0 +1,9 @@
+package com.martinhacker.jsonplaceholder.event;
+
+import java.util.Collection;
+
+/**
+ * Publicado tras eliminar posts e invalidar sus entradas de cache
+ */
+public record PostsDeletedEvent(Collection<Long> postIds) {
+}
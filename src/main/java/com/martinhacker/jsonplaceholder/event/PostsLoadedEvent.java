@@ -0,0 +1,11 @@
+package com.martinhacker.jsonplaceholder.event;
+
+import com.martinhacker.jsonplaceholder.model.Post;
+
+import java.util.List;
+
+/**
+ * Publicado cuando se carga desde la API externa la lista completa de posts
+ */
+public record PostsLoadedEvent(List<Post> posts) {
+}
@@ -3,10 +3,12 @@ package com.martinhacker.jsonplaceholder.exception;
 import com.martinhacker.jsonplaceholder.model.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import jakarta.validation.ConstraintViolation;
@@ -104,6 +107,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(response);
     }
     
+    /**
+     * Maneja peticiones cuyo Accept no admite ninguna representación de la respuesta
+     * (p. ej. application/x-protobuf en un endpoint sin esquema Protobuf)
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<ApiResponse<String>> handleMediaTypeNotAcceptable(HttpMediaTypeNotAcceptableException ex) {
+        logger.warn("Formato de respuesta no aceptable: {}", ex.getMessage());
+        
+        String message = "Formato de respuesta no disponible para este recurso; formatos soportados: "
+                + ex.getSupportedMediaTypes();
+        ApiResponse<String> response = ApiResponse.error(message, HttpStatus.NOT_ACCEPTABLE.value());
+        
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(response);
+    }
+    
     /**
      * Maneja excepciones de JSON malformado
      */
@@ -160,6 +178,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
     
+    /**
+     * Maneja el vencimiento de peticiones asíncronas (spring.mvc.async.request-timeout)
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<ApiResponse<String>> handleAsyncRequestTimeout(AsyncRequestTimeoutException ex) {
+        logger.warn("Tiempo de espera agotado procesando la petición asíncrona");
+        
+        ApiResponse<String> response = ApiResponse.error(
+                "La petición superó el tiempo máximo de procesamiento. Intente nuevamente más tarde.", 
+                HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+    
+    /**
+     * Maneja los rechazos del control de admisión por sobrecarga
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<String>> handleServiceOverloaded(ServiceOverloadedException ex) {
+        ApiResponse<String> response = ApiResponse.error(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+    
     /**
      * Maneja excepciones de negocio personalizadas
      */
@@ -0,0 +1,20 @@
+package com.martinhacker.jsonplaceholder.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Petición rechazada por el control de admisión ante sobrecarga (503)
+ */
+public class ServiceOverloadedException extends BusinessException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,40 @@
+package com.martinhacker.jsonplaceholder.feed;
+
+/**
+ * Versión de datos del {@link PostChangeLog}: época de la instancia y secuencia del último cambio,
+ * con la forma {@code <época>-<secuencia>}. La secuencia se reinicia al arrancar, así que solo es
+ * comparable dentro de la misma época.
+ */
+public record DataVersion(String epoch, long sequence) {
+
+    public DataVersion {
+        if (epoch == null || epoch.isEmpty() || epoch.indexOf('-') >= 0) {
+            throw new IllegalArgumentException("Época de versión inválida: " + epoch);
+        }
+        if (sequence < 0) {
+            throw new IllegalArgumentException("La secuencia no puede ser negativa: " + sequence);
+        }
+    }
+
+    /**
+     * Interpreta una versión con la forma {@code <época>-<secuencia>}
+     *
+     * @throws IllegalArgumentException si el texto no tiene esa forma
+     */
+    public static DataVersion parse(String value) {
+        int separator = value != null ? value.lastIndexOf('-') : -1;
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Versión inválida: " + value);
+        }
+        try {
+            return new DataVersion(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Versión inválida: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return epoch + "-" + sequence;
+    }
+}
@@ -0,0 +1,315 @@
+package com.martinhacker.jsonplaceholder.feed;
+
+import com.martinhacker.jsonplaceholder.collection.LongObjectHashMap;
+import com.martinhacker.jsonplaceholder.event.CommentsLoadedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsDeletedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.PostChange;
+import com.martinhacker.jsonplaceholder.model.PostChangeType;
+import com.martinhacker.jsonplaceholder.model.PostDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registro acotado en memoria de los cambios de posts y comentarios, numerados con una secuencia
+ * creciente. La versión de los datos es esa secuencia calificada con la época de la instancia
+ * ({@link DataVersion}): al reiniciar la secuencia vuelve a 0 y una versión anterior no debe confundirse
+ * con una de la nueva época.
+ * Los cambios se deducen comparando cada lista de posts (o de comentarios de un post) recargada con la anterior
+ * y a partir de las eliminaciones; la primera carga solo fija la instantánea de referencia.
+ * Cuando se supera la capacidad se descartan los cambios más antiguos.
+ */
+@Component
+public class PostChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostChangeLog.class);
+
+    private final int capacity;
+    private final Clock clock;
+    private final String epoch;
+    private final Deque<PostChange> changes = new ArrayDeque<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    // Último estado conocido de cada post (copia sin usuario ni comentarios)
+    private LongObjectHashMap<Post> snapshot = new LongObjectHashMap<>();
+    // Últimos comentarios conocidos por post; un post creado empieza con la lista vacía
+    // para que su primera carga de comentarios se registre como cambio
+    private final LongObjectHashMap<List<Comment>> commentSnapshot = new LongObjectHashMap<>();
+    private boolean seeded;
+    private long latestSequence;
+
+    @Autowired
+    public PostChangeLog(@Value("${feed.changes.capacity:1000}") int capacity) {
+        this(capacity, Clock.systemUTC());
+    }
+
+    PostChangeLog(int capacity, Clock clock) {
+        this(capacity, clock, newEpoch(clock));
+    }
+
+    PostChangeLog(int capacity, Clock clock, String epoch) {
+        this.capacity = Math.max(1, capacity);
+        this.clock = clock;
+        this.epoch = epoch;
+    }
+
+    @EventListener
+    public void onPostsLoaded(PostsLoadedEvent event) {
+        int appended;
+        synchronized (this) {
+            long before = latestSequence;
+            LongObjectHashMap<Post> previous = snapshot;
+            snapshot = new LongObjectHashMap<>(event.posts().size());
+
+            for (Post post : event.posts()) {
+                Post current = copyOf(post);
+                Post old = previous.remove(post.getId());
+                snapshot.put(post.getId(), current);
+                if (!seeded) {
+                    continue;
+                }
+                if (old == null) {
+                    append(PostChangeType.CREATED, post.getId(), current);
+                    commentSnapshot.put(post.getId(), List.of());
+                } else if (!sameContent(old, current)) {
+                    append(PostChangeType.UPDATED, post.getId(), current);
+                }
+            }
+            if (seeded) {
+                long[] removedIds = previous.keys();
+                Arrays.sort(removedIds);
+                for (long postId : removedIds) {
+                    append(PostChangeType.DELETED, postId, null);
+                    commentSnapshot.remove(postId);
+                }
+            }
+            seeded = true;
+            appended = (int) (latestSequence - before);
+        }
+        if (appended > 0) {
+            logger.debug("Detectados {} cambios de posts en la recarga", appended);
+            notifyListeners();
+        }
+    }
+
+    @EventListener
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        boolean appended = false;
+        synchronized (this) {
+            List<Long> postIds = new ArrayList<>(event.postIds());
+            postIds.sort(null);
+            for (Long postId : postIds) {
+                snapshot.remove(postId);
+                commentSnapshot.remove(postId);
+                append(PostChangeType.DELETED, postId, null);
+                appended = true;
+            }
+        }
+        if (appended) {
+            notifyListeners();
+        }
+    }
+
+    @EventListener
+    public void onCommentsLoaded(CommentsLoadedEvent event) {
+        List<Comment> loaded = event.comments() != null ? event.comments() : List.of();
+        boolean appended;
+        synchronized (this) {
+            if (!snapshot.containsKey(event.postId())) {
+                return;
+            }
+            List<Comment> current = loaded.stream().map(PostChangeLog::copyOf).toList();
+            List<Comment> previous = commentSnapshot.put(event.postId(), current);
+            appended = previous != null && appendCommentChanges(event.postId(), previous, current);
+        }
+        if (appended) {
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Cambios agregados desde una versión: estado actual de los posts y comentarios creados o modificados
+     * e IDs de los eliminados. Si la versión es de otra época, posterior a la última o ya no está en el
+     * registro se indica que hay que resincronizar.
+     */
+    public synchronized PostDelta deltaSince(DataVersion version) {
+        List<PostChange> pending = epoch.equals(version.epoch()) ? changesSince(version.sequence()) : null;
+        if (pending == null) {
+            return PostDelta.fullResync(getLatestVersion().toString());
+        }
+
+        Map<Long, Post> posts = new LinkedHashMap<>();
+        Set<Long> removedPostIds = new LinkedHashSet<>();
+        Map<Long, Comment> comments = new LinkedHashMap<>();
+        Set<Long> removedCommentIds = new LinkedHashSet<>();
+        for (PostChange change : pending) {
+            switch (change.getType()) {
+                case CREATED, UPDATED -> {
+                    posts.put(change.getPostId(), change.getPost());
+                    removedPostIds.remove(change.getPostId());
+                }
+                case DELETED -> {
+                    posts.remove(change.getPostId());
+                    removedPostIds.add(change.getPostId());
+                    comments.values().removeIf(comment -> change.getPostId().equals(comment.getPostId()));
+                }
+                case COMMENTS_UPDATED -> {
+                    for (Comment comment : change.getComments()) {
+                        comments.put(comment.getId(), comment);
+                        removedCommentIds.remove(comment.getId());
+                    }
+                    for (Long commentId : change.getRemovedCommentIds()) {
+                        comments.remove(commentId);
+                        removedCommentIds.add(commentId);
+                    }
+                }
+            }
+        }
+        return new PostDelta(getLatestVersion().toString(), false, new ArrayList<>(posts.values()), new ArrayList<>(removedPostIds),
+                new ArrayList<>(comments.values()), new ArrayList<>(removedCommentIds));
+    }
+
+    /**
+     * Cambios posteriores a la secuencia indicada (de esta época), en orden, o null si alguno de ellos
+     * ya salió del registro (o la secuencia es posterior a la última) y el cliente debe resincronizar
+     * la lista completa
+     */
+    public synchronized List<PostChange> changesSince(long sequence) {
+        if (sequence > latestSequence) {
+            return null;
+        }
+        if (sequence == latestSequence) {
+            return List.of();
+        }
+        if (changes.isEmpty() || changes.peekFirst().getSequence() > sequence + 1) {
+            return null;
+        }
+        List<PostChange> result = new ArrayList<>();
+        for (PostChange change : changes) {
+            if (change.getSequence() > sequence) {
+                result.add(change);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Secuencia del último cambio registrado (0 si aún no hay ninguno)
+     */
+    public synchronized long getLatestSequence() {
+        return latestSequence;
+    }
+
+    /**
+     * Época de esta instancia: distingue sus secuencias de las de arranques anteriores
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Versión de datos actual: época y secuencia del último cambio registrado
+     */
+    public synchronized DataVersion getLatestVersion() {
+        return new DataVersion(epoch, latestSequence);
+    }
+
+    /**
+     * Registra una acción que se ejecuta tras añadir cambios, fuera del bloqueo del registro
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    private void append(PostChangeType type, long postId, Post post) {
+        append(new PostChange(++latestSequence, type, postId, post, clock.instant()));
+    }
+
+    private void append(PostChange change) {
+        changes.addLast(change);
+        if (changes.size() > capacity) {
+            changes.removeFirst();
+        }
+    }
+
+    private boolean appendCommentChanges(long postId, List<Comment> previous, List<Comment> current) {
+        Map<Long, Comment> previousById = new HashMap<>();
+        for (Comment comment : previous) {
+            previousById.put(comment.getId(), comment);
+        }
+        List<Comment> changed = new ArrayList<>();
+        for (Comment comment : current) {
+            Comment old = previousById.remove(comment.getId());
+            if (old == null || !sameContent(old, comment)) {
+                changed.add(comment);
+            }
+        }
+        if (changed.isEmpty() && previousById.isEmpty()) {
+            return false;
+        }
+        List<Long> removedIds = previousById.keySet().stream().sorted().toList();
+        append(new PostChange(++latestSequence, postId, changed, removedIds, clock.instant()));
+        return true;
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                logger.warn("Error notificando cambios de posts: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Instante de arranque más un sufijo aleatorio para distinguir instancias arrancadas a la vez
+    private static String newEpoch(Clock clock) {
+        return Long.toString(clock.millis(), 36) + String.format("%04x", ThreadLocalRandom.current().nextInt(0x10000));
+    }
+
+    private static Post copyOf(Post post) {
+        return new Post(post.getId(), post.getTitle(), post.getBody(), post.getUserId());
+    }
+
+    private static Comment copyOf(Comment comment) {
+        return new Comment(comment.getId(), comment.getPostId(), comment.getName(), comment.getEmail(),
+                comment.getBody());
+    }
+
+    private static boolean sameContent(Comment a, Comment b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getEmail(), b.getEmail())
+                && Objects.equals(a.getBody(), b.getBody());
+    }
+
+    private static boolean sameContent(Post a, Post b) {
+        return Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getBody(), b.getBody())
+                && Objects.equals(a.getUserId(), b.getUserId());
+    }
+}
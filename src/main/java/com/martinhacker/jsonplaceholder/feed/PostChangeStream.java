@@ -0,0 +1,265 @@
+package com.martinhacker.jsonplaceholder.feed;
+
+import com.martinhacker.jsonplaceholder.exception.ServiceOverloadedException;
+import com.martinhacker.jsonplaceholder.model.PostChange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Difunde por Server-Sent Events los cambios del {@link PostChangeLog}.
+ * Cada suscriptor mantiene la secuencia del último evento encolado y recibe lo que falte desde el registro,
+ * de modo que la reanudación con Last-Event-ID y la entrega en vivo siguen el mismo camino. El ID de cada
+ * evento es la {@link DataVersion} del cambio: un Last-Event-ID de otra época (la instancia se reinició),
+ * posterior al último cambio o mal formado recibe un evento reset en lugar de cambios que no le corresponden.
+ * <p>
+ * Un único hilo decide qué enviar a cada suscriptor y lo deja en su cola acotada sin bloquearse; los envíos
+ * (bloqueantes) se hacen desde un pool aparte, como mucho uno a la vez por suscriptor. Un suscriptor cuya
+ * cola se llena o cuyo envío en curso supera feed.sse.send-timeout se cierra: al reconectar con
+ * Last-Event-ID recupera lo que le falte (o recibe un reset), sin retrasar al resto.
+ */
+@Component
+public class PostChangeStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostChangeStream.class);
+
+    /**
+     * Evento que indica al cliente que los cambios pendientes ya no están en el registro
+     * y debe volver a cargar la lista completa
+     */
+    public static final String RESET_EVENT = "reset";
+
+    private final PostChangeLog changeLog;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final int maxPendingEvents;
+    private final long sendTimeoutNanos;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders;
+    private final Runnable changeListener = this::deliverAll;
+
+    public PostChangeStream(PostChangeLog changeLog,
+                            @Value("${feed.sse.timeout:1800000}") long timeoutMs,
+                            @Value("${feed.sse.heartbeat-interval:15000}") long heartbeatIntervalMs,
+                            @Value("${feed.sse.max-subscribers:1000}") int maxSubscribers,
+                            @Value("${feed.sse.max-pending-events:256}") int maxPendingEvents,
+                            @Value("${feed.sse.send-timeout:10000}") long sendTimeoutMs,
+                            @Value("${feed.sse.send-threads:4}") int sendThreads) {
+        this.changeLog = changeLog;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "post-changes-sse");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger senderCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, sendThreads), runnable -> {
+            Thread thread = new Thread(runnable, "post-changes-sse-send-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        changeLog.addListener(changeListener);
+        if (heartbeatIntervalMs > 0) {
+            dispatcher.scheduleAtFixedRate(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+        if (sendTimeoutMs > 0) {
+            long checkIntervalMs = Math.max(1, sendTimeoutMs / 2);
+            dispatcher.scheduleAtFixedRate(this::closeStalledSubscribers, checkIntervalMs, checkIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Abre una suscripción. Sin lastEventId solo se envían los cambios posteriores a la conexión;
+     * con él se reenvían primero los cambios posteriores a ese evento, o un reset si no es de esta época.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceOverloadedException("Demasiadas suscripciones abiertas al feed de cambios", 5);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = lastEventId != null
+                ? resumeFrom(emitter, lastEventId)
+                : new Subscriber(emitter, maxPendingEvents, changeLog.getLatestSequence(), false);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        dispatcher.execute(() -> deliver(subscriber));
+        logger.debug("Nueva suscripción al feed de cambios (lastEventId={}, activas={})",
+                lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    private Subscriber resumeFrom(SseEmitter emitter, String lastEventId) {
+        try {
+            DataVersion version = DataVersion.parse(lastEventId);
+            if (version.epoch().equals(changeLog.getEpoch())) {
+                return new Subscriber(emitter, maxPendingEvents, version.sequence(), false);
+            }
+        } catch (IllegalArgumentException e) {
+            logger.debug("Last-Event-ID no reconocido: {}", lastEventId);
+        }
+        return new Subscriber(emitter, maxPendingEvents, 0, true);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        changeLog.removeListener(changeListener);
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void deliverAll() {
+        dispatcher.execute(() -> subscribers.forEach(this::deliver));
+    }
+
+    // Solo se ejecuta en el hilo del dispatcher
+    private void deliver(Subscriber subscriber) {
+        if (!subscribers.contains(subscriber)) {
+            return;
+        }
+        List<PostChange> pending = subscriber.resetPending ? null : changeLog.changesSince(subscriber.cursor);
+        if (pending == null) {
+            DataVersion latest = changeLog.getLatestVersion();
+            if (enqueue(subscriber, SseEmitter.event()
+                    .id(latest.toString())
+                    .name(RESET_EVENT)
+                    .data(Map.of("version", latest.toString()), MediaType.APPLICATION_JSON))) {
+                subscriber.cursor = latest.sequence();
+                subscriber.resetPending = false;
+            }
+            return;
+        }
+        for (PostChange change : pending) {
+            if (!enqueue(subscriber, SseEmitter.event()
+                    .id(new DataVersion(changeLog.getEpoch(), change.getSequence()).toString())
+                    .name(change.getType().name().toLowerCase(Locale.ROOT))
+                    .data(change, MediaType.APPLICATION_JSON))) {
+                return;
+            }
+            subscriber.cursor = change.getSequence();
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void closeStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long sendStartedNanos = subscriber.sendStartedNanos;
+            if (sendStartedNanos != 0 && now - sendStartedNanos > sendTimeoutNanos) {
+                closeLaggard(subscriber, "envío bloqueado más de " +
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos) + " ms");
+            }
+        }
+    }
+
+    /**
+     * Encola un evento sin bloquear; si la cola del suscriptor está llena se cierra su conexión
+     */
+    private boolean enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            closeLaggard(subscriber, maxPendingEvents + " eventos pendientes");
+            return false;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+        return true;
+    }
+
+    // Solo un hilo del pool a la vez por suscriptor, garantizado por el flag draining
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                subscriber.emitter.send(event);
+                subscriber.sendStartedNanos = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+        } finally {
+            subscriber.sendStartedNanos = 0;
+            subscriber.draining.set(false);
+        }
+        // Un evento encolado después del último poll pero antes de liberar el flag se quedaría sin enviar
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)
+                && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void closeLaggard(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            logger.warn("Suscripción al feed de cambios cerrada por lentitud ({})", reason);
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception e) {
+        logger.debug("Suscripción al feed de cambios cerrada: {}", e.getMessage());
+        subscriber.queue.clear();
+        if (subscribers.remove(subscriber)) {
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Instante (nanoTime) en que empezó el envío en curso; 0 si no hay ninguno
+        private volatile long sendStartedNanos;
+        // Secuencia del último evento encolado; solo la usa el hilo del dispatcher
+        private long cursor;
+        // El Last-Event-ID no correspondía a esta época: se envía un reset antes de cualquier cambio
+        private boolean resetPending;
+
+        private Subscriber(SseEmitter emitter, int maxPendingEvents, long cursor, boolean resetPending) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(maxPendingEvents);
+            this.cursor = cursor;
+            this.resetPending = resetPending;
+        }
+    }
+}
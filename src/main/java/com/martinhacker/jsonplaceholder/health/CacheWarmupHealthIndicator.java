@@ -0,0 +1,33 @@
+package com.martinhacker.jsonplaceholder.health;
+
+import com.martinhacker.jsonplaceholder.service.CacheWarmupService;
+import com.martinhacker.jsonplaceholder.service.CacheWarmupService.WarmupStatus;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicador de salud del warm-up de caches, incluido en el grupo de readiness.
+ * Permanece DOWN hasta que el warm-up termina o vence su timeout.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+    
+    private final CacheWarmupService cacheWarmupService;
+    
+    public CacheWarmupHealthIndicator(CacheWarmupService cacheWarmupService) {
+        this.cacheWarmupService = cacheWarmupService;
+    }
+    
+    @Override
+    public Health health() {
+        WarmupStatus status = cacheWarmupService.getStatus();
+        Health.Builder builder = status.isFinished() ? Health.up() : Health.down();
+        
+        return builder
+                .withDetail("status", status)
+                .withDetail("durationMs", cacheWarmupService.getDurationMs())
+                .withDetail("entries", cacheWarmupService.getEntryCounts())
+                .build();
+    }
+}
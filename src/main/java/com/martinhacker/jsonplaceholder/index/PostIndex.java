@@ -0,0 +1,237 @@
+package com.martinhacker.jsonplaceholder.index;
+
+import com.martinhacker.jsonplaceholder.collection.LongArrayList;
+import com.martinhacker.jsonplaceholder.collection.LongObjectHashMap;
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.event.CacheEntryEvictedEvent;
+import com.martinhacker.jsonplaceholder.event.CommentsLoadedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsDeletedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índices secundarios en memoria sobre los datos cacheados:
+ * userId → posts, postId → comentarios y email → comentarios.
+ * Se mantienen de forma incremental a partir de las cargas, eliminaciones y expulsiones de cache.
+ * Los índices por ID usan mapas de claves long primitivas para no generar un {@code Long} por entrada.
+ */
+@Component
+public class PostIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostIndex.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongObjectHashMap<Post> postsById = new LongObjectHashMap<>();
+    private final LongObjectHashMap<LongArrayList> postIdsByUser = new LongObjectHashMap<>();
+    private final LongObjectHashMap<List<Comment>> commentsByPost = new LongObjectHashMap<>();
+    private final Map<String, Set<Comment>> commentsByEmail = new HashMap<>();
+
+    // Lista cacheada a partir de la que se construyó el índice de posts
+    private List<Post> indexedPosts;
+
+    @EventListener
+    public void onPostsLoaded(PostsLoadedEvent event) {
+        lock.writeLock().lock();
+        try {
+            postsById.clear();
+            postIdsByUser.clear();
+            for (Post post : event.posts()) {
+                addPost(post);
+            }
+            indexedPosts = event.posts();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Índice de posts reconstruido con {} posts", event.posts().size());
+    }
+
+    @EventListener
+    public void onCommentsLoaded(CommentsLoadedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeComments(event.postId());
+            List<Comment> comments = event.comments() != null ? event.comments() : List.of();
+            commentsByPost.put(event.postId(), comments);
+            for (Comment comment : comments) {
+                if (comment.getEmail() != null) {
+                    commentsByEmail.computeIfAbsent(normalizeEmail(comment.getEmail()), email -> new LinkedHashSet<>())
+                            .add(comment);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Long postId : event.postIds()) {
+                Post post = postsById.remove(postId);
+                if (post != null) {
+                    removeFromUser(post);
+                }
+                removeComments(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta del índice los datos de una entrada expulsada por tamaño o expiración. Se compara
+     * por cache y clave, no por instancia: tras una eliminación la lista cacheada es una copia
+     * sin los posts eliminados, distinta de la indexada, y su expiración también debe vaciar el índice.
+     */
+    @EventListener
+    public void onCacheEntryEvicted(CacheEntryEvictedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (CacheNames.POST_LISTS.equals(event.cacheName())
+                    && CacheNames.ALL_POSTS_KEY.equals(event.key())) {
+                postsById.clear();
+                postIdsByUser.clear();
+                indexedPosts = null;
+            } else if (CacheNames.COMMENTS.equals(event.cacheName()) && event.key() instanceof Long postId) {
+                removeComments(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isPostsLoaded() {
+        lock.readLock().lock();
+        try {
+            return indexedPosts != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posts de un usuario, en orden de ID
+     */
+    public List<Post> findPostsByUser(Long userId) {
+        lock.readLock().lock();
+        try {
+            LongArrayList postIds = userId != null ? postIdsByUser.get(userId) : null;
+            if (postIds == null) {
+                return List.of();
+            }
+            long[] sortedIds = postIds.toArray();
+            Arrays.sort(sortedIds);
+            List<Post> posts = new ArrayList<>(sortedIds.length);
+            for (long postId : sortedIds) {
+                posts.add(postsById.get(postId));
+            }
+            return posts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Comentarios indexados de un post, o null si aún no se han cargado
+     */
+    public List<Comment> findCommentsByPost(Long postId) {
+        lock.readLock().lock();
+        try {
+            return postId != null ? commentsByPost.get(postId) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Comentarios indexados escritos desde un email (sin distinguir mayúsculas)
+     */
+    public List<Comment> findCommentsByEmail(String email) {
+        lock.readLock().lock();
+        try {
+            Set<Comment> comments = commentsByEmail.get(normalizeEmail(email));
+            return comments != null ? new ArrayList<>(comments) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs de los posts indexados cuyos comentarios aún no están en el índice
+     */
+    public List<Long> findPostsWithoutComments() {
+        lock.readLock().lock();
+        try {
+            return Arrays.stream(postsById.keys())
+                    .filter(postId -> !commentsByPost.containsKey(postId))
+                    .sorted()
+                    .boxed()
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addPost(Post post) {
+        postsById.put(post.getId(), post);
+        if (post.getUserId() != null) {
+            postIdsByUser.computeIfAbsent(post.getUserId(), userId -> new LongArrayList()).addIfAbsent(post.getId());
+        }
+    }
+
+    private void removeFromUser(Post post) {
+        if (post.getUserId() == null) {
+            return;
+        }
+        LongArrayList postIds = postIdsByUser.get(post.getUserId());
+        if (postIds != null) {
+            postIds.removeValue(post.getId());
+            if (postIds.isEmpty()) {
+                postIdsByUser.remove(post.getUserId());
+            }
+        }
+    }
+
+    private void removeComments(Long postId) {
+        Collection<Comment> previous = commentsByPost.remove(postId);
+        if (previous == null) {
+            return;
+        }
+        for (Comment comment : previous) {
+            if (comment.getEmail() == null) {
+                continue;
+            }
+            String email = normalizeEmail(comment.getEmail());
+            Set<Comment> byEmail = commentsByEmail.get(email);
+            if (byEmail != null) {
+                byEmail.remove(comment);
+                if (byEmail.isEmpty()) {
+                    commentsByEmail.remove(email);
+                }
+            }
+        }
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,233 @@
+package com.martinhacker.jsonplaceholder.index;
+
+import com.martinhacker.jsonplaceholder.collection.LongObjectHashMap;
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.event.CacheEntryEvictedEvent;
+import com.martinhacker.jsonplaceholder.event.CommentsLoadedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsDeletedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.PostSearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre el título y el cuerpo de los posts y el cuerpo de sus comentarios.
+ * Se mantiene de forma incremental con los mismos eventos que {@link PostIndex}.
+ * La relevancia es TF-IDF con el título ponderado por encima del cuerpo y de los comentarios.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    static final float TITLE_WEIGHT = 3.0f;
+    static final float BODY_WEIGHT = 1.0f;
+    static final float COMMENT_WEIGHT = 0.5f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // término → (postId → peso); ordenado para resolver prefijos con un rango
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    private final LongObjectHashMap<Post> postsById = new LongObjectHashMap<>();
+    private final LongObjectHashMap<Map<String, Float>> postTerms = new LongObjectHashMap<>();
+    private final LongObjectHashMap<Map<String, Float>> commentTerms = new LongObjectHashMap<>();
+    private final LongObjectHashMap<List<Comment>> indexedComments = new LongObjectHashMap<>();
+
+    private List<Post> indexedPosts;
+
+    @EventListener
+    public void onPostsLoaded(PostsLoadedEvent event) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postsById.clear();
+            postTerms.clear();
+            for (Post post : event.posts()) {
+                postsById.put(post.getId(), post);
+                postTerms.put(post.getId(), postTermWeights(post));
+                addPostings(post.getId());
+            }
+            indexedPosts = event.posts();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Índice de búsqueda reconstruido con {} posts", event.posts().size());
+    }
+
+    @EventListener
+    public void onCommentsLoaded(CommentsLoadedEvent event) {
+        Map<String, Float> weights = new HashMap<>();
+        if (event.comments() != null) {
+            for (Comment comment : event.comments()) {
+                addTerms(weights, comment.getBody(), COMMENT_WEIGHT);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removePostings(event.postId());
+            commentTerms.put(event.postId(), weights);
+            indexedComments.put(event.postId(), event.comments() != null ? event.comments() : List.of());
+            addPostings(event.postId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onPostsDeleted(PostsDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Long postId : event.postIds()) {
+                removePostings(postId);
+                postsById.remove(postId);
+                postTerms.remove(postId);
+                commentTerms.remove(postId);
+                indexedComments.remove(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Descarta los datos de una entrada expulsada, identificada por cache y clave
+     * (la lista cacheada tras una eliminación ya no es la instancia indexada)
+     */
+    @EventListener
+    public void onCacheEntryEvicted(CacheEntryEvictedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (CacheNames.POST_LISTS.equals(event.cacheName())
+                    && CacheNames.ALL_POSTS_KEY.equals(event.key())) {
+                postings.clear();
+                postsById.clear();
+                postTerms.clear();
+                indexedPosts = null;
+            } else if (CacheNames.COMMENTS.equals(event.cacheName()) && event.key() instanceof Long postId
+                    && indexedComments.get(postId) != null) {
+                removePostings(postId);
+                commentTerms.remove(postId);
+                indexedComments.remove(postId);
+                addPostings(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isPostsLoaded() {
+        lock.readLock().lock();
+        try {
+            return indexedPosts != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los posts que contienen alguno de los términos de la consulta, ordenados por relevancia.
+     * Un término terminado en '*' se interpreta como prefijo.
+     */
+    public List<PostSearchResult> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            int documents = postsById.size();
+
+            for (String rawTerm : query.trim().split("\\s+")) {
+                boolean prefix = rawTerm.endsWith("*");
+                for (String term : TextTokenizer.tokenize(rawTerm)) {
+                    // Con prefijos cada post puntúa por su mejor expansión para no premiar
+                    // a los documentos que contienen muchas variantes del mismo término
+                    Map<Long, Double> termScores = new HashMap<>();
+                    for (Map.Entry<String, Map<Long, Float>> entry : matchingPostings(term, prefix).entrySet()) {
+                        double idf = Math.log(1.0 + (double) documents / entry.getValue().size());
+                        entry.getValue().forEach((postId, weight) ->
+                                termScores.merge(postId, weight * idf, Math::max));
+                    }
+                    termScores.forEach((postId, score) -> scores.merge(postId, score, Double::sum));
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> new PostSearchResult(postsById.get(entry.getKey()),
+                            Math.round(entry.getValue() * 100.0) / 100.0))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Map<Long, Float>> matchingPostings(String term, boolean prefix) {
+        if (prefix) {
+            return postings.subMap(term, true, term + Character.MAX_VALUE, false);
+        }
+        Map<Long, Float> exact = postings.get(term);
+        return exact != null ? Map.of(term, exact) : Map.of();
+    }
+
+    private void addPostings(Long postId) {
+        // Los comentarios pueden llegar antes que el post; solo se indexan posts conocidos
+        if (!postsById.containsKey(postId)) {
+            return;
+        }
+        documentTerms(postId).forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(postId, weight));
+    }
+
+    private void removePostings(Long postId) {
+        for (String term : documentTerms(postId).keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(postId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private Map<String, Float> documentTerms(Long postId) {
+        Map<String, Float> terms = new HashMap<>();
+        Map<String, Float> postWeights = postTerms.get(postId);
+        if (postWeights != null) {
+            terms.putAll(postWeights);
+        }
+        Map<String, Float> commentWeights = commentTerms.get(postId);
+        if (commentWeights != null) {
+            commentWeights.forEach((term, weight) -> terms.merge(term, weight, Float::sum));
+        }
+        return terms;
+    }
+
+    private static Map<String, Float> postTermWeights(Post post) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, post.getTitle(), TITLE_WEIGHT);
+        addTerms(weights, post.getBody(), BODY_WEIGHT);
+        return weights;
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight) {
+        for (String token : TextTokenizer.tokenize(text)) {
+            weights.merge(token, weight, Float::sum);
+        }
+    }
+}
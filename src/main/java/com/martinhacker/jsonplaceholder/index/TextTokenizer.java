@@ -0,0 +1,42 @@
+package com.martinhacker.jsonplaceholder.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tokenización para el índice de búsqueda: minúsculas, sin acentos y separando
+ * por cualquier carácter que no sea letra o dígito.
+ */
+final class TextTokenizer {
+
+    static final int MIN_TOKEN_LENGTH = 2;
+
+    private TextTokenizer() {}
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean tokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(normalized.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
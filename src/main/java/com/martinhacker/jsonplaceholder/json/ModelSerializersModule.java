@@ -0,0 +1,194 @@
+package com.martinhacker.jsonplaceholder.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.User;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serializadores escritos a mano para los modelos de la API externa. Escriben directamente sobre
+ * el {@link JsonGenerator} con los nombres de campo pre-codificados ({@link SerializedString}),
+ * sin la introspección ni las llamadas reflexivas del serializador de beans.
+ * La salida es idéntica a la del serializador por defecto: mismo orden de campos e incluye los null.
+ */
+public class ModelSerializersModule extends SimpleModule {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString BODY = new SerializedString("body");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString USER = new SerializedString("user");
+    private static final SerializableString COMMENTS = new SerializedString("comments");
+    private static final SerializableString POST_ID = new SerializedString("postId");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString USERNAME = new SerializedString("username");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString ADDRESS = new SerializedString("address");
+    private static final SerializableString PHONE = new SerializedString("phone");
+    private static final SerializableString WEBSITE = new SerializedString("website");
+    private static final SerializableString COMPANY = new SerializedString("company");
+    private static final SerializableString STREET = new SerializedString("street");
+    private static final SerializableString SUITE = new SerializedString("suite");
+    private static final SerializableString CITY = new SerializedString("city");
+    private static final SerializableString ZIPCODE = new SerializedString("zipcode");
+    private static final SerializableString GEO = new SerializedString("geo");
+    private static final SerializableString LAT = new SerializedString("lat");
+    private static final SerializableString LNG = new SerializedString("lng");
+    private static final SerializableString CATCH_PHRASE = new SerializedString("catchPhrase");
+    private static final SerializableString BS = new SerializedString("bs");
+
+    public ModelSerializersModule() {
+        super("ModelSerializersModule");
+        addSerializer(Post.class, new PostSerializer());
+        addSerializer(User.class, new UserSerializer());
+        addSerializer(Comment.class, new CommentSerializer());
+    }
+
+    static class PostSerializer extends StdSerializer<Post> {
+
+        PostSerializer() {
+            super(Post.class);
+        }
+
+        @Override
+        public void serialize(Post post, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(post);
+            writeNumber(gen, ID, post.getId());
+            writeString(gen, TITLE, post.getTitle());
+            writeString(gen, BODY, post.getBody());
+            writeNumber(gen, USER_ID, post.getUserId());
+
+            gen.writeFieldName(USER);
+            if (post.getUser() == null) {
+                gen.writeNull();
+            } else {
+                writeUser(gen, post.getUser());
+            }
+
+            gen.writeFieldName(COMMENTS);
+            List<Comment> comments = post.getComments();
+            if (comments == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray(comments, comments.size());
+                for (Comment comment : comments) {
+                    if (comment == null) {
+                        gen.writeNull();
+                    } else {
+                        writeComment(gen, comment);
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static class UserSerializer extends StdSerializer<User> {
+
+        UserSerializer() {
+            super(User.class);
+        }
+
+        @Override
+        public void serialize(User user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeUser(gen, user);
+        }
+    }
+
+    static class CommentSerializer extends StdSerializer<Comment> {
+
+        CommentSerializer() {
+            super(Comment.class);
+        }
+
+        @Override
+        public void serialize(Comment comment, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeComment(gen, comment);
+        }
+    }
+
+    private static void writeUser(JsonGenerator gen, User user) throws IOException {
+        gen.writeStartObject(user);
+        writeNumber(gen, ID, user.getId());
+        writeString(gen, NAME, user.getName());
+        writeString(gen, USERNAME, user.getUsername());
+        writeString(gen, EMAIL, user.getEmail());
+
+        gen.writeFieldName(ADDRESS);
+        User.Address address = user.getAddress();
+        if (address == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject(address);
+            writeString(gen, STREET, address.getStreet());
+            writeString(gen, SUITE, address.getSuite());
+            writeString(gen, CITY, address.getCity());
+            writeString(gen, ZIPCODE, address.getZipcode());
+            gen.writeFieldName(GEO);
+            User.Address.Geo geo = address.getGeo();
+            if (geo == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartObject(geo);
+                writeString(gen, LAT, geo.getLat());
+                writeString(gen, LNG, geo.getLng());
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+
+        writeString(gen, PHONE, user.getPhone());
+        writeString(gen, WEBSITE, user.getWebsite());
+
+        gen.writeFieldName(COMPANY);
+        User.Company company = user.getCompany();
+        if (company == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject(company);
+            writeString(gen, NAME, company.getName());
+            writeString(gen, CATCH_PHRASE, company.getCatchPhrase());
+            writeString(gen, BS, company.getBs());
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeComment(JsonGenerator gen, Comment comment) throws IOException {
+        gen.writeStartObject(comment);
+        // Mismo orden que el serializador de beans, que deja al final postId (con @JsonProperty explícito)
+        writeNumber(gen, ID, comment.getId());
+        writeString(gen, NAME, comment.getName());
+        writeString(gen, EMAIL, comment.getEmail());
+        writeString(gen, BODY, comment.getBody());
+        writeNumber(gen, POST_ID, comment.getPostId());
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString field, Long value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString field, String value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.martinhacker.jsonplaceholder.logging;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Muestreo de mensajes DEBUG/TRACE de alta frecuencia: cada punto de log declara su propia instancia
+ * y solo se emite uno de cada {@code rate} mensajes. El nivel se comprueba antes que el contador, así
+ * que con el nivel deshabilitado no se cuenta ni se formatea nada; las sobrecargas de uno y dos
+ * argumentos evitan además el array de varargs.
+ */
+public final class SampledLogger {
+    
+    private final Logger logger;
+    private final long rate;
+    private final AtomicLong counter = new AtomicLong();
+    
+    private SampledLogger(Logger logger, long rate) {
+        this.logger = logger;
+        this.rate = Math.max(1, rate);
+    }
+    
+    /**
+     * Emite uno de cada {@code rate} mensajes de este punto de log
+     */
+    public static SampledLogger oneIn(long rate, Logger logger) {
+        return new SampledLogger(logger, rate);
+    }
+    
+    public void debug(String format, Object arg) {
+        if (logger.isDebugEnabled() && sample()) {
+            logger.debug(format, arg);
+        }
+    }
+    
+    public void debug(String format, Object arg1, Object arg2) {
+        if (logger.isDebugEnabled() && sample()) {
+            logger.debug(format, arg1, arg2);
+        }
+    }
+    
+    public void trace(String format, Object arg) {
+        if (logger.isTraceEnabled() && sample()) {
+            logger.trace(format, arg);
+        }
+    }
+    
+    public void trace(String format, Object arg1, Object arg2) {
+        if (logger.isTraceEnabled() && sample()) {
+            logger.trace(format, arg1, arg2);
+        }
+    }
+    
+    private boolean sample() {
+        return rate == 1 || counter.getAndIncrement() % rate == 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Petición de eliminación masiva de posts")
+public class BulkDeleteRequest {
+    
+    @Schema(description = "IDs de los posts a eliminar", example = "[1, 2, 3]")
+    @NotEmpty(message = "Debe indicar al menos un ID de post")
+    @Size(max = 1000, message = "No se pueden eliminar más de 1000 posts por petición")
+    private List<@NotNull @Positive(message = "Los IDs de post deben ser números positivos") Long> ids;
+    
+    // Constructores
+    public BulkDeleteRequest() {}
+    
+    public BulkDeleteRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    // Getters y Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    @Override
+    public String toString() {
+        return "BulkDeleteRequest{" +
+                "ids=" + ids +
+                '}';
+    }
+}
@@ -0,0 +1,10 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado de la eliminación de un post dentro de una operación masiva")
+public enum DeleteStatus {
+    DELETED,
+    NOT_FOUND,
+    FAILED
+}
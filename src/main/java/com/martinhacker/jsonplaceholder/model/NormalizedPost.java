@@ -0,0 +1,86 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Post de la representación normalizada: referencia a su autor y comentarios por ID")
+public class NormalizedPost {
+    
+    @Schema(description = "ID único del post", example = "1")
+    private Long id;
+    
+    @Schema(description = "Título del post", example = "Título del post")
+    private String title;
+    
+    @Schema(description = "Contenido del post", example = "Contenido del post")
+    private String body;
+    
+    @Schema(description = "ID del usuario autor (clave en el diccionario users)", example = "1")
+    private Long userId;
+    
+    @Schema(description = "IDs de los comentarios del post (claves en el diccionario comments)", example = "[1, 2, 3]")
+    private List<Long> commentIds;
+    
+    // Constructores
+    public NormalizedPost() {}
+    
+    public NormalizedPost(Long id, String title, String body, Long userId, List<Long> commentIds) {
+        this.id = id;
+        this.title = title;
+        this.body = body;
+        this.userId = userId;
+        this.commentIds = commentIds;
+    }
+    
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    public void setBody(String body) {
+        this.body = body;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public List<Long> getCommentIds() {
+        return commentIds;
+    }
+    
+    public void setCommentIds(List<Long> commentIds) {
+        this.commentIds = commentIds;
+    }
+    
+    @Override
+    public String toString() {
+        return "NormalizedPost{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", userId=" + userId +
+                ", commentIds=" + commentIds +
+                '}';
+    }
+}
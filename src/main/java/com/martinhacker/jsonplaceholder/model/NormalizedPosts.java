@@ -0,0 +1,95 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Representación normalizada de los posts: usuarios y comentarios aparecen una sola vez, " +
+                      "en diccionarios indexados por ID")
+public class NormalizedPosts {
+    
+    @Schema(description = "Posts que referencian a usuarios y comentarios por ID")
+    private List<NormalizedPost> posts;
+    
+    @Schema(description = "Usuarios indexados por ID")
+    private Map<Long, User> users;
+    
+    @Schema(description = "Comentarios indexados por ID")
+    private Map<Long, Comment> comments;
+    
+    // Constructores
+    public NormalizedPosts() {}
+    
+    public NormalizedPosts(List<NormalizedPost> posts, Map<Long, User> users, Map<Long, Comment> comments) {
+        this.posts = posts;
+        this.users = users;
+        this.comments = comments;
+    }
+    
+    /**
+     * Construye la representación normalizada a partir de posts completos, deduplicando usuarios
+     * y comentarios en el orden en que aparecen
+     */
+    public static NormalizedPosts from(List<Post> fullPosts) {
+        List<NormalizedPost> posts = new ArrayList<>(fullPosts.size());
+        Map<Long, User> users = new LinkedHashMap<>();
+        Map<Long, Comment> comments = new LinkedHashMap<>();
+        
+        for (Post post : fullPosts) {
+            if (post.getUser() != null && post.getUser().getId() != null) {
+                users.putIfAbsent(post.getUser().getId(), post.getUser());
+            }
+            
+            List<Long> commentIds = new ArrayList<>();
+            if (post.getComments() != null) {
+                for (Comment comment : post.getComments()) {
+                    if (comment.getId() != null) {
+                        comments.putIfAbsent(comment.getId(), comment);
+                        commentIds.add(comment.getId());
+                    }
+                }
+            }
+            
+            posts.add(new NormalizedPost(post.getId(), post.getTitle(), post.getBody(), post.getUserId(), commentIds));
+        }
+        
+        return new NormalizedPosts(posts, users, comments);
+    }
+    
+    // Getters y Setters
+    public List<NormalizedPost> getPosts() {
+        return posts;
+    }
+    
+    public void setPosts(List<NormalizedPost> posts) {
+        this.posts = posts;
+    }
+    
+    public Map<Long, User> getUsers() {
+        return users;
+    }
+    
+    public void setUsers(Map<Long, User> users) {
+        this.users = users;
+    }
+    
+    public Map<Long, Comment> getComments() {
+        return comments;
+    }
+    
+    public void setComments(Map<Long, Comment> comments) {
+        this.comments = comments;
+    }
+    
+    @Override
+    public String toString() {
+        return "NormalizedPosts{" +
+                "posts=" + (posts != null ? posts.size() : 0) +
+                ", users=" + (users != null ? users.size() : 0) +
+                ", comments=" + (comments != null ? comments.size() : 0) +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Petición de consulta de varios posts por ID")
+public class PostBatchRequest {
+    
+    @Schema(description = "IDs de los posts a obtener", example = "[1, 2, 3]")
+    @NotEmpty(message = "Debe indicar al menos un ID de post")
+    @Size(max = 1000, message = "No se pueden consultar más de 1000 posts por petición")
+    private List<@NotNull @Positive(message = "Los IDs de post deben ser números positivos") Long> ids;
+    
+    @Schema(description = "Incluir usuario autor y comentarios de cada post", example = "false")
+    private boolean details;
+    
+    // Constructores
+    public PostBatchRequest() {}
+    
+    public PostBatchRequest(List<Long> ids, boolean details) {
+        this.ids = ids;
+        this.details = details;
+    }
+    
+    // Getters y Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public boolean isDetails() {
+        return details;
+    }
+    
+    public void setDetails(boolean details) {
+        this.details = details;
+    }
+    
+    @Override
+    public String toString() {
+        return "PostBatchRequest{" +
+                "ids=" + ids +
+                ", details=" + details +
+                '}';
+    }
+}
@@ -0,0 +1,61 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado de una consulta de varios posts por ID")
+public class PostBatchResult {
+    
+    @Schema(description = "Posts encontrados, en el orden de los IDs solicitados")
+    private List<Post> posts;
+    
+    @Schema(description = "IDs que no existen o fueron eliminados", example = "[999]")
+    private List<Long> missingIds;
+    
+    @Schema(description = "IDs que no se pudieron obtener por errores de la API externa", example = "[]")
+    private List<Long> failedIds;
+    
+    // Constructores
+    public PostBatchResult() {}
+    
+    public PostBatchResult(List<Post> posts, List<Long> missingIds, List<Long> failedIds) {
+        this.posts = posts;
+        this.missingIds = missingIds;
+        this.failedIds = failedIds;
+    }
+    
+    // Getters y Setters
+    public List<Post> getPosts() {
+        return posts;
+    }
+    
+    public void setPosts(List<Post> posts) {
+        this.posts = posts;
+    }
+    
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+    
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+    
+    public List<Long> getFailedIds() {
+        return failedIds;
+    }
+    
+    public void setFailedIds(List<Long> failedIds) {
+        this.failedIds = failedIds;
+    }
+    
+    @Override
+    public String toString() {
+        return "PostBatchResult{" +
+                "posts=" + (posts != null ? posts.size() : 0) +
+                ", missingIds=" + missingIds +
+                ", failedIds=" + failedIds +
+                '}';
+    }
+}
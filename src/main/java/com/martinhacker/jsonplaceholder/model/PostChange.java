@@ -0,0 +1,115 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Cambio sobre un post publicado en el feed de cambios")
+public class PostChange {
+    
+    @Schema(description = "Número de secuencia del cambio (el ID del evento SSE es <época>-<secuencia>)", example = "42")
+    private long sequence;
+    
+    @Schema(description = "Tipo de cambio", example = "UPDATED")
+    private PostChangeType type;
+    
+    @Schema(description = "ID del post afectado", example = "1")
+    private Long postId;
+    
+    @Schema(description = "Estado del post tras el cambio (null en eliminaciones y cambios de comentarios)")
+    private Post post;
+    
+    @Schema(description = "Comentarios añadidos o modificados (solo en COMMENTS_UPDATED)")
+    private List<Comment> comments;
+    
+    @Schema(description = "IDs de los comentarios eliminados (solo en COMMENTS_UPDATED)", example = "[3]")
+    private List<Long> removedCommentIds;
+    
+    @Schema(description = "Instante en que se detectó el cambio", example = "2024-01-01T12:00:00Z")
+    private Instant occurredAt;
+    
+    // Constructores
+    public PostChange() {}
+    
+    public PostChange(long sequence, PostChangeType type, Long postId, Post post, Instant occurredAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.postId = postId;
+        this.post = post;
+        this.occurredAt = occurredAt;
+    }
+    
+    public PostChange(long sequence, Long postId, List<Comment> comments, List<Long> removedCommentIds,
+                      Instant occurredAt) {
+        this(sequence, PostChangeType.COMMENTS_UPDATED, postId, null, occurredAt);
+        this.comments = comments;
+        this.removedCommentIds = removedCommentIds;
+    }
+    
+    // Getters y Setters
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+    
+    public PostChangeType getType() {
+        return type;
+    }
+    
+    public void setType(PostChangeType type) {
+        this.type = type;
+    }
+    
+    public Long getPostId() {
+        return postId;
+    }
+    
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+    
+    public Post getPost() {
+        return post;
+    }
+    
+    public void setPost(Post post) {
+        this.post = post;
+    }
+    
+    public List<Comment> getComments() {
+        return comments;
+    }
+    
+    public void setComments(List<Comment> comments) {
+        this.comments = comments;
+    }
+    
+    public List<Long> getRemovedCommentIds() {
+        return removedCommentIds;
+    }
+    
+    public void setRemovedCommentIds(List<Long> removedCommentIds) {
+        this.removedCommentIds = removedCommentIds;
+    }
+    
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "PostChange{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", postId=" + postId +
+                '}';
+    }
+}
@@ -0,0 +1,11 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Tipo de cambio observado sobre un post")
+public enum PostChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    COMMENTS_UPDATED
+}
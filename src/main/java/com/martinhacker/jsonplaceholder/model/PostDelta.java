@@ -0,0 +1,108 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Cambios de posts y comentarios desde una versión de datos")
+public class PostDelta {
+    
+    @Schema(description = "Versión de datos hasta la que llegan los cambios (usar como since en la siguiente sincronización)", example = "lq3k2a1f9c-57")
+    private String version;
+    
+    @Schema(description = "true si la versión solicitada ya no está disponible y hay que recargar la lista completa", example = "false")
+    private boolean fullResync;
+    
+    @Schema(description = "Posts creados o modificados, en su estado actual")
+    private List<Post> posts;
+    
+    @Schema(description = "IDs de los posts eliminados (sus comentarios también lo están)", example = "[7]")
+    private List<Long> removedPostIds;
+    
+    @Schema(description = "Comentarios creados o modificados, en su estado actual")
+    private List<Comment> comments;
+    
+    @Schema(description = "IDs de los comentarios eliminados", example = "[31]")
+    private List<Long> removedCommentIds;
+    
+    // Constructores
+    public PostDelta() {}
+    
+    public PostDelta(String version, boolean fullResync, List<Post> posts, List<Long> removedPostIds,
+                     List<Comment> comments, List<Long> removedCommentIds) {
+        this.version = version;
+        this.fullResync = fullResync;
+        this.posts = posts;
+        this.removedPostIds = removedPostIds;
+        this.comments = comments;
+        this.removedCommentIds = removedCommentIds;
+    }
+    
+    /**
+     * Respuesta que indica al cliente que debe recargar la lista completa
+     */
+    public static PostDelta fullResync(String version) {
+        return new PostDelta(version, true, List.of(), List.of(), List.of(), List.of());
+    }
+    
+    // Getters y Setters
+    public String getVersion() {
+        return version;
+    }
+    
+    public void setVersion(String version) {
+        this.version = version;
+    }
+    
+    public boolean isFullResync() {
+        return fullResync;
+    }
+    
+    public void setFullResync(boolean fullResync) {
+        this.fullResync = fullResync;
+    }
+    
+    public List<Post> getPosts() {
+        return posts;
+    }
+    
+    public void setPosts(List<Post> posts) {
+        this.posts = posts;
+    }
+    
+    public List<Long> getRemovedPostIds() {
+        return removedPostIds;
+    }
+    
+    public void setRemovedPostIds(List<Long> removedPostIds) {
+        this.removedPostIds = removedPostIds;
+    }
+    
+    public List<Comment> getComments() {
+        return comments;
+    }
+    
+    public void setComments(List<Comment> comments) {
+        this.comments = comments;
+    }
+    
+    public List<Long> getRemovedCommentIds() {
+        return removedCommentIds;
+    }
+    
+    public void setRemovedCommentIds(List<Long> removedCommentIds) {
+        this.removedCommentIds = removedCommentIds;
+    }
+    
+    @Override
+    public String toString() {
+        return "PostDelta{" +
+                "version=" + version +
+                ", fullResync=" + fullResync +
+                ", posts=" + (posts != null ? posts.size() : 0) +
+                ", removedPostIds=" + removedPostIds +
+                ", comments=" + (comments != null ? comments.size() : 0) +
+                ", removedCommentIds=" + removedCommentIds +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.martinhacker.jsonplaceholder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Post encontrado por la búsqueda de texto con su puntuación")
+public class PostSearchResult {
+    
+    @Schema(description = "Post encontrado")
+    private Post post;
+    
+    @Schema(description = "Puntuación de relevancia (mayor es más relevante)", example = "4.73")
+    private double score;
+    
+    // Constructores
+    public PostSearchResult() {}
+    
+    public PostSearchResult(Post post, double score) {
+        this.post = post;
+        this.score = score;
+    }
+    
+    // Getters y Setters
+    public Post getPost() {
+        return post;
+    }
+    
+    public void setPost(Post post) {
+        this.post = post;
+    }
+    
+    public double getScore() {
+        return score;
+    }
+    
+    public void setScore(double score) {
+        this.score = score;
+    }
+    
+    @Override
+    public String toString() {
+        return "PostSearchResult{" +
+                "postId=" + (post != null ? post.getId() : null) +
+                ", score=" + score +
+                '}';
+    }
+}
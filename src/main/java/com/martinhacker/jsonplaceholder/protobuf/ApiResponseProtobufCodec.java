@@ -0,0 +1,463 @@
+package com.martinhacker.jsonplaceholder.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificación Protobuf de {@link ApiResponse} con datos {@link Post}, lista de posts, texto o mapa de textos
+ * (detalle de errores de validación), según el esquema
+ * src/main/proto/jsonplaceholder.proto. Se escribe directamente con {@link CodedOutputStream} sobre los
+ * modelos existentes, sin clases generadas ni copia intermedia: los tamaños de los mensajes anidados se
+ * calculan antes de escribirlos. Los campos null no se escriben y al decodificar vuelven como null;
+ * una lista de comentarios vacía se decodifica como null.
+ */
+public final class ApiResponseProtobufCodec {
+
+    private ApiResponseProtobufCodec() {}
+
+    /**
+     * Indica si los datos de la respuesta tienen representación en el esquema
+     */
+    public static boolean supportsData(Object data) {
+        if (data == null || data instanceof Post) {
+            return true;
+        }
+        if (data instanceof List<?> list) {
+            return list.stream().allMatch(Post.class::isInstance);
+        }
+        if (data instanceof String) {
+            return true;
+        }
+        if (data instanceof Map<?, ?> map) {
+            return map.entrySet().stream().allMatch(entry -> entry.getKey() instanceof String
+                    && (entry.getValue() == null || entry.getValue() instanceof String));
+        }
+        return false;
+    }
+
+    public static void encode(ApiResponse<?> response, OutputStream outputStream) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputStream);
+        writeApiResponse(out, response);
+        out.flush();
+    }
+
+    public static ApiResponse<Object> decode(InputStream inputStream) throws IOException {
+        return readApiResponse(CodedInputStream.newInstance(inputStream));
+    }
+
+    // --- ApiResponse ---
+
+    private static void writeApiResponse(CodedOutputStream out, ApiResponse<?> response) throws IOException {
+        if (response.isSuccess()) {
+            out.writeBool(1, true);
+        }
+        writeString(out, 2, response.getMessage());
+        if (response.getStatusCode() != 0) {
+            out.writeInt32(3, response.getStatusCode());
+        }
+
+        Object data = response.getData();
+        if (data instanceof Post post) {
+            writeMessageHeader(out, 4, postSize(post));
+            writePost(out, post);
+        } else if (data instanceof List<?> posts) {
+            writeMessageHeader(out, 5, postListSize(posts));
+            for (Object post : posts) {
+                writeMessageHeader(out, 1, postSize((Post) post));
+                writePost(out, (Post) post);
+            }
+        } else if (data instanceof String text) {
+            out.writeString(6, text);
+        } else if (data instanceof Map<?, ?> entries) {
+            writeMessageHeader(out, 7, stringMapSize(entries));
+            for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                writeMessageHeader(out, 1, stringEntrySize(entry));
+                writeString(out, 1, (String) entry.getKey());
+                writeString(out, 2, (String) entry.getValue());
+            }
+        } else if (data != null) {
+            throw new IllegalArgumentException("Tipo de datos sin representación Protobuf: " + data.getClass().getName());
+        }
+    }
+
+    private static ApiResponse<Object> readApiResponse(CodedInputStream in) throws IOException {
+        ApiResponse<Object> response = new ApiResponse<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> response.setSuccess(in.readBool());
+                case 2 -> response.setMessage(in.readStringRequireUtf8());
+                case 3 -> response.setStatusCode(in.readInt32());
+                case 4 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    response.setData(readPost(in));
+                    in.popLimit(limit);
+                }
+                case 5 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    response.setData(readPostList(in));
+                    in.popLimit(limit);
+                }
+                case 6 -> response.setData(in.readStringRequireUtf8());
+                case 7 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    response.setData(readStringMap(in));
+                    in.popLimit(limit);
+                }
+                default -> in.skipField(tag);
+            }
+        }
+        return response;
+    }
+
+    private static int postListSize(List<?> posts) {
+        int size = 0;
+        for (Object post : posts) {
+            size += messageSize(1, postSize((Post) post));
+        }
+        return size;
+    }
+
+    private static List<Post> readPostList(CodedInputStream in) throws IOException {
+        List<Post> posts = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == 1) {
+                int limit = in.pushLimit(in.readRawVarint32());
+                posts.add(readPost(in));
+                in.popLimit(limit);
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return posts;
+    }
+
+    // --- StringMap ---
+
+    private static int stringMapSize(Map<?, ?> entries) {
+        int size = 0;
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+            size += messageSize(1, stringEntrySize(entry));
+        }
+        return size;
+    }
+
+    private static int stringEntrySize(Map.Entry<?, ?> entry) {
+        return stringSize(1, (String) entry.getKey()) + stringSize(2, (String) entry.getValue());
+    }
+
+    private static Map<String, String> readStringMap(CodedInputStream in) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == 1) {
+                int limit = in.pushLimit(in.readRawVarint32());
+                String key = "";
+                String value = "";
+                int entryTag;
+                while ((entryTag = in.readTag()) != 0) {
+                    switch (WireFormat.getTagFieldNumber(entryTag)) {
+                        case 1 -> key = in.readStringRequireUtf8();
+                        case 2 -> value = in.readStringRequireUtf8();
+                        default -> in.skipField(entryTag);
+                    }
+                }
+                entries.put(key, value);
+                in.popLimit(limit);
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return entries;
+    }
+
+    // --- Post ---
+
+    private static int postSize(Post post) {
+        int size = int64Size(1, post.getId())
+                + stringSize(2, post.getTitle())
+                + stringSize(3, post.getBody())
+                + int64Size(4, post.getUserId());
+        if (post.getUser() != null) {
+            size += messageSize(5, userSize(post.getUser()));
+        }
+        if (post.getComments() != null) {
+            for (Comment comment : post.getComments()) {
+                size += messageSize(6, commentSize(comment));
+            }
+        }
+        return size;
+    }
+
+    private static void writePost(CodedOutputStream out, Post post) throws IOException {
+        writeInt64(out, 1, post.getId());
+        writeString(out, 2, post.getTitle());
+        writeString(out, 3, post.getBody());
+        writeInt64(out, 4, post.getUserId());
+        if (post.getUser() != null) {
+            writeMessageHeader(out, 5, userSize(post.getUser()));
+            writeUser(out, post.getUser());
+        }
+        if (post.getComments() != null) {
+            for (Comment comment : post.getComments()) {
+                writeMessageHeader(out, 6, commentSize(comment));
+                writeComment(out, comment);
+            }
+        }
+    }
+
+    private static Post readPost(CodedInputStream in) throws IOException {
+        Post post = new Post();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> post.setId(in.readInt64());
+                case 2 -> post.setTitle(in.readStringRequireUtf8());
+                case 3 -> post.setBody(in.readStringRequireUtf8());
+                case 4 -> post.setUserId(in.readInt64());
+                case 5 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    post.setUser(readUser(in));
+                    in.popLimit(limit);
+                }
+                case 6 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    if (post.getComments() == null) {
+                        post.setComments(new ArrayList<>());
+                    }
+                    post.getComments().add(readComment(in));
+                    in.popLimit(limit);
+                }
+                default -> in.skipField(tag);
+            }
+        }
+        return post;
+    }
+
+    // --- User ---
+
+    private static int userSize(User user) {
+        int size = int64Size(1, user.getId())
+                + stringSize(2, user.getName())
+                + stringSize(3, user.getUsername())
+                + stringSize(4, user.getEmail())
+                + stringSize(6, user.getPhone())
+                + stringSize(7, user.getWebsite());
+        if (user.getAddress() != null) {
+            size += messageSize(5, addressSize(user.getAddress()));
+        }
+        if (user.getCompany() != null) {
+            size += messageSize(8, companySize(user.getCompany()));
+        }
+        return size;
+    }
+
+    private static void writeUser(CodedOutputStream out, User user) throws IOException {
+        writeInt64(out, 1, user.getId());
+        writeString(out, 2, user.getName());
+        writeString(out, 3, user.getUsername());
+        writeString(out, 4, user.getEmail());
+        if (user.getAddress() != null) {
+            writeMessageHeader(out, 5, addressSize(user.getAddress()));
+            writeAddress(out, user.getAddress());
+        }
+        writeString(out, 6, user.getPhone());
+        writeString(out, 7, user.getWebsite());
+        if (user.getCompany() != null) {
+            writeMessageHeader(out, 8, companySize(user.getCompany()));
+            writeCompany(out, user.getCompany());
+        }
+    }
+
+    private static User readUser(CodedInputStream in) throws IOException {
+        User user = new User();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> user.setId(in.readInt64());
+                case 2 -> user.setName(in.readStringRequireUtf8());
+                case 3 -> user.setUsername(in.readStringRequireUtf8());
+                case 4 -> user.setEmail(in.readStringRequireUtf8());
+                case 5 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    user.setAddress(readAddress(in));
+                    in.popLimit(limit);
+                }
+                case 6 -> user.setPhone(in.readStringRequireUtf8());
+                case 7 -> user.setWebsite(in.readStringRequireUtf8());
+                case 8 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    user.setCompany(readCompany(in));
+                    in.popLimit(limit);
+                }
+                default -> in.skipField(tag);
+            }
+        }
+        return user;
+    }
+
+    private static int addressSize(User.Address address) {
+        int size = stringSize(1, address.getStreet())
+                + stringSize(2, address.getSuite())
+                + stringSize(3, address.getCity())
+                + stringSize(4, address.getZipcode());
+        if (address.getGeo() != null) {
+            size += messageSize(5, geoSize(address.getGeo()));
+        }
+        return size;
+    }
+
+    private static void writeAddress(CodedOutputStream out, User.Address address) throws IOException {
+        writeString(out, 1, address.getStreet());
+        writeString(out, 2, address.getSuite());
+        writeString(out, 3, address.getCity());
+        writeString(out, 4, address.getZipcode());
+        if (address.getGeo() != null) {
+            writeMessageHeader(out, 5, geoSize(address.getGeo()));
+            writeString(out, 1, address.getGeo().getLat());
+            writeString(out, 2, address.getGeo().getLng());
+        }
+    }
+
+    private static User.Address readAddress(CodedInputStream in) throws IOException {
+        User.Address address = new User.Address();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> address.setStreet(in.readStringRequireUtf8());
+                case 2 -> address.setSuite(in.readStringRequireUtf8());
+                case 3 -> address.setCity(in.readStringRequireUtf8());
+                case 4 -> address.setZipcode(in.readStringRequireUtf8());
+                case 5 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    address.setGeo(readGeo(in));
+                    in.popLimit(limit);
+                }
+                default -> in.skipField(tag);
+            }
+        }
+        return address;
+    }
+
+    private static int geoSize(User.Address.Geo geo) {
+        return stringSize(1, geo.getLat()) + stringSize(2, geo.getLng());
+    }
+
+    private static User.Address.Geo readGeo(CodedInputStream in) throws IOException {
+        User.Address.Geo geo = new User.Address.Geo();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> geo.setLat(in.readStringRequireUtf8());
+                case 2 -> geo.setLng(in.readStringRequireUtf8());
+                default -> in.skipField(tag);
+            }
+        }
+        return geo;
+    }
+
+    private static int companySize(User.Company company) {
+        return stringSize(1, company.getName())
+                + stringSize(2, company.getCatchPhrase())
+                + stringSize(3, company.getBs());
+    }
+
+    private static void writeCompany(CodedOutputStream out, User.Company company) throws IOException {
+        writeString(out, 1, company.getName());
+        writeString(out, 2, company.getCatchPhrase());
+        writeString(out, 3, company.getBs());
+    }
+
+    private static User.Company readCompany(CodedInputStream in) throws IOException {
+        User.Company company = new User.Company();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> company.setName(in.readStringRequireUtf8());
+                case 2 -> company.setCatchPhrase(in.readStringRequireUtf8());
+                case 3 -> company.setBs(in.readStringRequireUtf8());
+                default -> in.skipField(tag);
+            }
+        }
+        return company;
+    }
+
+    // --- Comment ---
+
+    private static int commentSize(Comment comment) {
+        return int64Size(1, comment.getId())
+                + int64Size(2, comment.getPostId())
+                + stringSize(3, comment.getName())
+                + stringSize(4, comment.getEmail())
+                + stringSize(5, comment.getBody());
+    }
+
+    private static void writeComment(CodedOutputStream out, Comment comment) throws IOException {
+        writeInt64(out, 1, comment.getId());
+        writeInt64(out, 2, comment.getPostId());
+        writeString(out, 3, comment.getName());
+        writeString(out, 4, comment.getEmail());
+        writeString(out, 5, comment.getBody());
+    }
+
+    private static Comment readComment(CodedInputStream in) throws IOException {
+        Comment comment = new Comment();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> comment.setId(in.readInt64());
+                case 2 -> comment.setPostId(in.readInt64());
+                case 3 -> comment.setName(in.readStringRequireUtf8());
+                case 4 -> comment.setEmail(in.readStringRequireUtf8());
+                case 5 -> comment.setBody(in.readStringRequireUtf8());
+                default -> in.skipField(tag);
+            }
+        }
+        return comment;
+    }
+
+    // --- Campos escalares y cabeceras ---
+
+    private static void writeMessageHeader(CodedOutputStream out, int field, int size) throws IOException {
+        out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(size);
+    }
+
+    private static int messageSize(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static void writeInt64(CodedOutputStream out, int field, Long value) throws IOException {
+        if (value != null) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static int int64Size(int field, Long value) {
+        return value != null ? CodedOutputStream.computeInt64Size(field, value) : 0;
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+}
@@ -0,0 +1,142 @@
+package com.martinhacker.jsonplaceholder.protobuf;
+
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.Post;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Convierte {@link ApiResponse} a Protobuf (application/x-protobuf) con {@link ApiResponseProtobufCodec}.
+ * Solo las respuestas con un post, una lista de posts, un texto, un mapa de textos o sin datos tienen
+ * representación en el esquema. La comprobación se hace en la negociación de contenido a partir del tipo
+ * declarado de los datos, de modo que un endpoint sin representación responde 406 (o con otro formato
+ * aceptado) en lugar de fallar al escribir.
+ * <p>
+ * Spring aplana los genéricos anidados del tipo de retorno antes de la negociación
+ * ({@code ApiResponse<List<Comment>>} llega como {@code ApiResponse<List>}), así que cuando el elemento de
+ * una colección no se puede resolver se recupera del método del controlador que atiende la petición.
+ */
+public class ProtobufApiResponseHttpMessageConverter extends AbstractGenericHttpMessageConverter<ApiResponse<?>> {
+
+    public static final String PROTOBUF_MEDIA_TYPE_VALUE = "application/x-protobuf";
+    public static final MediaType PROTOBUF_MEDIA_TYPE = MediaType.parseMediaType(PROTOBUF_MEDIA_TYPE_VALUE);
+
+    public ProtobufApiResponseHttpMessageConverter() {
+        super(PROTOBUF_MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(clazz, mediaType) && (type == null || hasRepresentation(declaredType(type)));
+    }
+
+    /**
+     * Devuelve el tipo declarado por el controlador de la petición en curso si coincide con el recibido
+     * salvo por los genéricos perdidos; si no (p. ej. una respuesta de error de un @ExceptionHandler),
+     * el tipo recibido
+     */
+    private static Type declaredType(Type type) {
+        ResolvableType data = dataType(ResolvableType.forType(type));
+        if (data.resolve() == null || !Collection.class.isAssignableFrom(data.resolve())
+                || data.asCollection().resolveGeneric(0) != null) {
+            return type;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object handler = attributes != null
+                ? attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return type;
+        }
+        // Desenvuelve CompletableFuture, ResponseEntity... hasta llegar a la ApiResponse
+        ResolvableType declared = ResolvableType.forMethodReturnType(handlerMethod.getMethod());
+        while (declared.resolve() != null && !ApiResponse.class.isAssignableFrom(declared.resolve())
+                && declared.hasGenerics()) {
+            declared = declared.getGeneric(0);
+        }
+        if (declared.resolve() == null || !ApiResponse.class.isAssignableFrom(declared.resolve())
+                || dataType(declared).resolve() != data.resolve()) {
+            return type;
+        }
+        return declared.getType();
+    }
+
+    private static ResolvableType dataType(ResolvableType type) {
+        return type.as(ApiResponse.class).getGeneric(0);
+    }
+
+    /**
+     * Indica si el tipo declarado de los datos de la respuesta tiene representación en el esquema.
+     * Si el tipo no se puede resolver (Object, comodines) se acepta y se comprueba el valor al escribir.
+     */
+    static boolean hasRepresentation(Type type) {
+        ResolvableType data = dataType(ResolvableType.forType(type));
+        Class<?> dataClass = data.resolve();
+        if (dataClass == null || dataClass == Object.class || dataClass == Void.class) {
+            return true;
+        }
+        if (Post.class.isAssignableFrom(dataClass) || dataClass == String.class) {
+            return true;
+        }
+        if (Collection.class.isAssignableFrom(dataClass)) {
+            Class<?> element = data.asCollection().resolveGeneric(0);
+            return element == null || element == Object.class || Post.class.isAssignableFrom(element);
+        }
+        if (Map.class.isAssignableFrom(dataClass)) {
+            ResolvableType map = data.asMap();
+            return isTextOrUnresolved(map.resolveGeneric(0)) && isTextOrUnresolved(map.resolveGeneric(1));
+        }
+        return false;
+    }
+
+    private static boolean isTextOrUnresolved(@Nullable Class<?> clazz) {
+        return clazz == null || clazz == Object.class || clazz == String.class;
+    }
+
+    @Override
+    public ApiResponse<?> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException {
+        return readInternal(null, inputMessage);
+    }
+
+    @Override
+    protected ApiResponse<?> readInternal(@Nullable Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try {
+            return ApiResponseProtobufCodec.decode(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Mensaje Protobuf inválido: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<?> response, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        // Solo alcanzable con tipos declarados sin resolver; no se ha escrito nada todavía
+        if (!ApiResponseProtobufCodec.supportsData(response.getData())) {
+            throw new HttpMessageNotWritableException("La respuesta no tiene representación Protobuf: " +
+                    response.getData().getClass().getSimpleName());
+        }
+        ApiResponseProtobufCodec.encode(response, outputMessage.getBody());
+    }
+}
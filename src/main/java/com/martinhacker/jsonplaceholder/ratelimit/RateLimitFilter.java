@@ -0,0 +1,101 @@
+package com.martinhacker.jsonplaceholder.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martinhacker.jsonplaceholder.controller.PostRequests;
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita la tasa de peticiones por cliente a /api/posts. El cliente se identifica por la cabecera
+ * X-API-Key solo si la clave está en la lista configurada (ratelimit.api-keys); en otro caso, por su
+ * dirección IP, de modo que rotar claves inventadas no da un bucket nuevo en cada petición. GET /api/posts (la agregación completa) tiene
+ * un límite propio, más estricto que el del resto de consultas. Al superarlo se responde 429 con
+ * Retry-After.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+    
+    public static final String API_KEY_HEADER = "X-API-Key";
+    
+    private final TokenBucketRateLimiter aggregateLimiter;
+    private final TokenBucketRateLimiter lookupLimiter;
+    private final Set<String> apiKeys;
+    private final ObjectMapper objectMapper;
+    
+    public RateLimitFilter(@Value("${ratelimit.aggregate.permits-per-second:2}") double aggregatePermitsPerSecond,
+                           @Value("${ratelimit.aggregate.burst:20}") int aggregateBurst,
+                           @Value("${ratelimit.lookup.permits-per-second:50}") double lookupPermitsPerSecond,
+                           @Value("${ratelimit.lookup.burst:200}") int lookupBurst,
+                           @Value("${ratelimit.idle-timeout:600000}") long idleTimeoutMs,
+                           @Value("${ratelimit.max-clients:100000}") long maxClients,
+                           @Value("${ratelimit.api-keys:}") Set<String> apiKeys,
+                           ObjectMapper objectMapper) {
+        Duration idleTimeout = Duration.ofMillis(idleTimeoutMs);
+        this.aggregateLimiter = new TokenBucketRateLimiter(aggregatePermitsPerSecond, aggregateBurst, idleTimeout, maxClients);
+        this.lookupLimiter = new TokenBucketRateLimiter(lookupPermitsPerSecond, lookupBurst, idleTimeout, maxClients);
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals(PostRequests.POSTS_PATH) && !path.startsWith(PostRequests.POSTS_PATH + "/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean aggregate = PostRequests.isAggregate(request);
+        String clientKey = clientKey(request);
+        
+        long waitNanos = (aggregate ? aggregateLimiter : lookupLimiter).tryAcquire(clientKey);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        logger.warn("Límite de peticiones superado por {} en {} (reintentar en {} s)",
+                clientKey, aggregate ? "la agregación de posts" : "consultas de posts", retryAfterSeconds);
+        
+        ApiResponse<String> body = ApiResponse.error(
+                "Límite de peticiones superado. Intente nuevamente en " + retryAfterSeconds + " s.",
+                HttpStatus.TOO_MANY_REQUESTS.value()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+    
+    /**
+     * Una clave desconocida se ignora: el cliente la elige libremente y no puede servir para repartir
+     * sus peticiones entre buckets distintos
+     */
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,71 @@
+package com.martinhacker.jsonplaceholder.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por cliente implementado como GCRA (generic cell rate algorithm): el estado de cada
+ * cliente es un único instante teórico de llegada en un {@link AtomicLong}, actualizado con CAS y sin
+ * locks, en lugar de un contador de tokens y una marca de tiempo. Equivale a un bucket de capacidad
+ * {@code burst} que se rellena a {@code permitsPerSecond}. Los estados viven en una cache Caffeine que
+ * expulsa a los clientes inactivos; la expulsión solo devuelve al cliente su bucket lleno.
+ */
+public class TokenBucketRateLimiter {
+    
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> states;
+    
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, Duration idleTimeout, long maxClients) {
+        this(permitsPerSecond, burst, idleTimeout, maxClients, System::nanoTime);
+    }
+    
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, Duration idleTimeout, long maxClients,
+                           LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("La tasa debe ser positiva y la ráfaga de al menos 1 petición");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.states = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maxClients)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+    
+    /**
+     * Consume un permiso del cliente. Devuelve 0 si la petición se admite o, si no, los
+     * nanosegundos que debe esperar hasta que haya un permiso disponible.
+     */
+    public long tryAcquire(String clientKey) {
+        long now = nanoClock.getAsLong();
+        AtomicLong theoreticalArrival = states.get(clientKey, key -> new AtomicLong(now));
+        
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long wait = next - burstToleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Número aproximado de clientes con estado
+     */
+    public long trackedClients() {
+        return states.estimatedSize();
+    }
+}
@@ -0,0 +1,186 @@
+package com.martinhacker.jsonplaceholder.service;
+
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.upstream.UpstreamPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Precarga las caches de posts, usuarios y comentarios al arrancar la aplicación.
+ * Mientras el warm-up está en curso el grupo de readiness de actuator permanece DOWN.
+ */
+@Service
+public class CacheWarmupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmupService.class);
+
+    public enum WarmupStatus {
+        PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED, DISABLED;
+
+        public boolean isFinished() {
+            return this != PENDING && this != RUNNING;
+        }
+    }
+
+    private final JsonPlaceholderService jsonPlaceholderService;
+    private final boolean enabled;
+    private final int parallelism;
+    private final long timeoutMs;
+    private final Timer durationTimer;
+    private final Map<String, AtomicLong> entryCounts;
+
+    private volatile WarmupStatus status = WarmupStatus.PENDING;
+    private volatile long durationMs = -1;
+
+    public CacheWarmupService(JsonPlaceholderService jsonPlaceholderService,
+                              MeterRegistry meterRegistry,
+                              @Value("${cache.warmup.enabled:true}") boolean enabled,
+                              @Value("${cache.warmup.parallelism:8}") int parallelism,
+                              @Value("${cache.warmup.timeout:30000}") long timeoutMs) {
+        this.jsonPlaceholderService = jsonPlaceholderService;
+        this.enabled = enabled;
+        this.parallelism = Math.max(1, parallelism);
+        this.timeoutMs = timeoutMs;
+        this.durationTimer = Timer.builder("cache.warmup.duration")
+                .description("Duración del warm-up de caches al arranque")
+                .register(meterRegistry);
+        this.entryCounts = Map.of(
+                CacheNames.POSTS, new AtomicLong(),
+                CacheNames.USERS, new AtomicLong(),
+                CacheNames.COMMENTS, new AtomicLong());
+        entryCounts.forEach((cacheName, count) -> Gauge.builder("cache.warmup.entries", count, AtomicLong::get)
+                .description("Entradas precargadas durante el warm-up")
+                .tag("cache", cacheName)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Lanza el warm-up en segundo plano una vez que la aplicación está levantada
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("Warm-up de caches deshabilitado");
+            status = WarmupStatus.DISABLED;
+            return;
+        }
+        warmUp();
+    }
+
+    /**
+     * Precarga posts, usuarios y comentarios con paralelismo acotado.
+     * El future devuelto se completa cuando termina el warm-up o vence el timeout.
+     */
+    public CompletableFuture<Void> warmUp() {
+        logger.info("Iniciando warm-up de caches (paralelismo={}, timeout={} ms)", parallelism, timeoutMs);
+        status = WarmupStatus.RUNNING;
+        entryCounts.values().forEach(count -> count.set(0));
+
+        long startTime = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, warmupThreadFactory());
+
+        return CompletableFuture.supplyAsync(jsonPlaceholderService::getPosts, workers)
+                .thenCompose(posts -> preloadDetails(posts, workers))
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((ignored, ex) -> {
+                    workers.shutdownNow();
+                    finish(startTime, ex);
+                    return null;
+                });
+    }
+
+    private CompletableFuture<Void> preloadDetails(List<Post> posts, ExecutorService workers) {
+        entryCounts.get(CacheNames.POSTS).set(posts.size());
+
+        CompletableFuture<?>[] userFutures = posts.stream()
+                .map(Post::getUserId)
+                .distinct()
+                .map(userId -> CompletableFuture.runAsync(() -> {
+                    if (jsonPlaceholderService.getUserById(userId) != null) {
+                        entryCounts.get(CacheNames.USERS).incrementAndGet();
+                    }
+                }, workers).exceptionally(ex -> logFailure("usuario", userId, ex)))
+                .toArray(CompletableFuture[]::new);
+
+        // Todos los comentarios en una sola llamada, repartidos por post en streaming
+        CompletableFuture<?> commentsFuture = CompletableFuture.runAsync(() ->
+                entryCounts.get(CacheNames.COMMENTS).set(jsonPlaceholderService.preloadAllComments()), workers)
+                .exceptionally(ex -> {
+                    logger.warn("No se pudieron precargar los comentarios: {}", ex.getMessage());
+                    return null;
+                });
+
+        return CompletableFuture.allOf(CompletableFuture.allOf(userFutures), commentsFuture);
+    }
+
+    private Void logFailure(String entity, Long id, Throwable ex) {
+        logger.warn("No se pudo precargar {} {}: {}", entity, id, ex.getMessage());
+        return null;
+    }
+
+    private void finish(long startTime, Throwable ex) {
+        long elapsedNanos = System.nanoTime() - startTime;
+        durationTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        durationMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+
+        if (cause == null) {
+            status = WarmupStatus.COMPLETED;
+            logger.info("Warm-up de caches completado en {} ms: {} posts, {} usuarios, {} listas de comentarios",
+                    durationMs, entryCounts.get(CacheNames.POSTS).get(), entryCounts.get(CacheNames.USERS).get(),
+                    entryCounts.get(CacheNames.COMMENTS).get());
+        } else if (cause instanceof TimeoutException) {
+            status = WarmupStatus.TIMED_OUT;
+            logger.warn("Warm-up de caches interrumpido por timeout tras {} ms", durationMs);
+        } else {
+            status = WarmupStatus.FAILED;
+            logger.error("Error en el warm-up de caches tras {} ms: {}", durationMs, cause.getMessage());
+        }
+    }
+
+    private static ThreadFactory warmupThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            // Precarga en segundo plano: sus llamadas a la API externa van detrás de las de las peticiones
+            Thread thread = new Thread(() -> UpstreamPriority.BACKGROUND.run(runnable),
+                    "cache-warmup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public WarmupStatus getStatus() {
+        return status;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public Map<String, Long> getEntryCounts() {
+        return Map.of(
+                CacheNames.POSTS, entryCounts.get(CacheNames.POSTS).get(),
+                CacheNames.USERS, entryCounts.get(CacheNames.USERS).get(),
+                CacheNames.COMMENTS, entryCounts.get(CacheNames.COMMENTS).get());
+    }
+}
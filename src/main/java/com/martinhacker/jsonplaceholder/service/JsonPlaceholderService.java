@@ -1,103 +1,325 @@
 package com.martinhacker.jsonplaceholder.service;
 
+import com.martinhacker.jsonplaceholder.admission.LatencyTracker;
+import com.martinhacker.jsonplaceholder.cache.CacheBulkOperations;
+import com.martinhacker.jsonplaceholder.cache.NegativeLookupCache;
+import com.martinhacker.jsonplaceholder.client.JsonArrayStreamReader;
+import com.martinhacker.jsonplaceholder.collection.LongGrouping;
+import com.martinhacker.jsonplaceholder.collection.LongObjectHashMap;
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.event.CommentsLoadedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
+import com.martinhacker.jsonplaceholder.logging.SampledLogger;
 import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.DeleteStatus;
 import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.PostBatchResult;
 import com.martinhacker.jsonplaceholder.model.User;
+import com.martinhacker.jsonplaceholder.upstream.UpstreamPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 @Service
 public class JsonPlaceholderService {
     
     private static final Logger logger = LoggerFactory.getLogger(JsonPlaceholderService.class);
     
+    // Trazas por llamada a la API externa (~200 por agregación): se emite una de cada 50
+    private static final SampledLogger postFetchLog = SampledLogger.oneIn(50, logger);
+    private static final SampledLogger userFetchLog = SampledLogger.oneIn(50, logger);
+    private static final SampledLogger commentsFetchLog = SampledLogger.oneIn(50, logger);
+    
     private final RestTemplate restTemplate;
     private final String baseUrl;
-    private final ExecutorService executorService;
+    private final CacheManager cacheManager;
+    private final PostCacheInvalidator postCacheInvalidator;
+    private final NegativeLookupCache negativeLookupCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonArrayStreamReader jsonArrayStreamReader;
+    private final int bulkDeleteConcurrency;
+    private final Executor executor;
+    // Pool propio de la eliminación masiva para que un lote grande no deje sin hilos al enriquecimiento
+    private final ExecutorService bulkDeleteExecutor;
+    
+    // Espera en cola del pool de llamadas a la API externa, consultada por el control de admisión
+    private final LatencyTracker executorQueueWait = new LatencyTracker(TimeUnit.SECONDS.toNanos(1));
+    
+    // Referencia al proxy de Spring para que las llamadas internas pasen por la cache
+    private JsonPlaceholderService self = this;
     
     public JsonPlaceholderService(RestTemplate restTemplate, 
-                                  @Value("${external.api.jsonplaceholder.base-url}") String baseUrl) {
+                                  @Value("${external.api.jsonplaceholder.base-url}") String baseUrl,
+                                  CacheManager cacheManager,
+                                  PostCacheInvalidator postCacheInvalidator,
+                                  NegativeLookupCache negativeLookupCache,
+                                  ApplicationEventPublisher eventPublisher,
+                                  JsonArrayStreamReader jsonArrayStreamReader,
+                                  @Value("${external.api.jsonplaceholder.bulk-delete.concurrency:8}") int bulkDeleteConcurrency,
+                                  @Value("${external.api.jsonplaceholder.executor.threads:10}") int executorThreads) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl;
-        this.executorService = Executors.newFixedThreadPool(10);
+        this.cacheManager = cacheManager;
+        this.postCacheInvalidator = postCacheInvalidator;
+        this.negativeLookupCache = negativeLookupCache;
+        this.eventPublisher = eventPublisher;
+        this.jsonArrayStreamReader = jsonArrayStreamReader;
+        this.bulkDeleteConcurrency = Math.max(1, bulkDeleteConcurrency);
+        this.executor = queueTimed(Executors.newFixedThreadPool(Math.max(1, executorThreads)));
+        this.bulkDeleteExecutor = Executors.newFixedThreadPool(this.bulkDeleteConcurrency, bulkDeleteThreadFactory());
+    }
+    
+    @Autowired
+    public void setSelf(@Lazy JsonPlaceholderService self) {
+        this.self = self;
+    }
+    
+    /**
+     * Espera media reciente de las tareas en la cola del pool, en nanosegundos
+     */
+    public long getExecutorQueueWaitNanos() {
+        return executorQueueWait.averageNanos();
+    }
+    
+    /**
+     * Envuelve el pool para medir cuánto espera cada tarea antes de ejecutarse. Sus tareas son agregaciones
+     * y lotes, así que sus llamadas a la API externa ceden el paso a las de peticiones de una sola entidad.
+     */
+    private Executor queueTimed(ExecutorService pool) {
+        return task -> {
+            long enqueuedAt = System.nanoTime();
+            pool.execute(() -> {
+                executorQueueWait.record(System.nanoTime() - enqueuedAt);
+                UpstreamPriority.BULK.run(task);
+            });
+        };
     }
     
     /**
      * Obtiene todos los posts con información completa de usuarios y comentarios
      */
     public List<Post> getAllPostsWithDetails() {
-        logger.info("Obteniendo todos los posts con detalles completos");
-        
+        return joinUnwrapped(getAllPostsWithDetailsAsync());
+    }
+    
+    /**
+     * Espera el resultado y relanza la causa original en lugar de la CompletionException,
+     * para que GlobalExceptionHandler la traduzca a su código de estado
+     */
+    private static <T> T joinUnwrapped(CompletableFuture<T> future) {
         try {
-            // Obtener posts
-            List<Post> posts = getPosts();
-            logger.info("Se obtuvieron {} posts", posts.size());
-            
-            // Procesar cada post de forma asíncrona para obtener usuarios y comentarios
-            List<CompletableFuture<Void>> futures = posts.stream()
-                    .map(post -> CompletableFuture.runAsync(() -> {
-                        try {
-                            // Obtener usuario y comentarios en paralelo
-                            CompletableFuture<User> userFuture = CompletableFuture.supplyAsync(() -> getUserById(post.getUserId()));
-                            CompletableFuture<List<Comment>> commentsFuture = CompletableFuture.supplyAsync(() -> getCommentsByPostId(post.getId()));
-                            
-                            // Esperar a que ambas operaciones terminen
-                            CompletableFuture.allOf(userFuture, commentsFuture).join();
-                            
-                            // Asignar los datos al post
-                            post.setUser(userFuture.get());
-                            post.setComments(commentsFuture.get());
-                            
-                            logger.debug("Post {} procesado exitosamente", post.getId());
-                        } catch (Exception e) {
-                            logger.error("Error procesando post {}: {}", post.getId(), e.getMessage());
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Variante asíncrona de {@link #getAllPostsWithDetails()}: ningún paso bloquea al hilo que la invoca,
+     * los posts se obtienen en el executor y el enriquecimiento se encadena sin esperas intermedias
+     */
+    public CompletableFuture<List<Post>> getAllPostsWithDetailsAsync() {
+        logger.debug("Obteniendo todos los posts con detalles completos");
+        
+        return CompletableFuture
+                .supplyAsync(() -> self.getPosts(), executor)
+                .thenCompose(posts -> {
+                    logger.debug("Se obtuvieron {} posts", posts.size());
+                    return enrichPostsAsync(posts);
+                })
+                .handle((posts, ex) -> {
+                    if (ex != null) {
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        logger.error("Error obteniendo posts con detalles: {}", cause.getMessage());
+                        throw new RuntimeException("Error obteniendo posts con detalles", cause);
+                    }
+                    logger.debug("Procesamiento de posts completado exitosamente");
+                    return posts;
+                });
+    }
+    
+    /**
+     * Obtiene varios posts por ID en una sola operación: resuelve los presentes en cache con una
+     * búsqueda masiva, obtiene los ausentes en paralelo y opcionalmente los completa con usuario y comentarios.
+     */
+    public PostBatchResult getPostsByIds(List<Long> ids, boolean withDetails) {
+        return joinUnwrapped(getPostsByIdsAsync(ids, withDetails));
+    }
+    
+    /**
+     * Variante asíncrona de {@link #getPostsByIds(List, boolean)}: la búsqueda en cache es inmediata
+     * y la obtención de los ausentes y el enriquecimiento se encadenan sin bloquear al hilo que la invoca
+     */
+    public CompletableFuture<PostBatchResult> getPostsByIdsAsync(List<Long> ids, boolean withDetails) {
+        List<Long> uniqueIds = ids.stream().distinct().toList();
+        logger.info("Obteniendo {} posts por ID (detalles={})", uniqueIds.size(), withDetails);
+        
+        LongObjectHashMap<Post> found = new LongObjectHashMap<>(uniqueIds.size());
+        List<Long> misses = new ArrayList<>();
+        Set<Long> missingIds = new HashSet<>();
+        Set<Long> failedIds = ConcurrentHashMap.newKeySet();
+        
+        Map<Long, Object> cached = CacheBulkOperations.getAllPresent(cacheManager.getCache(CacheNames.POSTS), uniqueIds);
+        for (Long id : uniqueIds) {
+            Object value = cached.get(id);
+            if (postCacheInvalidator.isDeleted(id) || value instanceof NullValue
+                    || negativeLookupCache.isKnownMissing(CacheNames.POSTS, id)) {
+                missingIds.add(id);
+            } else if (value instanceof Post post) {
+                found.put(id, post);
+            } else {
+                misses.add(id);
+            }
+        }
+        
+        int cacheHits = found.size();
+        
+        // Obtener en paralelo los posts que no estaban en cache
+        Map<Long, CompletableFuture<Post>> pending = new LinkedHashMap<>();
+        misses.forEach(id -> pending.put(id, CompletableFuture
+                .supplyAsync(() -> self.getPostById(id), executor)
+                .exceptionally(ex -> {
+                    logger.warn("No se pudo obtener el post {}: {}", id, ex.getMessage());
+                    failedIds.add(id);
+                    return null;
+                })));
+        return CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+                .thenCompose(ignored -> {
+                    pending.forEach((id, future) -> {
+                        Post post = future.join();
+                        if (post != null) {
+                            found.put(id, post);
+                        } else if (!failedIds.contains(id)) {
+                            missingIds.add(id);
                         }
-                    }, executorService))
-                    .toList();
-            
-            // Esperar a que todos los posts sean procesados
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-            
-            logger.info("Procesamiento de posts completado exitosamente");
-            return posts;
-            
-        } catch (Exception e) {
-            logger.error("Error obteniendo posts con detalles: {}", e.getMessage());
-            throw new RuntimeException("Error obteniendo posts con detalles", e);
+                    });
+                    
+                    List<Post> posts = uniqueIds.stream()
+                            .map(found::get)
+                            .filter(Objects::nonNull)
+                            .toList();
+                    
+                    CompletableFuture<List<Post>> details = withDetails
+                            ? enrichPostsAsync(posts)
+                            : CompletableFuture.completedFuture(posts);
+                    
+                    return details.thenApply(result -> {
+                        logger.info("Consulta por lote completada: {} encontrados ({} desde cache), {} ausentes, {} con error",
+                                result.size(), cacheHits, missingIds.size(), failedIds.size());
+                        
+                        return new PostBatchResult(
+                                result,
+                                uniqueIds.stream().filter(missingIds::contains).toList(),
+                                uniqueIds.stream().filter(failedIds::contains).toList());
+                    });
+                });
+    }
+    
+    /**
+     * Completa cada post con su usuario autor y sus comentarios, obteniéndolos en paralelo.
+     * Los posts se agrupan por autor (userId → posiciones) para resolver cada usuario una sola vez.
+     * Se completan copias: los posts de la cache solo guardan el userId y su peso no cambia después
+     * de insertarlos. El future se completa con las copias cuando todos los posts están procesados.
+     */
+    private CompletableFuture<List<Post>> enrichPostsAsync(List<Post> cachedPosts) {
+        List<Post> posts = new ArrayList<>(cachedPosts.size());
+        for (Post post : cachedPosts) {
+            posts.add(new Post(post.getId(), post.getTitle(), post.getBody(), post.getUserId()));
+        }
+        LongObjectHashMap<int[]> postsByUser = LongGrouping.indicesByKey(posts, Post::getUserId);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(postsByUser.size() + posts.size());
+        
+        // Un usuario por autor, asignado a todas sus posiciones
+        postsByUser.forEach((userId, positions) -> futures.add(CompletableFuture
+                .supplyAsync(() -> self.getUserById(userId), executor)
+                .thenAccept(user -> {
+                    for (int position : positions) {
+                        posts.get(position).setUser(user);
+                    }
+                })
+                .exceptionally(ex -> {
+                    logger.error("Error obteniendo usuario {}: {}", userId, ex.getMessage());
+                    return null;
+                })));
+        
+        // Comentarios por post
+        for (Post post : posts) {
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> self.getCommentsByPostId(post.getId()), executor)
+                    .thenAccept(post::setComments)
+                    .exceptionally(ex -> {
+                        logger.error("Error procesando post {}: {}", post.getId(), ex.getMessage());
+                        return null;
+                    }));
         }
+        
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    logger.debug("{} posts completados con {} usuarios distintos", posts.size(), postsByUser.size());
+                    return posts;
+                });
     }
     
     /**
      * Obtiene todos los posts
      */
-    @Cacheable(value = "posts", key = "'all'")
+    @Cacheable(value = CacheNames.POST_LISTS, key = "'all'")
     public List<Post> getPosts() {
         logger.info("Obteniendo lista de posts desde API externa");
         
         try {
-            String url = baseUrl + "/posts";
-            ResponseEntity<List<Post>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<Post>>() {}
-            );
+            // Descartar al vuelo los posts eliminados que la API externa sigue devolviendo
+            List<Post> posts = new ArrayList<>();
+            int received = streamArray("/posts", Post.class, post -> {
+                if (!postCacheInvalidator.isDeleted(post.getId())) {
+                    posts.add(post);
+                }
+            });
+            logger.info("Posts obtenidos exitosamente: {} (recibidos {})", posts.size(), received);
             
-            logger.info("Posts obtenidos exitosamente: {}", response.getBody().size());
-            return response.getBody();
+            eventPublisher.publishEvent(new PostsLoadedEvent(posts));
+            return posts;
             
         } catch (RestClientException e) {
             logger.error("Error obteniendo posts: {}", e.getMessage());
@@ -106,24 +328,40 @@ public class JsonPlaceholderService {
     }
     
     /**
-     * Obtiene un post por ID
+     * Obtiene un post por ID. Los posts inexistentes (respuesta vacía o 404) no ocupan la cache de posts:
+     * se recuerdan en la cache negativa, con TTL propio, y se responden sin volver a la API externa.
      */
-    @Cacheable(value = "posts", key = "#id")
+    @Cacheable(value = CacheNames.POSTS, key = "#id", unless = "#result == null")
     public Post getPostById(Long id) {
-        logger.info("Obteniendo post con ID: {}", id);
+        postFetchLog.debug("Obteniendo post con ID: {}", id);
+        
+        if (postCacheInvalidator.isDeleted(id)) {
+            logger.info("Post {} eliminado previamente, no se consulta la API externa", id);
+            return null;
+        }
+        
+        if (negativeLookupCache.isKnownMissing(CacheNames.POSTS, id)) {
+            postFetchLog.debug("Post {} conocido como inexistente, no se consulta la API externa", id);
+            return null;
+        }
         
         try {
             String url = baseUrl + "/posts/" + id;
             Post post = restTemplate.getForObject(url, Post.class);
             
             if (post != null) {
-                logger.info("Post obtenido exitosamente: {}", post.getId());
+                postFetchLog.debug("Post obtenido exitosamente: {}", post.getId());
             } else {
                 logger.warn("No se encontró post con ID: {}", id);
+                negativeLookupCache.recordMissing(CacheNames.POSTS, id);
             }
             
             return post;
             
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.warn("La API externa no tiene el post con ID: {}", id);
+            negativeLookupCache.recordMissing(CacheNames.POSTS, id);
+            return null;
         } catch (RestClientException e) {
             logger.error("Error obteniendo post con ID {}: {}", id, e.getMessage());
             throw new RuntimeException("Error obteniendo post desde API externa", e);
@@ -131,24 +369,34 @@ public class JsonPlaceholderService {
     }
     
     /**
-     * Obtiene un usuario por ID
+     * Obtiene un usuario por ID; los usuarios inexistentes se recuerdan en la cache negativa como los posts
      */
-    @Cacheable(value = "users", key = "#id")
+    @Cacheable(value = CacheNames.USERS, key = "#id", unless = "#result == null")
     public User getUserById(Long id) {
-        logger.debug("Obteniendo usuario con ID: {}", id);
+        userFetchLog.debug("Obteniendo usuario con ID: {}", id);
+        
+        if (negativeLookupCache.isKnownMissing(CacheNames.USERS, id)) {
+            userFetchLog.debug("Usuario {} conocido como inexistente, no se consulta la API externa", id);
+            return null;
+        }
         
         try {
             String url = baseUrl + "/users/" + id;
             User user = restTemplate.getForObject(url, User.class);
             
             if (user != null) {
-                logger.debug("Usuario obtenido exitosamente: {}", user.getId());
+                userFetchLog.debug("Usuario obtenido exitosamente: {}", user.getId());
             } else {
                 logger.warn("No se encontró usuario con ID: {}", id);
+                negativeLookupCache.recordMissing(CacheNames.USERS, id);
             }
             
             return user;
             
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.warn("La API externa no tiene el usuario con ID: {}", id);
+            negativeLookupCache.recordMissing(CacheNames.USERS, id);
+            return null;
         } catch (RestClientException e) {
             logger.error("Error obteniendo usuario con ID {}: {}", id, e.getMessage());
             throw new RuntimeException("Error obteniendo usuario desde API externa", e);
@@ -158,22 +406,20 @@ public class JsonPlaceholderService {
     /**
      * Obtiene comentarios por ID de post
      */
-    @Cacheable(value = "comments", key = "#postId")
+    @Cacheable(value = CacheNames.COMMENTS, key = "#postId")
     public List<Comment> getCommentsByPostId(Long postId) {
-        logger.debug("Obteniendo comentarios para post ID: {}", postId);
+        commentsFetchLog.debug("Obteniendo comentarios para post ID: {}", postId);
+        
+        if (postCacheInvalidator.isDeleted(postId)) {
+            return List.of();
+        }
         
         try {
-            String url = baseUrl + "/posts/" + postId + "/comments";
-            ResponseEntity<List<Comment>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<Comment>>() {}
-            );
-            
-            List<Comment> comments = response.getBody();
-            logger.debug("Comentarios obtenidos para post {}: {}", postId, comments != null ? comments.size() : 0);
+            List<Comment> comments = new ArrayList<>();
+            streamArray("/posts/" + postId + "/comments", Comment.class, comments::add);
+            commentsFetchLog.debug("Comentarios obtenidos para post {}: {}", postId, comments.size());
             
+            eventPublisher.publishEvent(new CommentsLoadedEvent(postId, comments));
             return comments;
             
         } catch (RestClientException e) {
@@ -182,8 +428,34 @@ public class JsonPlaceholderService {
         }
     }
     
+    /*
+     * Refresco de entradas: cada método llama sin pasar por el proxy a su versión @Cacheable, que va a la
+     * API externa, y @CachePut sustituye la entrada con el resultado. Mientras tanto la entrada anterior
+     * sigue sirviendo, en lugar de dejar un hueco por el que todas las peticiones irían a la API externa.
+     */
+    
+    @CachePut(value = CacheNames.POST_LISTS, key = "'all'")
+    public List<Post> refreshPosts() {
+        return getPosts();
+    }
+    
+    @CachePut(value = CacheNames.POSTS, key = "#id", unless = "#result == null")
+    public Post refreshPostById(Long id) {
+        return getPostById(id);
+    }
+    
+    @CachePut(value = CacheNames.USERS, key = "#id", unless = "#result == null")
+    public User refreshUserById(Long id) {
+        return getUserById(id);
+    }
+    
+    @CachePut(value = CacheNames.COMMENTS, key = "#postId")
+    public List<Comment> refreshCommentsByPostId(Long postId) {
+        return getCommentsByPostId(postId);
+    }
+    
     /**
-     * Elimina un post por ID
+     * Elimina un post por ID e invalida las entradas de cache que lo contienen
      */
     public boolean deletePost(Long id) {
         logger.info("Eliminando post con ID: {}", id);
@@ -191,6 +463,7 @@ public class JsonPlaceholderService {
         try {
             String url = baseUrl + "/posts/" + id;
             restTemplate.delete(url);
+            postCacheInvalidator.invalidateDeletedPosts(List.of(id));
             
             logger.info("Post {} eliminado exitosamente", id);
             return true;
@@ -200,4 +473,131 @@ public class JsonPlaceholderService {
             throw new RuntimeException("Error eliminando post desde API externa", e);
         }
     }
+    
+    /**
+     * Elimina varios posts con un número acotado de llamadas DELETE concurrentes.
+     * Devuelve el resultado por ID en el orden recibido e invalida la cache una sola vez para todo el lote.
+     */
+    public Map<Long, DeleteStatus> deletePosts(Collection<Long> ids) {
+        List<Long> uniqueIds = ids.stream().distinct().toList();
+        logger.info("Eliminando {} posts (concurrencia máxima {})", uniqueIds.size(), bulkDeleteConcurrency);
+        
+        Queue<Long> pending = new ConcurrentLinkedQueue<>(uniqueIds);
+        Map<Long, DeleteStatus> results = new ConcurrentHashMap<>();
+        
+        // Cada worker toma IDs de la cola hasta vaciarla, limitando las llamadas en vuelo
+        int workers = Math.min(bulkDeleteConcurrency, uniqueIds.size());
+        CompletableFuture<?>[] futures = IntStream.range(0, workers)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    Long id;
+                    while ((id = pending.poll()) != null) {
+                        results.put(id, deleteUpstream(id));
+                    }
+                }, bulkDeleteExecutor))
+                .toArray(CompletableFuture[]::new);
+        
+        CompletableFuture.allOf(futures).join();
+        
+        List<Long> deletedIds = uniqueIds.stream()
+                .filter(id -> results.get(id) == DeleteStatus.DELETED)
+                .toList();
+        postCacheInvalidator.invalidateDeletedPosts(deletedIds);
+        
+        Map<Long, DeleteStatus> orderedResults = new LinkedHashMap<>();
+        uniqueIds.forEach(id -> orderedResults.put(id, results.get(id)));
+        
+        logger.info("Eliminación masiva completada: {} de {} posts eliminados", deletedIds.size(), uniqueIds.size());
+        return orderedResults;
+    }
+    
+    /**
+     * Hilos de la eliminación masiva: sus llamadas a la API externa se planifican como trabajo BULK
+     */
+    private static ThreadFactory bulkDeleteThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(() -> UpstreamPriority.BULK.run(runnable),
+                    "bulk-delete-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private DeleteStatus deleteUpstream(Long id) {
+        try {
+            restTemplate.delete(baseUrl + "/posts/" + id);
+            return DeleteStatus.DELETED;
+            
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                logger.warn("Post {} no encontrado en la API externa", id);
+                return DeleteStatus.NOT_FOUND;
+            }
+            logger.error("Error eliminando post con ID {}: {}", id, e.getMessage());
+            return DeleteStatus.FAILED;
+            
+        } catch (RestClientException e) {
+            logger.error("Error eliminando post con ID {}: {}", id, e.getMessage());
+            return DeleteStatus.FAILED;
+        }
+    }
+    
+    /**
+     * Carga todos los comentarios con una sola llamada a /comments. Cada comentario se reparte
+     * en el bucket de su post a medida que se lee, sin lista intermedia, y cada bucket se guarda
+     * en la cache de comentarios. Devuelve el número de posts con comentarios cargados.
+     */
+    public int preloadAllComments() {
+        logger.info("Cargando todos los comentarios desde API externa");
+        
+        LongObjectHashMap<List<Comment>> commentsByPost = new LongObjectHashMap<>(128);
+        int received;
+        try {
+            received = streamArray("/comments", Comment.class, comment -> {
+                if (comment.getPostId() != null && !postCacheInvalidator.isDeleted(comment.getPostId())) {
+                    commentsByPost.computeIfAbsent(comment.getPostId(), postId -> new ArrayList<>()).add(comment);
+                }
+            });
+        } catch (RestClientException e) {
+            logger.error("Error obteniendo comentarios: {}", e.getMessage());
+            throw new RuntimeException("Error obteniendo comentarios desde API externa", e);
+        }
+        
+        Cache commentsCache = cacheManager.getCache(CacheNames.COMMENTS);
+        commentsByPost.forEach((postId, comments) -> {
+            if (commentsCache != null) {
+                commentsCache.put(postId, comments);
+            }
+            eventPublisher.publishEvent(new CommentsLoadedEvent(postId, comments));
+        });
+        
+        logger.info("Comentarios cargados: {} repartidos en {} posts", received, commentsByPost.size());
+        return commentsByPost.size();
+    }
+    
+    /**
+     * Carga en paralelo (a través de la cache) los comentarios de los posts indicados
+     */
+    public void preloadComments(Collection<Long> postIds) {
+        CompletableFuture<?>[] futures = postIds.stream()
+                .map(postId -> CompletableFuture.runAsync(() -> self.getCommentsByPostId(postId), executor)
+                        .exceptionally(ex -> {
+                            logger.warn("No se pudieron cargar los comentarios del post {}: {}", postId, ex.getMessage());
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
+    
+    /**
+     * Lee en streaming un array JSON de la API externa y entrega cada elemento al consumidor
+     */
+    private <T> int streamArray(String path, Class<T> elementType, Consumer<? super T> consumer) {
+        Integer count = restTemplate.execute(
+                URI.create(baseUrl + path),
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> jsonArrayStreamReader.read(response.getBody(), elementType, consumer));
+        return count != null ? count : 0;
+    }
 }
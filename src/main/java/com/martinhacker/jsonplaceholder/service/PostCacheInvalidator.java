@@ -0,0 +1,170 @@
+package com.martinhacker.jsonplaceholder.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.martinhacker.jsonplaceholder.cache.CacheInvalidationBus;
+import com.martinhacker.jsonplaceholder.cache.InvalidationMessage;
+import com.martinhacker.jsonplaceholder.cache.SharedCacheStore;
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.event.PostsDeletedEvent;
+import com.martinhacker.jsonplaceholder.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Invalidación de caches en el camino de escritura y registro de posts eliminados (tombstones).
+ * La API externa no persiste los borrados, así que los tombstones evitan que un refresco
+ * posterior vuelva a traer posts ya eliminados.
+ * <p>
+ * Con la cache L2 activa los tombstones se guardan también en el almacén compartido y se difunden por el
+ * bus de invalidación: si no, otro nodo que recargase la lista completa volvería a escribir en L2 los posts
+ * eliminados y este nodo los leería de L2 sin pasar por el filtro de {@link JsonPlaceholderService#getPosts()}.
+ */
+@Component
+public class PostCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCacheInvalidator.class);
+
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<Long, Boolean> tombstones;
+    private final SharedCacheStore sharedStore;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Runnable unsubscribe;
+
+    @Autowired
+    public PostCacheInvalidator(CacheManager cacheManager,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectProvider<SharedCacheStore> sharedCacheStore,
+                                ObjectProvider<CacheInvalidationBus> invalidationBus,
+                                @Value("${cache.tombstone.ttl:86400000}") long tombstoneTtlMs,
+                                @Value("${cache.tombstone.max-size:100000}") long tombstoneMaxSize) {
+        this(cacheManager, eventPublisher, sharedCacheStore.getIfAvailable(), invalidationBus.getIfAvailable(),
+                tombstoneTtlMs, tombstoneMaxSize);
+    }
+
+    PostCacheInvalidator(CacheManager cacheManager, ApplicationEventPublisher eventPublisher,
+                         @Nullable SharedCacheStore sharedStore, @Nullable CacheInvalidationBus invalidationBus,
+                         long tombstoneTtlMs, long tombstoneMaxSize) {
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.sharedStore = sharedStore;
+        this.invalidationBus = invalidationBus;
+        this.tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(tombstoneTtlMs))
+                .maximumSize(tombstoneMaxSize)
+                .build();
+        this.unsubscribe = invalidationBus != null ? invalidationBus.subscribe(this::onInvalidation) : () -> { };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        unsubscribe.run();
+    }
+
+    /**
+     * Registra los tombstones y retira los posts eliminados de todas las entradas de cache
+     * que los contienen, sin volver a consultar la API externa.
+     */
+    public void invalidateDeletedPosts(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> deletedIds = new HashSet<>(postIds);
+        deletedIds.forEach(this::recordTombstone);
+
+        org.springframework.cache.Cache postsCache = cacheManager.getCache(CacheNames.POSTS);
+        if (postsCache != null) {
+            deletedIds.forEach(postsCache::evict);
+        }
+
+        org.springframework.cache.Cache postListsCache = cacheManager.getCache(CacheNames.POST_LISTS);
+        if (postListsCache != null) {
+            removeFromCachedList(postListsCache, deletedIds);
+        }
+
+        org.springframework.cache.Cache commentsCache = cacheManager.getCache(CacheNames.COMMENTS);
+        if (commentsCache != null) {
+            deletedIds.forEach(commentsCache::evict);
+        }
+
+        eventPublisher.publishEvent(new PostsDeletedEvent(deletedIds));
+        logger.info("Caches invalidadas para {} posts eliminados", deletedIds.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void removeFromCachedList(org.springframework.cache.Cache postListsCache, Set<Long> deletedIds) {
+        org.springframework.cache.Cache.ValueWrapper cached = postListsCache.get(CacheNames.ALL_POSTS_KEY);
+        if (cached == null || !(cached.get() instanceof List<?>)) {
+            return;
+        }
+
+        List<Post> posts = (List<Post>) cached.get();
+        List<Post> remaining = posts.stream()
+                .filter(post -> !deletedIds.contains(post.getId()))
+                .toList();
+
+        if (remaining.size() != posts.size()) {
+            postListsCache.put(CacheNames.ALL_POSTS_KEY, remaining);
+        }
+    }
+
+    private void recordTombstone(Long postId) {
+        tombstones.put(postId, Boolean.TRUE);
+        if (sharedStore != null) {
+            sharedStore.put(CacheNames.TOMBSTONES, postId, Boolean.TRUE);
+        }
+        if (invalidationBus != null) {
+            invalidationBus.publish(new InvalidationMessage(nodeId, CacheNames.TOMBSTONES, postId));
+        }
+    }
+
+    /**
+     * Tombstone difundido por otro nodo: las entradas de cache ya las retiró ese nodo (y L2 las invalida
+     * en todos), aquí solo falta recordarlo y avisar a los índices y al registro de cambios locales
+     */
+    private void onInvalidation(InvalidationMessage message) {
+        if (nodeId.equals(message.originNodeId()) || !CacheNames.TOMBSTONES.equals(message.cacheName())
+                || !(message.key() instanceof Long postId)) {
+            return;
+        }
+        tombstones.put(postId, Boolean.TRUE);
+        eventPublisher.publishEvent(new PostsDeletedEvent(Set.of(postId)));
+        logger.debug("Tombstone del post {} recibido del nodo {}", postId, message.originNodeId());
+    }
+
+    /**
+     * Indica si el post fue eliminado y su tombstone sigue vigente. Sin tombstone local se consulta el
+     * almacén compartido, que cubre los borrados de otros nodos anteriores a que este se suscribiera al bus.
+     */
+    public boolean isDeleted(Long postId) {
+        if (postId == null) {
+            return false;
+        }
+        if (tombstones.getIfPresent(postId) != null) {
+            return true;
+        }
+        if (sharedStore != null && sharedStore.get(CacheNames.TOMBSTONES, postId) != null) {
+            tombstones.put(postId, Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+}
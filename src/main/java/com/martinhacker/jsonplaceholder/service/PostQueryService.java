@@ -0,0 +1,159 @@
+package com.martinhacker.jsonplaceholder.service;
+
+import com.martinhacker.jsonplaceholder.event.CommentsLoadedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
+import com.martinhacker.jsonplaceholder.exception.BusinessException;
+import com.martinhacker.jsonplaceholder.index.PostIndex;
+import com.martinhacker.jsonplaceholder.index.SearchIndex;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.PostSearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Consultas por claves secundarias resueltas sobre los índices en memoria,
+ * con filtrado y ordenación en el servidor.
+ */
+@Service
+public class PostQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostQueryService.class);
+
+    private final JsonPlaceholderService jsonPlaceholderService;
+    private final PostIndex postIndex;
+    private final SearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PostQueryService(JsonPlaceholderService jsonPlaceholderService,
+                            PostIndex postIndex,
+                            SearchIndex searchIndex,
+                            ApplicationEventPublisher eventPublisher) {
+        this.jsonPlaceholderService = jsonPlaceholderService;
+        this.postIndex = postIndex;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Obtiene los posts de un usuario, filtrando opcionalmente por texto en el título
+     * y ordenando por id o título
+     */
+    public List<Post> getPostsByUser(Long userId, String titleContains, String sort, String order) {
+        ensurePostsIndexed();
+
+        List<Post> posts = postIndex.findPostsByUser(userId);
+        logger.debug("Índice userId {} -> {} posts", userId, posts.size());
+
+        if (titleContains != null && !titleContains.isBlank()) {
+            String needle = titleContains.toLowerCase(Locale.ROOT);
+            posts = posts.stream()
+                    .filter(post -> post.getTitle() != null && post.getTitle().toLowerCase(Locale.ROOT).contains(needle))
+                    .toList();
+        }
+
+        return posts.stream().sorted(comparator(sort, order)).toList();
+    }
+
+    /**
+     * Obtiene los comentarios de un post desde el índice, cargándolos si aún no están indexados
+     */
+    public List<Comment> getCommentsByPost(Long postId) {
+        List<Comment> comments = postIndex.findCommentsByPost(postId);
+        if (comments != null) {
+            return comments;
+        }
+        return indexComments(postId);
+    }
+
+    /**
+     * Obtiene los comentarios escritos desde un email. Completa antes el índice con los
+     * comentarios de los posts que todavía no se hayan cargado.
+     */
+    public List<Comment> getCommentsByEmail(String email) {
+        ensurePostsIndexed();
+        ensureCommentsIndexed();
+
+        return postIndex.findCommentsByEmail(email).stream()
+                .sorted(Comparator.comparing(Comment::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    /**
+     * Búsqueda de texto sobre título, cuerpo y comentarios de los posts, ordenada por relevancia
+     */
+    public List<PostSearchResult> search(String query, int limit) {
+        ensurePostsIndexed();
+        ensureCommentsIndexed();
+
+        List<PostSearchResult> results = searchIndex.search(query, limit);
+        logger.debug("Búsqueda '{}' -> {} resultados", query, results.size());
+        return results;
+    }
+
+    private void ensurePostsIndexed() {
+        if (postIndex.isPostsLoaded() && searchIndex.isPostsLoaded()) {
+            return;
+        }
+        // Una carga desde la API externa publica el evento que reconstruye los índices;
+        // si la lista se sirvió desde cache se publica aquí
+        List<Post> posts = jsonPlaceholderService.getPosts();
+        if (!postIndex.isPostsLoaded() || !searchIndex.isPostsLoaded()) {
+            eventPublisher.publishEvent(new PostsLoadedEvent(posts));
+        }
+    }
+
+    private void ensureCommentsIndexed() {
+        List<Long> pending = postIndex.findPostsWithoutComments();
+        if (pending.isEmpty()) {
+            return;
+        }
+        logger.info("Cargando comentarios de {} posts para completar los índices", pending.size());
+        if (pending.size() > 1) {
+            // Una sola llamada a /comments en streaming en lugar de una por post
+            try {
+                jsonPlaceholderService.preloadAllComments();
+            } catch (RuntimeException e) {
+                logger.warn("Carga masiva de comentarios fallida, se cargan por post: {}", e.getMessage());
+                jsonPlaceholderService.preloadComments(pending);
+            }
+        } else {
+            jsonPlaceholderService.preloadComments(pending);
+        }
+        // Entradas servidas desde cache (p. ej. L2) no publican evento de carga
+        postIndex.findPostsWithoutComments().forEach(this::indexComments);
+    }
+
+    private List<Comment> indexComments(Long postId) {
+        List<Comment> comments = jsonPlaceholderService.getCommentsByPostId(postId);
+        if (comments == null) {
+            comments = List.of();
+        }
+        if (postIndex.findCommentsByPost(postId) == null) {
+            eventPublisher.publishEvent(new CommentsLoadedEvent(postId, comments));
+        }
+        return comments;
+    }
+
+    private static Comparator<Post> comparator(String sort, String order) {
+        Comparator<Post> comparator = switch (sort == null ? "id" : sort.toLowerCase(Locale.ROOT)) {
+            case "id" -> Comparator.comparing(Post::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "title" -> Comparator.comparing(Post::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+            default -> throw new BusinessException("Campo de ordenación no soportado: " + sort + " (use id o title)");
+        };
+
+        if (order == null || order.equalsIgnoreCase("asc")) {
+            return comparator;
+        }
+        if (order.equalsIgnoreCase("desc")) {
+            return comparator.reversed();
+        }
+        throw new BusinessException("Orden no soportado: " + order + " (use asc o desc)");
+    }
+}
@@ -0,0 +1,107 @@
+package com.martinhacker.jsonplaceholder.upstream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Pasa cada llamada por el {@link UpstreamCallScheduler} con la prioridad del hilo que la hace
+ * ({@link UpstreamPriority#current()}). El hueco se ocupa desde que se envía la petición hasta que
+ * se cierra la respuesta, de modo que incluye la lectura del cuerpo en streaming.
+ */
+public class PrioritizedClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory delegate;
+    private final UpstreamCallScheduler scheduler;
+
+    public PrioritizedClientHttpRequestFactory(ClientHttpRequestFactory delegate, UpstreamCallScheduler scheduler) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new PrioritizedRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    private class PrioritizedRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest request;
+
+        private PrioritizedRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            UpstreamCallScheduler.Permit permit = scheduler.acquire(UpstreamPriority.current());
+            try {
+                return new PermitReleasingResponse(request.execute(), permit);
+            } catch (IOException | RuntimeException e) {
+                permit.close();
+                throw e;
+            }
+        }
+    }
+
+    private record PermitReleasingResponse(ClientHttpResponse response, UpstreamCallScheduler.Permit permit)
+            implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                permit.close();
+            }
+        }
+    }
+}
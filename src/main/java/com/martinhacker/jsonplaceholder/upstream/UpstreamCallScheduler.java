@@ -0,0 +1,198 @@
+package com.martinhacker.jsonplaceholder.upstream;
+
+import com.martinhacker.jsonplaceholder.admission.LatencyTracker;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limita las llamadas simultáneas a la API externa y reparte los huecos libres entre las clases de
+ * {@link UpstreamPriority} con encolado justo ponderado (WFQ): cada llamada en espera recibe una marca
+ * de fin virtual {@code max(V, última marca de su clase) + 1/peso} y se atiende antes la de marca menor,
+ * de modo que con todas las clases saturadas cada una obtiene huecos en proporción a su peso y ninguna
+ * se queda sin servicio. Además se reservan huecos que solo puede ocupar el tráfico interactivo.
+ */
+public class UpstreamCallScheduler {
+
+    private final int maxConcurrency;
+    private final int interactiveReserved;
+    private final long queueTimeoutNanos;
+    private final Map<UpstreamPriority, Double> costs = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, Double> lastFinish = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, ArrayDeque<Waiter>> queues = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, LatencyTracker> queueWait = new EnumMap<>(UpstreamPriority.class);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double virtualTime;
+    private int inFlight;
+
+    public UpstreamCallScheduler(int maxConcurrency, int interactiveReserved,
+                                 Map<UpstreamPriority, Integer> weights, long queueTimeoutMs) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.interactiveReserved = Math.max(0, Math.min(interactiveReserved, this.maxConcurrency - 1));
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            int weight = Math.max(1, weights.getOrDefault(priority, 1));
+            costs.put(priority, 1.0 / weight);
+            lastFinish.put(priority, 0.0);
+            queues.put(priority, new ArrayDeque<>());
+            queueWait.put(priority, new LatencyTracker(TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+
+    /**
+     * Espera un hueco para una llamada de la prioridad indicada. El permiso devuelto debe cerrarse
+     * al terminar la llamada; si no llega un hueco dentro del timeout de cola se lanza una IOException.
+     */
+    public Permit acquire(UpstreamPriority priority) throws IOException {
+        long enqueuedAt = System.nanoTime();
+        lock.lock();
+        try {
+            Waiter waiter = enqueue(priority);
+            dispatch();
+            long remaining = queueTimeoutNanos;
+            while (!waiter.granted) {
+                if (remaining <= 0) {
+                    queues.get(priority).remove(waiter);
+                    throw new IOException("Sin hueco para la llamada " + priority + " a la API externa tras "
+                            + TimeUnit.NANOSECONDS.toMillis(queueTimeoutNanos) + " ms en cola");
+                }
+                try {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    if (waiter.granted) {
+                        releaseSlot();
+                    } else {
+                        queues.get(priority).remove(waiter);
+                    }
+                    throw new InterruptedIOException("Espera de la llamada " + priority + " interrumpida");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        queueWait.get(priority).record(System.nanoTime() - enqueuedAt);
+        return new Permit(priority);
+    }
+
+    private Waiter enqueue(UpstreamPriority priority) {
+        double start = Math.max(virtualTime, lastFinish.get(priority));
+        double finish = start + costs.get(priority);
+        lastFinish.put(priority, finish);
+        Waiter waiter = new Waiter(priority, start, finish, lock.newCondition());
+        queues.get(priority).add(waiter);
+        return waiter;
+    }
+
+    /**
+     * Concede los huecos libres a las cabezas de cola con menor marca de fin
+     */
+    private void dispatch() {
+        while (true) {
+            Waiter next = null;
+            for (ArrayDeque<Waiter> queue : queues.values()) {
+                Waiter head = queue.peek();
+                if (head != null && hasCapacityFor(head.priority) && (next == null || head.finish < next.finish)) {
+                    next = head;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+            queues.get(next.priority).poll();
+            virtualTime = Math.max(virtualTime, next.start);
+            inFlight++;
+            next.granted = true;
+            next.condition.signal();
+        }
+    }
+
+    private boolean hasCapacityFor(UpstreamPriority priority) {
+        int limit = priority == UpstreamPriority.INTERACTIVE ? maxConcurrency : maxConcurrency - interactiveReserved;
+        return inFlight < limit;
+    }
+
+    private void releaseSlot() {
+        inFlight--;
+        dispatch();
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued(UpstreamPriority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Espera media reciente en cola de las llamadas de la prioridad indicada, en nanosegundos
+     */
+    public long getQueueWaitNanos(UpstreamPriority priority) {
+        return queueWait.get(priority).averageNanos();
+    }
+
+    private static final class Waiter {
+
+        private final UpstreamPriority priority;
+        private final double start;
+        private final double finish;
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(UpstreamPriority priority, double start, double finish, Condition condition) {
+            this.priority = priority;
+            this.start = start;
+            this.finish = finish;
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * Hueco concedido a una llamada; cerrarlo más de una vez no tiene efecto
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final UpstreamPriority priority;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(UpstreamPriority priority) {
+            this.priority = priority;
+        }
+
+        public UpstreamPriority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public void close() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            lock.lock();
+            try {
+                releaseSlot();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.martinhacker.jsonplaceholder.upstream;
+
+import com.martinhacker.jsonplaceholder.admission.LatencyTracker;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estado de una réplica de la API externa: latencia media (EWMA), peticiones en curso,
+ * fallos consecutivos y expulsión temporal
+ */
+public class UpstreamEndpoint {
+
+    private final String baseUrl;
+    private final LatencyTracker latency;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger ejections = new AtomicInteger();
+    private volatile long ejectedUntilNanos;
+    private volatile boolean ejected;
+
+    UpstreamEndpoint(String baseUrl, LatencyTracker latency) {
+        this.baseUrl = baseUrl;
+        this.latency = latency;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public URI resolve(String pathAndQuery) {
+        return URI.create(baseUrl + pathAndQuery);
+    }
+
+    public long getAverageLatencyNanos() {
+        return latency.averageNanos();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public boolean isEjected() {
+        return ejected;
+    }
+
+    /**
+     * Coste esperado de enviar una petición más: latencia media ponderada por la carga en curso.
+     * Sin muestras recientes la latencia cuenta como 0, de modo que una réplica sin datos se vuelve a explorar.
+     */
+    long score() {
+        return (latency.averageNanos() + 1) * (inFlight.get() + 1);
+    }
+
+    long ejectedUntilNanos() {
+        return ejectedUntilNanos;
+    }
+
+    boolean isAvailable(long nowNanos) {
+        return !ejected || nowNanos - ejectedUntilNanos >= 0;
+    }
+
+    void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    void end() {
+        inFlight.decrementAndGet();
+    }
+
+    void recordSuccess(long latencyNanos) {
+        latency.record(latencyNanos);
+        consecutiveFailures.set(0);
+        if (ejected) {
+            reinstate();
+        }
+    }
+
+    /**
+     * Registra un fallo y devuelve true si con él la réplica queda expulsada
+     */
+    boolean recordFailure(int failureThreshold, long baseEjectionNanos, long maxEjectionNanos, long nowNanos) {
+        if (consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return false;
+        }
+        // Cada expulsión consecutiva dobla la duración, hasta el máximo
+        int previousEjections = Math.min(ejections.getAndIncrement(), 20);
+        long duration = Math.min(maxEjectionNanos, baseEjectionNanos << previousEjections);
+        ejectedUntilNanos = nowNanos + duration;
+        // Tras la expulsión basta un fallo más para volver a expulsarla
+        consecutiveFailures.set(failureThreshold - 1);
+        boolean newlyEjected = !ejected;
+        ejected = true;
+        return newlyEjected;
+    }
+
+    void reinstate() {
+        ejected = false;
+        ejections.set(0);
+        consecutiveFailures.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl;
+    }
+}
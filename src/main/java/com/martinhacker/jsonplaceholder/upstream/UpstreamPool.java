@@ -0,0 +1,169 @@
+package com.martinhacker.jsonplaceholder.upstream;
+
+import com.martinhacker.jsonplaceholder.admission.LatencyTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Conjunto de réplicas de la API externa con selección por "power of two choices":
+ * en cada llamada se toman dos réplicas disponibles al azar y se elige la de menor latencia media
+ * ponderada por sus peticiones en curso. Las réplicas con fallos consecutivos se expulsan durante un tiempo
+ * que crece con cada expulsión; un sondeo periódico de salud las readmite en cuanto vuelven a responder.
+ */
+public class UpstreamPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamPool.class);
+
+    private final List<UpstreamEndpoint> endpoints;
+    private final ClientHttpRequestFactory probeRequestFactory;
+    private final String probePath;
+    private final int failureThreshold;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final LongSupplier nanoClock;
+    private ScheduledExecutorService prober;
+
+    public UpstreamPool(List<String> baseUrls, ClientHttpRequestFactory probeRequestFactory, String probePath,
+                        int failureThreshold, long ejectionMs, long maxEjectionMs) {
+        this(baseUrls, probeRequestFactory, probePath, failureThreshold, ejectionMs, maxEjectionMs, System::nanoTime);
+    }
+
+    UpstreamPool(List<String> baseUrls, ClientHttpRequestFactory probeRequestFactory, String probePath,
+                 int failureThreshold, long ejectionMs, long maxEjectionMs, LongSupplier nanoClock) {
+        if (baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una URL de la API externa");
+        }
+        List<UpstreamEndpoint> created = new ArrayList<>(baseUrls.size());
+        for (String baseUrl : baseUrls) {
+            created.add(new UpstreamEndpoint(stripTrailingSlash(baseUrl.trim()),
+                    new LatencyTracker(TimeUnit.SECONDS.toNanos(30), nanoClock)));
+        }
+        this.endpoints = List.copyOf(created);
+        this.probeRequestFactory = probeRequestFactory;
+        this.probePath = probePath;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.baseEjectionNanos = TimeUnit.MILLISECONDS.toNanos(ejectionMs);
+        this.maxEjectionNanos = Math.max(baseEjectionNanos, TimeUnit.MILLISECONDS.toNanos(maxEjectionMs));
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Inicia el sondeo periódico de salud de las réplicas
+     */
+    public synchronized void startProbing(long intervalMs) {
+        if (intervalMs <= 0 || prober != null) {
+            return;
+        }
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upstream-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(this::probeAll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Elige la réplica para la siguiente llamada, evitando la indicada (la que acaba de fallar) si hay otra.
+     * Si todas están expulsadas se usa la que antes cumple su expulsión, para no dejar de intentarlo.
+     */
+    public UpstreamEndpoint choose(UpstreamEndpoint exclude) {
+        long now = nanoClock.getAsLong();
+        List<UpstreamEndpoint> candidates = new ArrayList<>(endpoints.size());
+        for (UpstreamEndpoint endpoint : endpoints) {
+            if (endpoint != exclude && endpoint.isAvailable(now)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return exclude != null && endpoints.size() == 1 ? exclude : leastRecentlyEjected(exclude);
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        UpstreamEndpoint a = candidates.get(first);
+        UpstreamEndpoint b = candidates.get(second);
+        return a.score() <= b.score() ? a : b;
+    }
+
+    public void recordSuccess(UpstreamEndpoint endpoint, long latencyNanos) {
+        boolean wasEjected = endpoint.isEjected();
+        endpoint.recordSuccess(latencyNanos);
+        if (wasEjected) {
+            logger.info("Réplica {} readmitida", endpoint);
+        }
+    }
+
+    public void recordFailure(UpstreamEndpoint endpoint) {
+        if (endpoint.recordFailure(failureThreshold, baseEjectionNanos, maxEjectionNanos, nanoClock.getAsLong())) {
+            logger.warn("Réplica {} expulsada tras {} fallos consecutivos", endpoint, failureThreshold);
+        }
+    }
+
+    /**
+     * Sondea todas las réplicas: readmite las expulsadas que responden y cuenta como fallo
+     * el sondeo fallido de una réplica activa
+     */
+    public void probeAll() {
+        for (UpstreamEndpoint endpoint : endpoints) {
+            long start = System.nanoTime();
+            try (ClientHttpResponse response = probeRequestFactory
+                    .createRequest(endpoint.resolve(probePath), HttpMethod.GET).execute()) {
+                if (response.getStatusCode().is5xxServerError()) {
+                    recordFailure(endpoint);
+                } else {
+                    recordSuccess(endpoint, System.nanoTime() - start);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Sondeo de salud fallido en {}: {}", endpoint, e.getMessage());
+                recordFailure(endpoint);
+            }
+        }
+    }
+
+    public List<UpstreamEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+            prober = null;
+        }
+    }
+
+    private UpstreamEndpoint leastRecentlyEjected(UpstreamEndpoint exclude) {
+        UpstreamEndpoint best = null;
+        for (UpstreamEndpoint endpoint : endpoints) {
+            if (endpoint == exclude) {
+                continue;
+            }
+            if (best == null || endpoint.ejectedUntilNanos() - best.ejectedUntilNanos() < 0) {
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,44 @@
+package com.martinhacker.jsonplaceholder.upstream;
+
+import java.util.function.Supplier;
+
+/**
+ * Clase de prioridad de una llamada a la API externa, asociada al hilo que la hace.
+ * Sin prioridad asignada una llamada es INTERACTIVE: las peticiones HTTP de una sola entidad
+ * se atienden en hilos de Tomcat, mientras que los pools de agregación y de precarga
+ * marcan su trabajo como BULK y BACKGROUND.
+ */
+public enum UpstreamPriority {
+    INTERACTIVE, BULK, BACKGROUND;
+
+    private static final ThreadLocal<UpstreamPriority> CURRENT = new ThreadLocal<>();
+
+    public static UpstreamPriority current() {
+        UpstreamPriority priority = CURRENT.get();
+        return priority != null ? priority : INTERACTIVE;
+    }
+
+    /**
+     * Ejecuta la tarea con esta prioridad y restaura la anterior al terminar
+     */
+    public void run(Runnable task) {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> T call(Supplier<T> task) {
+        UpstreamPriority previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.martinhacker.jsonplaceholder.upstream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Encamina las peticiones dirigidas a la URL base lógica de la API externa hacia la réplica que elige
+ * el {@link UpstreamPool}, conservando la ruta y la query. La latencia registrada es el tiempo hasta
+ * recibir la respuesta (cabeceras), no la lectura del cuerpo. Las peticiones idempotentes que fallan
+ * por E/S o con 5xx se reintentan una vez en otra réplica.
+ */
+public class UpstreamRoutingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRoutingClientHttpRequestFactory.class);
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final ClientHttpRequestFactory delegate;
+    private final UpstreamPool pool;
+    private final String logicalBaseUrl;
+
+    public UpstreamRoutingClientHttpRequestFactory(ClientHttpRequestFactory delegate, UpstreamPool pool,
+                                                   String logicalBaseUrl) {
+        this.delegate = delegate;
+        this.pool = pool;
+        this.logicalBaseUrl = logicalBaseUrl.endsWith("/")
+                ? logicalBaseUrl.substring(0, logicalBaseUrl.length() - 1)
+                : logicalBaseUrl;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        String url = uri.toString();
+        if (!isUnderLogicalBaseUrl(url)) {
+            return delegate.createRequest(uri, httpMethod);
+        }
+        return new RoutedRequest(uri, httpMethod, url.substring(logicalBaseUrl.length()));
+    }
+
+    /**
+     * La URL base debe terminar en un límite de ruta: https://host.com no incluye https://host.com.otro/...
+     */
+    private boolean isUnderLogicalBaseUrl(String url) {
+        if (!url.startsWith(logicalBaseUrl)) {
+            return false;
+        }
+        if (url.length() == logicalBaseUrl.length()) {
+            return true;
+        }
+        char next = url.charAt(logicalBaseUrl.length());
+        return next == '/' || next == '?';
+    }
+
+    private ClientHttpResponse execute(HttpMethod method, String pathAndQuery, HttpHeaders headers, byte[] body)
+            throws IOException {
+        boolean idempotent = method == HttpMethod.GET || method == HttpMethod.HEAD;
+        UpstreamEndpoint previous = null;
+        for (int attempt = 1; ; attempt++) {
+            UpstreamEndpoint endpoint = pool.choose(previous);
+            boolean canRetry = idempotent && attempt < MAX_ATTEMPTS && endpoint != previous;
+            ClientHttpResponse response;
+            try {
+                response = executeOn(endpoint, method, pathAndQuery, headers, body);
+            } catch (IOException e) {
+                if (!canRetry || pool.getEndpoints().size() == 1) {
+                    throw e;
+                }
+                logger.debug("Fallo de E/S en {} para {} {}: se reintenta en otra réplica", endpoint, method, pathAndQuery);
+                previous = endpoint;
+                continue;
+            }
+            if (response.getStatusCode().is5xxServerError() && canRetry && pool.getEndpoints().size() > 1) {
+                logger.debug("Respuesta {} de {} para {} {}: se reintenta en otra réplica",
+                        response.getStatusCode().value(), endpoint, method, pathAndQuery);
+                response.close();
+                previous = endpoint;
+                continue;
+            }
+            return response;
+        }
+    }
+
+    private ClientHttpResponse executeOn(UpstreamEndpoint endpoint, HttpMethod method, String pathAndQuery,
+                                         HttpHeaders headers, byte[] body) throws IOException {
+        endpoint.begin();
+        long start = System.nanoTime();
+        try {
+            ClientHttpRequest request = delegate.createRequest(endpoint.resolve(pathAndQuery), method);
+            request.getHeaders().putAll(headers);
+            if (body.length > 0) {
+                request.getBody().write(body);
+            }
+            ClientHttpResponse response = request.execute();
+            if (response.getStatusCode().is5xxServerError()) {
+                pool.recordFailure(endpoint);
+            } else {
+                pool.recordSuccess(endpoint, System.nanoTime() - start);
+            }
+            return response;
+        } catch (IOException e) {
+            pool.recordFailure(endpoint);
+            throw e;
+        } finally {
+            endpoint.end();
+        }
+    }
+
+    private class RoutedRequest implements ClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final String pathAndQuery;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private RoutedRequest(URI uri, HttpMethod method, String pathAndQuery) {
+            this.uri = uri;
+            this.method = method;
+            this.pathAndQuery = pathAndQuery;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            return UpstreamRoutingClientHttpRequestFactory.this.execute(method, pathAndQuery, headers, body.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.martinhacker.jsonplaceholder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de extremo a extremo sin red: el perfil test reproduce las respuestas de JSONPlaceholder
+ * grabadas en src/test/resources/upstream-recordings (upstream.record-replay.mode=replay)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class JsonPlaceholderApiApplicationReplayTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void getAllPosts_ShouldMergeRecordedPostsUsersAndComments() {
+        // Act
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/api/posts", JsonNode.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode posts = response.getBody().get("data");
+        assertEquals(2, posts.size());
+        assertEquals("Leanne Graham", posts.get(0).get("user").get("name").asText());
+        assertEquals(2, posts.get(0).get("comments").size());
+        assertEquals(1, posts.get(1).get("comments").size());
+        assertEquals("Leanne Graham", posts.get(1).get("user").get("name").asText());
+    }
+
+    @Test
+    void getPostById_ShouldServeRecordedPost() {
+        // Act
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/api/posts/1", JsonNode.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().get("data").get("id").asInt());
+        assertEquals(1, response.getBody().get("data").get("userId").asInt());
+    }
+
+    @Test
+    void getPostById_WhenRecordedResponseIs404_ShouldReturnNotFound() {
+        // Act
+        ResponseEntity<JsonNode> response = restTemplate.getForEntity("/api/posts/999", JsonNode.class);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertFalse(response.getBody().get("success").asBoolean());
+    }
+}
@@ -0,0 +1,18 @@
+package com.martinhacker.jsonplaceholder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Comprueba que el contexto completo arranca: detecta beans que Spring no sabe construir
+ * (p. ej. un @Component con varios constructores y ninguno marcado con @Autowired)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class JsonPlaceholderApiApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+}
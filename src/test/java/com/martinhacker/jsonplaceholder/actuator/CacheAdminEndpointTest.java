@@ -0,0 +1,128 @@
+package com.martinhacker.jsonplaceholder.actuator;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.service.JsonPlaceholderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CacheAdminEndpointTest {
+
+    private CaffeineCacheManager cacheManager;
+    private JsonPlaceholderService jsonPlaceholderService;
+    private CacheAdminEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        // Nombres fijos, como en CacheConfig: una cache desconocida no se crea bajo demanda
+        cacheManager = new CaffeineCacheManager(CacheNames.POSTS, CacheNames.USERS);
+        for (String name : List.of(CacheNames.POSTS, CacheNames.USERS)) {
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .expireAfterWrite(Duration.ofMinutes(5))
+                    .recordStats()
+                    .build());
+        }
+        jsonPlaceholderService = mock(JsonPlaceholderService.class);
+        endpoint = new CacheAdminEndpoint(cacheManager, jsonPlaceholderService, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.shutdown();
+    }
+
+    @Test
+    void cache_ShouldReportSizeBytesAndHitRatio() {
+        // Arrange
+        Cache posts = cacheManager.getCache(CacheNames.POSTS);
+        posts.put(1L, new Post(1L, "título", "cuerpo", 1L));
+        posts.get(1L);
+        posts.get(2L);
+
+        // Act
+        CacheAdminEndpoint.CacheSummary summary = endpoint.cache(CacheNames.POSTS);
+
+        // Assert
+        assertEquals(1, summary.size());
+        assertTrue(summary.estimatedBytes() > 0);
+        assertEquals(0.5, summary.hitRatio(), 0.001);
+        assertNotNull(summary.oldestEntryAgeMs());
+        assertNull(endpoint.cache("inexistente"));
+        assertTrue(endpoint.caches().containsKey(CacheNames.USERS));
+    }
+
+    @Test
+    void evict_ShouldRemoveSingleKeyOrWholeCache() {
+        // Arrange
+        Cache posts = cacheManager.getCache(CacheNames.POSTS);
+        posts.put(1L, new Post(1L, "a", "b", 1L));
+        posts.put(2L, new Post(2L, "a", "b", 1L));
+
+        // Act
+        endpoint.evict(CacheNames.POSTS, "1");
+
+        // Assert
+        assertNull(posts.get(1L));
+        assertNotNull(posts.get(2L));
+
+        // Act
+        endpoint.evict(CacheNames.POSTS, null);
+
+        // Assert
+        assertNull(posts.get(2L));
+    }
+
+    @Test
+    void refresh_ShouldReplacePresentKeysWithoutEvictingThem() {
+        // Arrange
+        Post stale = new Post(7L, "viejo", "b", 1L);
+        cacheManager.getCache(CacheNames.POSTS).put(7L, stale);
+
+        // Act
+        CacheAdminEndpoint.CacheOperation operation =
+                endpoint.start(CacheNames.POSTS, CacheAdminEndpoint.Action.REFRESH).join();
+
+        // Assert
+        assertEquals(CacheAdminEndpoint.OperationState.COMPLETED, operation.state());
+        assertEquals(1, operation.loaded());
+        verify(jsonPlaceholderService).refreshPostById(7L);
+        verify(jsonPlaceholderService, never()).getPostById(anyLong());
+        // El mock no sustituye la entrada: la vieja sigue ahí porque nunca se expulsó
+        assertSame(stale, cacheManager.getCache(CacheNames.POSTS).get(7L).get());
+        assertEquals(operation, endpoint.cache(CacheNames.POSTS).lastOperation());
+    }
+
+    @Test
+    void warm_ShouldLoadUsersOfKnownPosts() {
+        // Arrange
+        when(jsonPlaceholderService.getPosts()).thenReturn(List.of(
+                new Post(1L, "a", "b", 1L), new Post(2L, "a", "b", 1L), new Post(3L, "a", "b", 2L)));
+
+        // Act
+        CacheAdminEndpoint.CacheOperation operation =
+                endpoint.start(CacheNames.USERS, CacheAdminEndpoint.Action.WARM).join();
+
+        // Assert
+        assertEquals(2, operation.loaded());
+        verify(jsonPlaceholderService).getUserById(1L);
+        verify(jsonPlaceholderService).getUserById(2L);
+    }
+
+    @Test
+    void load_WithUnknownAction_ShouldBeRejected() {
+        // Act & Assert
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.load(CacheNames.POSTS, "reload"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.martinhacker.jsonplaceholder.admission;
+
+import com.martinhacker.jsonplaceholder.admission.LoadShedder.Priority;
+import com.martinhacker.jsonplaceholder.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadShedderTest {
+
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicInteger upstreamQueued = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoadShedder loadShedder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 3 peticiones en curso como máximo, 2 de ellas agregaciones; 250 ms de cola, 100 llamadas esperando
+        // en el planificador y 3 s de latencia objetivo
+        loadShedder = new LoadShedder(queueWaitNanos::get, upstreamQueued::get, meterRegistry, 3, 2, 250, 100, 3000,
+                new LatencyTracker(TimeUnit.SECONDS.toNanos(10), clock::get));
+    }
+
+    @Test
+    void acquire_ShouldShedAggregateBeforeLookups() {
+        // Arrange
+        loadShedder.acquire(Priority.AGGREGATE);
+        loadShedder.acquire(Priority.AGGREGATE);
+
+        // Act
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> loadShedder.acquire(Priority.AGGREGATE));
+        loadShedder.acquire(Priority.LOOKUP);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        assertEquals(1.0, shedCount("aggregate", "in_flight"));
+        assertEquals(3.0, meterRegistry.get("admission.in_flight").tag("priority", "aggregate").gauge().value()
+                + meterRegistry.get("admission.in_flight").tag("priority", "lookup").gauge().value());
+    }
+
+    @Test
+    void acquire_ShouldShedLookupsOnlyAtGlobalLimit() {
+        // Arrange
+        loadShedder.acquire(Priority.LOOKUP);
+        loadShedder.acquire(Priority.LOOKUP);
+        loadShedder.acquire(Priority.LOOKUP);
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> loadShedder.acquire(Priority.LOOKUP));
+        loadShedder.release(Priority.LOOKUP, 1_000_000);
+        loadShedder.acquire(Priority.LOOKUP);
+        assertEquals(1.0, shedCount("lookup", "in_flight"));
+    }
+
+    @Test
+    void acquire_WhenExecutorQueueIsBackedUp_ShouldShedAggregateOnly() {
+        // Arrange
+        queueWaitNanos.set(TimeUnit.MILLISECONDS.toNanos(800));
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> loadShedder.acquire(Priority.AGGREGATE));
+        loadShedder.acquire(Priority.LOOKUP);
+        assertEquals(1.0, shedCount("aggregate", "queue_wait"));
+    }
+
+    @Test
+    void acquire_WhenSchedulerQueueIsBackedUp_ShouldShedAggregateOnly() {
+        // Arrange
+        upstreamQueued.set(101);
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> loadShedder.acquire(Priority.AGGREGATE));
+        loadShedder.acquire(Priority.LOOKUP);
+        assertEquals(1.0, shedCount("aggregate", "upstream_queue"));
+
+        upstreamQueued.set(100);
+        loadShedder.acquire(Priority.AGGREGATE);
+    }
+
+    @Test
+    void acquire_WhenRecentLatencyIsHigh_ShouldAdmitOneAggregateAtATime() {
+        // Arrange
+        loadShedder.acquire(Priority.AGGREGATE);
+        loadShedder.release(Priority.AGGREGATE, TimeUnit.SECONDS.toNanos(8));
+        loadShedder.acquire(Priority.AGGREGATE);
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> loadShedder.acquire(Priority.AGGREGATE));
+        assertEquals(1.0, shedCount("aggregate", "latency"));
+
+        // Sin muestras recientes la latencia deja de penalizar
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        loadShedder.acquire(Priority.AGGREGATE);
+    }
+
+    private double shedCount(String priority, String reason) {
+        return meterRegistry.get("admission.shed").tag("priority", priority).tag("reason", reason).counter().count();
+    }
+}
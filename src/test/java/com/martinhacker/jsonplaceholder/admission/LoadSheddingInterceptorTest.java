@@ -0,0 +1,48 @@
+package com.martinhacker.jsonplaceholder.admission;
+
+import com.martinhacker.jsonplaceholder.admission.LoadShedder.Priority;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LoadSheddingInterceptorTest {
+
+    private final LoadShedder loadShedder = mock(LoadShedder.class);
+    private final LoadSheddingInterceptor interceptor = new LoadSheddingInterceptor(loadShedder);
+
+    @Test
+    void priorityOf_ShouldClassifyFullAggregationAsAggregate() {
+        // Arrange
+        MockHttpServletRequest byIds = new MockHttpServletRequest("GET", "/api/posts");
+        byIds.setParameter("ids", "1,2");
+
+        // Act & Assert
+        assertEquals(Priority.AGGREGATE, LoadSheddingInterceptor.priorityOf(new MockHttpServletRequest("GET", "/api/posts")));
+        assertEquals(Priority.LOOKUP, LoadSheddingInterceptor.priorityOf(byIds));
+        assertEquals(Priority.LOOKUP, LoadSheddingInterceptor.priorityOf(new MockHttpServletRequest("GET", "/api/posts/1")));
+    }
+
+    @Test
+    void asyncRequest_ShouldBeReleasedOnceAfterAsyncDispatch() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act: despacho inicial (el hilo se libera sin afterCompletion) y despacho asíncrono
+        interceptor.preHandle(request, response, new Object());
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        verify(loadShedder, times(1)).acquire(Priority.AGGREGATE);
+        verify(loadShedder, times(1)).release(eq(Priority.AGGREGATE), anyLong());
+    }
+}
@@ -0,0 +1,69 @@
+package com.martinhacker.jsonplaceholder.benchmark;
+
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos sintéticos compartidos por los benchmarks de serialización
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {}
+
+    /**
+     * Posts como los de GET /api/posts: 10 posts por usuario y 5 comentarios por post
+     */
+    static List<Post> postsWithDetails(int count) {
+        List<User> users = new ArrayList<>();
+        for (long userId = 1; userId <= 10; userId++) {
+            users.add(generateUser(userId));
+        }
+
+        List<Post> posts = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            long userId = (id - 1) / 10 + 1;
+            Post post = new Post(id, "sunt aut facere repellat provident occaecati " + id,
+                    "quia et suscipit\nsuscipit recusandae consequuntur expedita et cum " + id, userId);
+            post.setUser(users.get((int) ((userId - 1) % users.size())));
+
+            List<Comment> comments = new ArrayList<>();
+            for (long c = 1; c <= 5; c++) {
+                long commentId = (id - 1) * 5 + c;
+                comments.add(new Comment(commentId, id, "id labore ex et quam laborum",
+                        "Eliseo@gardner.biz", "laudantium enim quasi est quidem magnam voluptate ipsam eos " + commentId));
+            }
+            post.setComments(comments);
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    private static User generateUser(long id) {
+        User.Address.Geo geo = new User.Address.Geo();
+        geo.setLat("-37.3159");
+        geo.setLng("81.1496");
+
+        User.Address address = new User.Address();
+        address.setStreet("Kulas Light");
+        address.setSuite("Apt. 556");
+        address.setCity("Gwenborough");
+        address.setZipcode("92998-3874");
+        address.setGeo(geo);
+
+        User.Company company = new User.Company();
+        company.setName("Romaguera-Crona");
+        company.setCatchPhrase("Multi-layered client-server neural-net");
+        company.setBs("harness real-time e-markets");
+
+        User user = new User(id, "Leanne Graham", "Bret", "Sincere@april.biz");
+        user.setAddress(address);
+        user.setPhone("1-770-736-8031 x56442");
+        user.setWebsite("hildegard.org");
+        user.setCompany(company);
+        return user;
+    }
+}
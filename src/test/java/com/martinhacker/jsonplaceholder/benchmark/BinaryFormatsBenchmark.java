@@ -0,0 +1,138 @@
+package com.martinhacker.jsonplaceholder.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.protobuf.ApiResponseProtobufCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tiempo de codificación y decodificación de la respuesta de GET /api/posts (100 posts con usuario
+ * y 5 comentarios cada uno) en JSON, Smile, CBOR y Protobuf. Antes de JMH imprime el tamaño del
+ * payload de cada formato, en crudo y con gzip. Ejecutar con
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=...BinaryFormatsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatsBenchmark {
+
+    private static final String[] FORMATS = {"json", "smile", "cbor", "protobuf"};
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    private String format;
+
+    private Codec codec;
+    private ApiResponse<List<Post>> response;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        codec = codecFor(format);
+        response = ApiResponse.success("Se obtuvieron 100 posts", BenchmarkData.postsWithDetails(100));
+        encoded = codec.encode(response);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(response);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return codec.decode(encoded);
+    }
+
+    public static void main(String[] args) throws Exception {
+        ApiResponse<List<Post>> response = ApiResponse.success("Se obtuvieron 100 posts", BenchmarkData.postsWithDetails(100));
+        for (String format : FORMATS) {
+            byte[] payload = codecFor(format).encode(response);
+            System.out.printf("  %-8s %,8d B  gzip=%,7d B%n", format, payload.length, gzippedSize(payload));
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(BinaryFormatsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    private static Codec codecFor(String format) {
+        return switch (format) {
+            case "smile" -> jacksonCodec(new ObjectMapper(new SmileFactory()));
+            case "cbor" -> jacksonCodec(new ObjectMapper(new CBORFactory()));
+            case "protobuf" -> new Codec() {
+                @Override
+                public byte[] encode(ApiResponse<?> value) throws IOException {
+                    ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    ApiResponseProtobufCodec.encode(value, output);
+                    return output.toByteArray();
+                }
+
+                @Override
+                public Object decode(byte[] payload) throws IOException {
+                    return ApiResponseProtobufCodec.decode(new ByteArrayInputStream(payload));
+                }
+            };
+            default -> jacksonCodec(new ObjectMapper());
+        };
+    }
+
+    private static Codec jacksonCodec(ObjectMapper mapper) {
+        ObjectWriter writer = mapper.writer();
+        ObjectReader reader = mapper.readerFor(new TypeReference<ApiResponse<List<Post>>>() {});
+        return new Codec() {
+            @Override
+            public byte[] encode(ApiResponse<?> value) throws IOException {
+                return writer.writeValueAsBytes(value);
+            }
+
+            @Override
+            public Object decode(byte[] payload) throws IOException {
+                return reader.readValue(payload);
+            }
+        };
+    }
+
+    private static int gzippedSize(byte[] payload) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(payload);
+        }
+        return output.size();
+    }
+
+    private interface Codec {
+        byte[] encode(ApiResponse<?> value) throws IOException;
+
+        Object decode(byte[] payload) throws IOException;
+    }
+}
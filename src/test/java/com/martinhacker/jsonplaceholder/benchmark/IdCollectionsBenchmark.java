@@ -0,0 +1,192 @@
+package com.martinhacker.jsonplaceholder.benchmark;
+
+import com.martinhacker.jsonplaceholder.collection.LongArrayList;
+import com.martinhacker.jsonplaceholder.collection.LongGrouping;
+import com.martinhacker.jsonplaceholder.collection.LongObjectHashMap;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara las estructuras por ID con claves boxed ({@link HashMap}) frente a las primitivas
+ * ({@link LongObjectHashMap}): tiempo del join posts ↔ usuarios, construcción del índice
+ * userId → posts y búsqueda por ID. Ejecutar con {@code mvn -Pbenchmark test-compile exec:exec};
+ * el perfilador GC informa de la tasa de asignación, y antes se imprime la huella en heap de cada estructura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdCollectionsBenchmark {
+
+    // 100 posts / 10 usuarios es el dataset actual; 10000 / 1000 es la escala 100x
+    @Param({"100", "10000"})
+    private int postCount;
+
+    private List<Post> posts;
+    private Map<Long, User> boxedUsers;
+    private LongObjectHashMap<User> primitiveUsers;
+    private Map<Long, Post> boxedPostsById;
+    private LongObjectHashMap<Post> primitivePostsById;
+    private long[] lookupIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        posts = generatePosts(postCount);
+
+        int userCount = Math.max(1, postCount / 10);
+        boxedUsers = new HashMap<>();
+        primitiveUsers = new LongObjectHashMap<>(userCount);
+        for (long userId = 1; userId <= userCount; userId++) {
+            User user = new User();
+            user.setId(userId);
+            boxedUsers.put(userId, user);
+            primitiveUsers.put(userId, user);
+        }
+
+        boxedPostsById = buildBoxedPostsById(posts);
+        primitivePostsById = buildPrimitivePostsById(posts);
+        lookupIds = posts.stream().mapToLong(Post::getId).toArray();
+    }
+
+    @Benchmark
+    public void joinBoxed(Blackhole blackhole) {
+        Map<Long, List<Post>> postsByUser = new HashMap<>();
+        for (Post post : posts) {
+            postsByUser.computeIfAbsent(post.getUserId(), userId -> new ArrayList<>()).add(post);
+        }
+        postsByUser.forEach((userId, userPosts) -> {
+            User user = boxedUsers.get(userId);
+            for (Post post : userPosts) {
+                post.setUser(user);
+            }
+        });
+        blackhole.consume(postsByUser);
+    }
+
+    @Benchmark
+    public void joinPrimitive(Blackhole blackhole) {
+        LongObjectHashMap<int[]> postsByUser = LongGrouping.indicesByKey(posts, Post::getUserId);
+        postsByUser.forEach((userId, positions) -> {
+            User user = primitiveUsers.get(userId);
+            for (int position : positions) {
+                posts.get(position).setUser(user);
+            }
+        });
+        blackhole.consume(postsByUser);
+    }
+
+    @Benchmark
+    public Object indexBoxed() {
+        Map<Long, Set<Long>> postIdsByUser = new HashMap<>();
+        for (Post post : posts) {
+            postIdsByUser.computeIfAbsent(post.getUserId(), userId -> new LinkedHashSet<>()).add(post.getId());
+        }
+        return postIdsByUser;
+    }
+
+    @Benchmark
+    public Object indexPrimitive() {
+        LongObjectHashMap<LongArrayList> postIdsByUser = new LongObjectHashMap<>();
+        for (Post post : posts) {
+            postIdsByUser.computeIfAbsent(post.getUserId(), userId -> new LongArrayList()).addIfAbsent(post.getId());
+        }
+        return postIdsByUser;
+    }
+
+    @Benchmark
+    public void lookupBoxed(Blackhole blackhole) {
+        for (long id : lookupIds) {
+            blackhole.consume(boxedPostsById.get(id));
+        }
+    }
+
+    @Benchmark
+    public void lookupPrimitive(Blackhole blackhole) {
+        for (long id : lookupIds) {
+            blackhole.consume(primitivePostsById.get(id));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        printFootprint(100);
+        printFootprint(10_000);
+
+        new Runner(new OptionsBuilder()
+                .include(IdCollectionsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * Huella en heap de cada estructura, descontando los posts a los que apuntan
+     */
+    private static void printFootprint(int postCount) {
+        List<Post> posts = generatePosts(postCount);
+        GraphLayout postsLayout = GraphLayout.parseInstance(posts.toArray());
+
+        Map<Long, Set<Long>> boxedIndex = new HashMap<>();
+        LongObjectHashMap<LongArrayList> primitiveIndex = new LongObjectHashMap<>();
+        for (Post post : posts) {
+            boxedIndex.computeIfAbsent(post.getUserId(), userId -> new LinkedHashSet<>()).add(post.getId());
+            primitiveIndex.computeIfAbsent(post.getUserId(), userId -> new LongArrayList()).addIfAbsent(post.getId());
+        }
+
+        System.out.printf("posts=%d%n", postCount);
+        System.out.printf("  postsById      boxed=%,d B  primitive=%,d B%n",
+                GraphLayout.parseInstance(buildBoxedPostsById(posts)).subtract(postsLayout).totalSize(),
+                GraphLayout.parseInstance(buildPrimitivePostsById(posts)).subtract(postsLayout).totalSize());
+        // Los IDs boxed del índice son los mismos objetos Long que cuelgan de los posts
+        System.out.printf("  postIdsByUser  boxed=%,d B  primitive=%,d B%n",
+                GraphLayout.parseInstance(boxedIndex).subtract(postsLayout).totalSize(),
+                GraphLayout.parseInstance(primitiveIndex).totalSize());
+    }
+
+    private static List<Post> generatePosts(int count) {
+        int userCount = Math.max(1, count / 10);
+        List<Post> posts = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            posts.add(new Post(id, "title " + id, "body " + id, (id - 1) % userCount + 1));
+        }
+        return posts;
+    }
+
+    private static Map<Long, Post> buildBoxedPostsById(List<Post> posts) {
+        Map<Long, Post> postsById = new HashMap<>();
+        posts.forEach(post -> postsById.put(post.getId(), post));
+        return postsById;
+    }
+
+    private static LongObjectHashMap<Post> buildPrimitivePostsById(List<Post> posts) {
+        LongObjectHashMap<Post> postsById = new LongObjectHashMap<>(posts.size());
+        posts.forEach(post -> postsById.put(post.getId(), post));
+        return postsById;
+    }
+}
@@ -0,0 +1,71 @@
+package com.martinhacker.jsonplaceholder.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.martinhacker.jsonplaceholder.json.ModelSerializersModule;
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput y tasa de asignación al serializar la respuesta de GET /api/posts
+ * (100 posts con usuario y 5 comentarios cada uno) según json.serialization.mode.
+ * Ejecutar con {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=...JsonSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"jackson", "blackbird", "custom"})
+    private String mode;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<Post>> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        switch (mode) {
+            case "blackbird" -> mapper.registerModule(new BlackbirdModule());
+            case "custom" -> mapper.registerModule(new ModelSerializersModule());
+            default -> { }
+        }
+        writer = mapper.writer();
+        response = ApiResponse.success("Se obtuvieron 100 posts", BenchmarkData.postsWithDetails(100));
+    }
+
+    @Benchmark
+    public byte[] serializeAllPosts() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,134 @@
+package com.martinhacker.jsonplaceholder.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Tiempo hasta la primera respuesta correcta de GET /api/posts desde que se lanza el proceso, con el
+ * fat jar estándar y, si existe, con el build del perfil fast-startup (AOT + AppCDS). No es un benchmark
+ * JMH: cada medición es un arranque en frío de una JVM nueva. Ejecutar con
+ * {@code mvn -Pfast-startup,benchmark -DskipTests package exec:exec -Dbenchmark.class=...StartupBenchmark}
+ * (-Dstartup.runs=N para cambiar el número de arranques por modo; -Dstartup.replay-dir=DIR sirve la API externa
+ * desde respuestas grabadas con upstream.record-replay.mode=record, sin red ni variación de latencia).
+ */
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path target = Path.of("target");
+        Path fastStartupDir = target.resolve("fast-startup");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("standard", List.of("-jar", findJar(target, "").toString()));
+        if (Files.exists(fastStartupDir.resolve("application.jsa"))) {
+            modes.put("fast-startup", List.of(
+                    "-XX:SharedArchiveFile=" + fastStartupDir.resolve("application.jsa"),
+                    "-Dspring.aot.enabled=true",
+                    "-jar", findJar(fastStartupDir, "-fast-startup").toString()));
+        } else {
+            System.out.println("Sin target/fast-startup/application.jsa: solo se mide el modo estándar");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        modes.forEach((mode, jvmArgs) -> {
+            List<Long> samples = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                samples.add(timeToFirstPosts(client, jvmArgs));
+            }
+            Collections.sort(samples);
+            System.out.printf("%-13s mediana=%,d ms  min=%,d ms  max=%,d ms  (%d arranques)%n",
+                    mode, samples.get(samples.size() / 2), samples.get(0), samples.get(samples.size() - 1), runs);
+        });
+    }
+
+    private static long timeToFirstPosts(HttpClient client, List<String> jvmArgs) {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("--server.port=" + port);
+        String replayDir = System.getProperty("startup.replay-dir");
+        if (replayDir != null) {
+            command.add("--upstream.record-replay.mode=replay");
+            command.add("--upstream.record-replay.directory=" + replayDir);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/posts"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = null;
+        try {
+            process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Aún no escucha en el puerto
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException("La aplicación no respondió en " + STARTUP_TIMEOUT.toSeconds() + " s");
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException("No se pudo medir el arranque: " + e.getMessage(), e);
+        } finally {
+            if (process != null) {
+                stop(process);
+            }
+        }
+    }
+
+    private static void stop(Process process) {
+        process.destroy();
+        try {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+
+    private static Path findJar(Path directory, String classifier) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("jsonplaceholder-api-") && name.endsWith(classifier + ".jar"))
+                    .filter(name -> !classifier.isEmpty() || !name.contains("-fast-startup"))
+                    .map(directory::resolve)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No se encontró el jar en " + directory + "; ejecute mvn package"));
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("No hay puertos libres", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetainedSizeWeigherTest {
+
+    private final RetainedSizeWeigher weigher = new RetainedSizeWeigher();
+
+    @Test
+    void estimate_ShouldGrowWithContent() {
+        // Arrange
+        Comment shortComment = new Comment(1L, 1L, "n", "a@b.com", "x");
+        Comment longComment = new Comment(2L, 1L, "n", "a@b.com", "x".repeat(1000));
+
+        // Act & Assert
+        assertTrue(RetainedSizeWeigher.estimate(longComment) - RetainedSizeWeigher.estimate(shortComment) >= 999);
+        assertEquals(RetainedSizeWeigher.estimate(shortComment) + RetainedSizeWeigher.estimate(longComment),
+                RetainedSizeWeigher.estimate(List.of(shortComment, longComment)) - 32 - 8);
+    }
+
+    @Test
+    void estimate_ForEnrichedPost_ShouldCountUserAndComments() {
+        // Arrange
+        Post post = new Post(1L, "título", "cuerpo", 1L);
+        long plain = RetainedSizeWeigher.estimate(post);
+        User user = new User();
+        user.setName("x".repeat(500));
+        Comment comment = new Comment(1L, 1L, "n", "a@b.com", "y".repeat(500));
+        post.setUser(user);
+        post.setComments(List.of(comment));
+
+        // Act
+        long enriched = RetainedSizeWeigher.estimate(post);
+
+        // Assert
+        assertTrue(enriched >= plain + 1000);
+        assertEquals(plain + RetainedSizeWeigher.estimate(user) + RetainedSizeWeigher.estimate(List.of(comment)),
+                enriched);
+        assertTrue(weigher.weigh(1L, post) > weigher.weigh(1L, new Post(1L, "título", "cuerpo", 1L)));
+    }
+
+    @Test
+    void maximumWeight_ShouldEvictByEstimatedBytesInsteadOfEntryCount() {
+        // Arrange
+        Cache<Object, Object> cache = Caffeine.newBuilder()
+                .maximumWeight(64 * 1024)
+                .weigher(weigher)
+                .executor(Runnable::run)
+                .build();
+
+        // Act
+        for (long id = 1; id <= 50; id++) {
+            cache.put(id, new Post(id, "t", "b", 1L));
+        }
+        cache.put("huge", new Post(99L, "t", "b".repeat(200_000), 1L));
+        cache.cleanUp();
+
+        // Assert
+        assertNull(cache.getIfPresent("huge"));
+        assertEquals(50, cache.estimatedSize());
+    }
+}
@@ -0,0 +1,140 @@
+package com.martinhacker.jsonplaceholder.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoLevelCacheManagerTest {
+
+    private TwoLevelCacheManager nodeA;
+    private TwoLevelCacheManager nodeB;
+    private SharedCacheStore sharedStore;
+
+    @BeforeEach
+    void setUp() {
+        // Cada test usa su propio cluster para no compartir estado estático
+        String clusterName = "test-" + UUID.randomUUID();
+        sharedStore = InMemorySharedCacheStore.forCluster(clusterName, Duration.ofMinutes(5));
+        CacheInvalidationBus bus = InMemoryInvalidationBus.forCluster(clusterName);
+
+        nodeA = new TwoLevelCacheManager(localCaches(), sharedStore, bus, "node-a");
+        nodeB = new TwoLevelCacheManager(localCaches(), sharedStore, bus, "node-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.destroy();
+        nodeB.destroy();
+    }
+
+    private static Map<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>> localCaches() {
+        return Map.of("posts", Caffeine.newBuilder().maximumSize(100).build());
+    }
+
+    @Test
+    void forCluster_WithDifferentTtl_ShouldFail() {
+        // Arrange
+        String clusterName = "test-" + UUID.randomUUID();
+        InMemorySharedCacheStore store = InMemorySharedCacheStore.forCluster(clusterName, Duration.ofMinutes(5));
+
+        // Act & Assert
+        assertSame(store, InMemorySharedCacheStore.forCluster(clusterName, Duration.ofMinutes(5)));
+        assertThrows(IllegalStateException.class,
+                () -> InMemorySharedCacheStore.forCluster(clusterName, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void get_WhenValueLoadedByOtherNode_ShouldBeServedFromSharedStore() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        nodeA.getCache("posts").get(1L, () -> "post-" + loads.incrementAndGet());
+
+        // Act
+        String value = nodeB.getCache("posts").get(1L, () -> "post-" + loads.incrementAndGet());
+
+        // Assert
+        assertEquals("post-1", value);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evict_ShouldInvalidateLocalCacheOfEveryNode() {
+        // Arrange
+        Cache cacheA = nodeA.getCache("posts");
+        Cache cacheB = nodeB.getCache("posts");
+        cacheA.put(1L, "post-1");
+        assertEquals("post-1", cacheB.get(1L).get());
+        assertNotNull(localValue(cacheB, 1L));
+
+        // Act
+        cacheA.evict(1L);
+
+        // Assert
+        assertNull(localValue(cacheB, 1L));
+        assertNull(cacheB.get(1L));
+        assertNull(sharedStore.get("posts", 1L));
+    }
+
+    @Test
+    void put_ShouldReplaceStaleLocalCopyOnOtherNodes() {
+        // Arrange
+        Cache cacheA = nodeA.getCache("posts");
+        Cache cacheB = nodeB.getCache("posts");
+        cacheA.put(1L, "v1");
+        assertEquals("v1", cacheB.get(1L).get());
+
+        // Act
+        cacheA.put(1L, "v2");
+
+        // Assert
+        assertEquals("v2", cacheB.get(1L).get());
+    }
+
+    @Test
+    void clear_ShouldInvalidateEveryEntryOnEveryNode() {
+        // Arrange
+        Cache cacheA = nodeA.getCache("posts");
+        Cache cacheB = nodeB.getCache("posts");
+        cacheA.put(1L, "post-1");
+        cacheA.put(2L, "post-2");
+        cacheB.get(1L);
+        cacheB.get(2L);
+
+        // Act
+        cacheB.clear();
+
+        // Assert
+        assertNull(cacheA.get(1L));
+        assertNull(cacheA.get(2L));
+        assertNull(localValue(cacheB, 1L));
+    }
+
+    @Test
+    void get_ShouldCacheNullValues() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        Cache cacheA = nodeA.getCache("posts");
+
+        // Act
+        cacheA.get(99L, () -> { loads.incrementAndGet(); return null; });
+        Object second = nodeB.getCache("posts").get(99L, () -> { loads.incrementAndGet(); return "otro"; });
+
+        // Assert
+        assertNull(second);
+        assertEquals(1, loads.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object localValue(Cache cache, Object key) {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache()).getIfPresent(key);
+    }
+}
@@ -0,0 +1,165 @@
+package com.martinhacker.jsonplaceholder.client;
+
+import com.martinhacker.jsonplaceholder.client.RecordReplayClientHttpRequestFactory.Mode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordReplayClientHttpRequestFactoryTest {
+
+    private static final URI POSTS_URI = URI.create("https://jsonplaceholder.typicode.com/posts");
+    private static final String POSTS_JSON = "[{\"id\":1,\"title\":\"t\",\"body\":\"b\",\"userId\":1}]";
+
+    @TempDir
+    Path directory;
+
+    private UpstreamResponseStore store;
+    private AtomicInteger liveCalls;
+
+    @BeforeEach
+    void setUp() {
+        store = new UpstreamResponseStore(directory);
+        liveCalls = new AtomicInteger();
+    }
+
+    @Test
+    void record_ThenReplay_ShouldServeRecordedResponseWithoutUpstream() throws IOException {
+        // Arrange
+        new RecordReplayClientHttpRequestFactory(upstream(HttpStatus.OK, POSTS_JSON), store, Mode.RECORD, 0,
+                Runnable::run)
+                .createRequest(POSTS_URI, HttpMethod.GET).execute().close();
+        ClientHttpRequestFactory replay =
+                new RecordReplayClientHttpRequestFactory(failingUpstream(), store, Mode.REPLAY, 0);
+
+        // Act
+        ClientHttpResponse response = replay
+                .createRequest(URI.create("http://localhost:9999/posts"), HttpMethod.GET).execute();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(POSTS_JSON, new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(1, liveCalls.get());
+    }
+
+    @Test
+    void record_ShouldStreamBodyAndSaveInBackgroundAfterClose() throws IOException {
+        // Arrange
+        List<Runnable> pendingSaves = new ArrayList<>();
+        ClientHttpRequestFactory record = new RecordReplayClientHttpRequestFactory(
+                upstream(HttpStatus.OK, POSTS_JSON), store, Mode.RECORD, 0, pendingSaves::add);
+
+        // Act: el cliente solo lee el principio del cuerpo
+        ClientHttpResponse response = record.createRequest(POSTS_URI, HttpMethod.GET).execute();
+        byte[] start = response.getBody().readNBytes(5);
+        assertTrue(pendingSaves.isEmpty());
+        response.close();
+        pendingSaves.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(POSTS_JSON.substring(0, 5), new String(start, StandardCharsets.UTF_8));
+        assertEquals(1, pendingSaves.size());
+        assertEquals(POSTS_JSON, new String(store.find(HttpMethod.GET, POSTS_URI).body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void fallback_WhenUpstreamAnswers_ShouldNotRecord() throws IOException {
+        // Arrange
+        ClientHttpRequestFactory fallback = new RecordReplayClientHttpRequestFactory(
+                upstream(HttpStatus.OK, POSTS_JSON), store, Mode.FALLBACK, 0, Runnable::run);
+
+        // Act
+        try (ClientHttpResponse response = fallback.createRequest(POSTS_URI, HttpMethod.GET).execute()) {
+            assertEquals(POSTS_JSON, new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        // Assert
+        assertNull(store.find(HttpMethod.GET, POSTS_URI));
+    }
+
+    @Test
+    void replay_WithoutRecording_ShouldFail() {
+        // Arrange
+        ClientHttpRequestFactory replay =
+                new RecordReplayClientHttpRequestFactory(failingUpstream(), store, Mode.REPLAY, 0);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> replay.createRequest(POSTS_URI, HttpMethod.GET).execute());
+    }
+
+    @Test
+    void fallback_WhenUpstreamIsUnreachable_ShouldServeRecordedResponse() throws IOException {
+        // Arrange
+        store.save(HttpMethod.GET, POSTS_URI, new UpstreamResponseStore.RecordedResponse(200,
+                MediaType.APPLICATION_JSON_VALUE, POSTS_JSON.getBytes(StandardCharsets.UTF_8)));
+        ClientHttpRequestFactory fallback =
+                new RecordReplayClientHttpRequestFactory(failingUpstream(), store, Mode.FALLBACK, 0);
+
+        // Act
+        ClientHttpResponse response = fallback.createRequest(POSTS_URI, HttpMethod.GET).execute();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(POSTS_JSON, new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void fallback_WhenUpstreamReturnsServerError_ShouldNotOverwriteRecording() throws IOException {
+        // Arrange
+        store.save(HttpMethod.GET, POSTS_URI, new UpstreamResponseStore.RecordedResponse(200,
+                MediaType.APPLICATION_JSON_VALUE, POSTS_JSON.getBytes(StandardCharsets.UTF_8)));
+        ClientHttpRequestFactory fallback = new RecordReplayClientHttpRequestFactory(
+                upstream(HttpStatus.SERVICE_UNAVAILABLE, "{}"), store, Mode.FALLBACK, 0);
+
+        // Act
+        ClientHttpResponse response = fallback.createRequest(POSTS_URI, HttpMethod.GET).execute();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(200, store.find(HttpMethod.GET, POSTS_URI).status());
+    }
+
+    @Test
+    void fileName_ShouldBeDerivedFromMethodAndPath() {
+        // Act & Assert
+        assertEquals("get_posts_1.bin.gz",
+                UpstreamResponseStore.fileName(HttpMethod.GET, URI.create("https://host/posts/1")));
+        assertEquals("delete_posts_1.bin.gz",
+                UpstreamResponseStore.fileName(HttpMethod.DELETE, URI.create("http://other:8080/posts/1")));
+    }
+
+    private ClientHttpRequestFactory upstream(HttpStatus status, String body) {
+        return (uri, method) -> {
+            liveCalls.incrementAndGet();
+            MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(response);
+            return request;
+        };
+    }
+
+    private ClientHttpRequestFactory failingUpstream() {
+        return (uri, method) -> {
+            throw new ConnectException("Connection refused");
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.martinhacker.jsonplaceholder.collection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongBloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAddedKeys() {
+        // Arrange
+        LongBloomFilter filter = new LongBloomFilter(1000, 0.01);
+
+        // Act
+        for (long id = 1; id <= 1000; id++) {
+            filter.add(id);
+        }
+
+        // Assert
+        for (long id = 1; id <= 1000; id++) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositivesNearConfiguredRate() {
+        // Arrange
+        LongBloomFilter filter = new LongBloomFilter(1000, 0.01);
+        for (long id = 1; id <= 1000; id++) {
+            filter.add(id);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (long id = 1_000_001; id <= 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2000, "Falsos positivos: " + falsePositives);
+        assertTrue(filter.bitSize() < 16 * 1000);
+    }
+
+    @Test
+    void constructor_WithInvalidRate_ShouldFail() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new LongBloomFilter(10, 1.0));
+    }
+}
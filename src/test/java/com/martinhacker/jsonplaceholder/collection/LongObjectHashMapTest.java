@@ -0,0 +1,84 @@
+package com.martinhacker.jsonplaceholder.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void put_ShouldReplaceValueAndReturnPrevious() {
+        // Arrange
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        // Act
+        assertNull(map.put(1L, "uno"));
+        String previous = map.put(1L, "one");
+
+        // Assert
+        assertEquals("uno", previous);
+        assertEquals("one", map.get(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void zeroKey_ShouldBeStoredSeparately() {
+        // Arrange
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        // Act
+        map.put(0L, "cero");
+
+        // Assert
+        assertTrue(map.containsKey(0L));
+        assertEquals("cero", map.get(0L));
+        assertArrayEquals(new long[]{0L}, map.keys());
+        assertEquals("cero", map.remove(0L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void randomOperations_ShouldMatchHashMap() {
+        // Arrange: claves en un rango pequeño para forzar colisiones, borrados y redimensionados
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(2);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(512) - 64;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        long[] keys = map.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+    }
+
+    @Test
+    void indicesByKey_ShouldGroupPositionsInOrderAndSkipNullKeys() {
+        // Arrange
+        List<Long> userIds = Arrays.asList(1L, 2L, 1L, null, 1L);
+
+        // Act
+        LongObjectHashMap<int[]> groups = LongGrouping.indicesByKey(userIds, id -> id);
+
+        // Assert
+        assertEquals(2, groups.size());
+        assertArrayEquals(new int[]{0, 2, 4}, groups.get(1L));
+        assertArrayEquals(new int[]{1}, groups.get(2L));
+    }
+}
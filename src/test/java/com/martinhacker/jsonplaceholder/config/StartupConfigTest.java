@@ -0,0 +1,31 @@
+package com.martinhacker.jsonplaceholder.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupConfigTest {
+
+    @Test
+    void markLazy_ShouldDeferOpenApiBeansOnly() {
+        // Arrange
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("openApiConfig", new RootBeanDefinition(OpenApiConfig.class));
+        RootBeanDefinition customOpenAPI = new RootBeanDefinition();
+        customOpenAPI.setFactoryBeanName("openApiConfig");
+        customOpenAPI.setFactoryMethodName("customOpenAPI");
+        beanFactory.registerBeanDefinition("customOpenAPI", customOpenAPI);
+        beanFactory.registerBeanDefinition("restTemplateConfig", new RootBeanDefinition(RestTemplateConfig.class));
+
+        // Act
+        StartupConfig.markLazy(beanFactory, StartupConfig.DEFAULT_LAZY_PREFIXES);
+
+        // Assert
+        assertTrue(beanFactory.getBeanDefinition("openApiConfig").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("customOpenAPI").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("restTemplateConfig").isLazyInit());
+    }
+}
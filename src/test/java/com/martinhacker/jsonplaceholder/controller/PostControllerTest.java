@@ -1,23 +1,53 @@
 package com.martinhacker.jsonplaceholder.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.martinhacker.jsonplaceholder.feed.DataVersion;
+import com.martinhacker.jsonplaceholder.feed.PostChangeLog;
+import com.martinhacker.jsonplaceholder.feed.PostChangeStream;
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.BulkDeleteRequest;
 import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.DeleteStatus;
 import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.PostBatchRequest;
+import com.martinhacker.jsonplaceholder.model.PostBatchResult;
+import com.martinhacker.jsonplaceholder.model.PostDelta;
+import com.martinhacker.jsonplaceholder.model.PostSearchResult;
 import com.martinhacker.jsonplaceholder.model.User;
+import com.martinhacker.jsonplaceholder.protobuf.ApiResponseProtobufCodec;
+import com.martinhacker.jsonplaceholder.protobuf.ProtobufApiResponseHttpMessageConverter;
 import com.martinhacker.jsonplaceholder.service.JsonPlaceholderService;
+import com.martinhacker.jsonplaceholder.service.PostQueryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import jakarta.servlet.AsyncListener;
+import java.io.ByteArrayInputStream;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +61,15 @@ class PostControllerTest {
     @MockBean
     private JsonPlaceholderService jsonPlaceholderService;
 
+    @MockBean
+    private PostQueryService postQueryService;
+
+    @MockBean
+    private PostChangeLog postChangeLog;
+
+    @MockBean
+    private PostChangeStream postChangeStream;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -63,18 +102,22 @@ class PostControllerTest {
         samplePost.setUserId(1L);
         samplePost.setUser(sampleUser);
         samplePost.setComments(Arrays.asList(sampleComment));
+
+        // Versión de datos que GET /api/posts devuelve en X-Data-Version
+        when(postChangeLog.getLatestVersion()).thenReturn(new DataVersion("epoca", 7));
     }
 
     @Test
     void getAllPosts_ShouldReturnPostsWithDetails() throws Exception {
         // Arrange
         List<Post> posts = Arrays.asList(samplePost);
-        when(jsonPlaceholderService.getAllPostsWithDetails()).thenReturn(posts);
+        when(jsonPlaceholderService.getAllPostsWithDetailsAsync()).thenReturn(CompletableFuture.completedFuture(posts));
 
         // Act & Assert
-        mockMvc.perform(get("/api/posts")
+        performAsync(get("/api/posts")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PostController.DATA_VERSION_HEADER, "epoca-7"))
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data[0].id").value(1))
@@ -85,6 +128,197 @@ class PostControllerTest {
                 .andExpect(jsonPath("$.data[0].comments[0].id").value(1));
     }
 
+    @Test
+    void getAllPosts_WithNormalizedFormat_ShouldReturnDictionariesById() throws Exception {
+        // Arrange
+        Post secondPost = new Post(2L, "qui est esse", "est rerum tempore vitae", 1L);
+        secondPost.setUser(sampleUser);
+        secondPost.setComments(List.of());
+        when(jsonPlaceholderService.getAllPostsWithDetailsAsync()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(samplePost, secondPost)));
+
+        // Act & Assert
+        performAsync(get("/api/posts")
+                        .param("format", "normalized"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.posts[0].userId").value(1))
+                .andExpect(jsonPath("$.data.posts[0].commentIds[0]").value(1))
+                .andExpect(jsonPath("$.data.posts[0].user").doesNotExist())
+                .andExpect(jsonPath("$.data.posts[1].commentIds").isEmpty())
+                .andExpect(jsonPath("$.data.users.length()").value(1))
+                .andExpect(jsonPath("$.data.users['1'].name").value("Leanne Graham"))
+                .andExpect(jsonPath("$.data.comments['1'].email").value("Eliseo@gardner.biz"));
+    }
+
+    @Test
+    void getAllPosts_WithNormalizedMediaType_ShouldRespondWithThatMediaType() throws Exception {
+        // Arrange
+        when(jsonPlaceholderService.getAllPostsWithDetailsAsync()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(samplePost)));
+
+        // Act & Assert
+        performAsync(get("/api/posts")
+                        .accept(PostController.NORMALIZED_MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(PostController.NORMALIZED_MEDIA_TYPE))
+                .andExpect(jsonPath("$.data.users['1'].username").value("Bret"));
+    }
+
+    @Test
+    void getAllPosts_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/posts")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllPosts_WhenAggregationFails_ShouldReturnInternalServerError() throws Exception {
+        // Arrange
+        when(jsonPlaceholderService.getAllPostsWithDetailsAsync())
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Error obteniendo posts con detalles")));
+
+        // Act & Assert
+        performAsync(get("/api/posts"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Error obteniendo posts: Error obteniendo posts con detalles"));
+    }
+
+    @Test
+    void getAllPosts_WhenAsyncRequestTimesOut_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange
+        when(jsonPlaceholderService.getAllPostsWithDetailsAsync()).thenReturn(new CompletableFuture<>());
+
+        MvcResult result = mockMvc.perform(get("/api/posts"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Act
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(null);
+        }
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.statusCode").value(503));
+    }
+
+    @Test
+    void getAllPosts_WithSmileAccept_ShouldReturnSmileEncodedResponse() throws Exception {
+        // Arrange
+        when(jsonPlaceholderService.getAllPostsWithDetailsAsync()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(samplePost)));
+
+        // Act
+        byte[] body = performAsync(get("/api/posts")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode response = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals(1, response.at("/data/0/id").asLong());
+        assertEquals("Leanne Graham", response.at("/data/0/user/name").asText());
+    }
+
+    @Test
+    void getAllPosts_WithCborAccept_ShouldReturnCborEncodedResponse() throws Exception {
+        // Arrange
+        when(jsonPlaceholderService.getAllPostsWithDetailsAsync()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(samplePost)));
+
+        // Act
+        byte[] body = performAsync(get("/api/posts")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode response = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertTrue(response.get("success").asBoolean());
+        assertEquals(1, response.at("/data/0/comments/0/id").asLong());
+    }
+
+    @Test
+    void getAllPosts_WithProtobufAccept_ShouldReturnProtobufEncodedResponse() throws Exception {
+        // Arrange
+        when(jsonPlaceholderService.getAllPostsWithDetailsAsync()).thenReturn(CompletableFuture.completedFuture(Arrays.asList(samplePost)));
+
+        // Act
+        byte[] body = performAsync(get("/api/posts")
+                        .accept(ProtobufApiResponseHttpMessageConverter.PROTOBUF_MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ProtobufApiResponseHttpMessageConverter.PROTOBUF_MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        ApiResponse<Object> response = ApiResponseProtobufCodec.decode(new ByteArrayInputStream(body));
+        assertTrue(response.isSuccess());
+        List<?> posts = (List<?>) response.getData();
+        Post post = (Post) posts.get(0);
+        assertEquals(samplePost.getTitle(), post.getTitle());
+        assertEquals("Bret", post.getUser().getUsername());
+        assertEquals(1L, post.getComments().get(0).getId());
+    }
+
+    @Test
+    void getPostById_WhenNotFound_WithProtobufAccept_ShouldReturnProtobufError() throws Exception {
+        // Arrange
+        when(jsonPlaceholderService.getPostById(999L)).thenReturn(null);
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/posts/999")
+                        .accept(ProtobufApiResponseHttpMessageConverter.PROTOBUF_MEDIA_TYPE))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(ProtobufApiResponseHttpMessageConverter.PROTOBUF_MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        ApiResponse<Object> response = ApiResponseProtobufCodec.decode(new ByteArrayInputStream(body));
+        assertFalse(response.isSuccess());
+        assertEquals(404, response.getStatusCode());
+    }
+
+    @Test
+    void searchPosts_WithBlankQuery_WithProtobufAccept_ShouldReturnValidationDetails() throws Exception {
+        // Act
+        byte[] body = mockMvc.perform(get("/api/posts/search")
+                        .param("q", " ")
+                        .accept(ProtobufApiResponseHttpMessageConverter.PROTOBUF_MEDIA_TYPE))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        ApiResponse<Object> response = ApiResponseProtobufCodec.decode(new ByteArrayInputStream(body));
+        assertFalse(response.isSuccess());
+        assertEquals(400, response.getStatusCode());
+    }
+
+    @Test
+    void getCommentsByPost_WithProtobufAccept_ShouldReturnNotAcceptable() throws Exception {
+        // Arrange
+        when(postQueryService.getCommentsByPost(1L)).thenReturn(Arrays.asList(sampleComment));
+
+        // Act & Assert: los comentarios no tienen representación Protobuf
+        mockMvc.perform(get("/api/posts/1/comments")
+                        .accept(ProtobufApiResponseHttpMessageConverter.PROTOBUF_MEDIA_TYPE))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void getCommentsByPost_WithProtobufAndJsonAccept_ShouldFallBackToJson() throws Exception {
+        // Arrange
+        when(postQueryService.getCommentsByPost(1L)).thenReturn(Arrays.asList(sampleComment));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/1/comments")
+                        .accept(ProtobufApiResponseHttpMessageConverter.PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data[0].email").value("Eliseo@gardner.biz"));
+    }
+
     @Test
     void getPostById_ShouldReturnPost() throws Exception {
         // Arrange
@@ -144,4 +378,176 @@ class PostControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void deletePosts_ShouldReturnResultPerId() throws Exception {
+        // Arrange
+        Map<Long, DeleteStatus> results = new LinkedHashMap<>();
+        results.put(1L, DeleteStatus.DELETED);
+        results.put(2L, DeleteStatus.NOT_FOUND);
+        when(jsonPlaceholderService.deletePosts(Arrays.asList(1L, 2L))).thenReturn(results);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/posts/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkDeleteRequest(Arrays.asList(1L, 2L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.1").value("DELETED"))
+                .andExpect(jsonPath("$.data.2").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.message").value("Se procesaron 2 posts: 1 eliminados, 1 no encontrados, 0 con error"));
+    }
+
+    @Test
+    void deletePosts_WithEmptyIds_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/posts/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPostsByIds_ShouldReturnPostsAndMissingIds() throws Exception {
+        // Arrange
+        PostBatchResult result = new PostBatchResult(Arrays.asList(samplePost), Arrays.asList(999L), List.of());
+        when(jsonPlaceholderService.getPostsByIdsAsync(Arrays.asList(1L, 999L), false)).thenReturn(CompletableFuture.completedFuture(result));
+
+        // Act & Assert
+        performAsync(get("/api/posts")
+                        .param("ids", "1,999")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.posts[0].id").value(1))
+                .andExpect(jsonPath("$.data.missingIds[0]").value(999));
+    }
+
+    @Test
+    void getPostsBatch_WithDetails_ShouldDelegateToService() throws Exception {
+        // Arrange
+        PostBatchResult result = new PostBatchResult(Arrays.asList(samplePost), List.of(), List.of());
+        when(jsonPlaceholderService.getPostsByIdsAsync(Arrays.asList(1L), true)).thenReturn(CompletableFuture.completedFuture(result));
+
+        // Act & Assert
+        performAsync(post("/api/posts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PostBatchRequest(Arrays.asList(1L), true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.posts[0].user.name").value("Leanne Graham"));
+    }
+
+    @Test
+    void getPostsByIds_WithInvalidId_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/posts")
+                        .param("ids", "1,-5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCommentsByPost_ShouldReturnIndexedComments() throws Exception {
+        // Arrange
+        when(postQueryService.getCommentsByPost(1L)).thenReturn(Arrays.asList(sampleComment));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/1/comments")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].email").value("Eliseo@gardner.biz"));
+    }
+
+    @Test
+    void searchPosts_ShouldReturnRankedResults() throws Exception {
+        // Arrange
+        when(postQueryService.search("sunt", 20)).thenReturn(List.of(new PostSearchResult(samplePost, 4.2)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/search")
+                        .param("q", "sunt")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].post.id").value(1))
+                .andExpect(jsonPath("$.data[0].score").value(4.2));
+    }
+
+    @Test
+    void searchPosts_WithBlankQuery_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/search")
+                        .param("q", " ")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamPostChanges_WithLastEventId_ShouldResumeFromThatEvent() throws Exception {
+        // Arrange
+        when(postChangeStream.subscribe("epoca-42")).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/events")
+                        .header("Last-Event-ID", "epoca-42")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(postChangeStream).subscribe("epoca-42");
+    }
+
+    @Test
+    void getPostChanges_ShouldReturnDeltaSinceVersion() throws Exception {
+        // Arrange
+        when(postChangeLog.deltaSince(new DataVersion("epoca", 5))).thenReturn(new PostDelta("epoca-8", false, List.of(samplePost), List.of(2L),
+                List.of(sampleComment), List.of()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/changes")
+                        .param("since", "epoca-5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value("epoca-8"))
+                .andExpect(jsonPath("$.data.fullResync").value(false))
+                .andExpect(jsonPath("$.data.posts[0].id").value(1))
+                .andExpect(jsonPath("$.data.removedPostIds[0]").value(2))
+                .andExpect(jsonPath("$.data.comments[0].id").value(1));
+    }
+
+    @Test
+    void getPostChanges_WithNegativeVersion_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/changes")
+                        .param("since", "-1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPostChanges_WithVersionFromAnotherEpoch_ShouldRequestFullResync() throws Exception {
+        // Arrange
+        when(postChangeLog.deltaSince(new DataVersion("anterior", 5))).thenReturn(PostDelta.fullResync("epoca-0"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/changes")
+                        .param("since", "anterior-5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.fullResync").value(true))
+                .andExpect(jsonPath("$.data.version").value("epoca-0"));
+    }
+
+    @Test
+    void getPostChanges_WithoutEpoch_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/posts/changes")
+                        .param("since", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
@@ -0,0 +1,217 @@
+package com.martinhacker.jsonplaceholder.feed;
+
+import com.martinhacker.jsonplaceholder.event.CommentsLoadedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsDeletedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.PostChange;
+import com.martinhacker.jsonplaceholder.model.PostChangeType;
+import com.martinhacker.jsonplaceholder.model.PostDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostChangeLogTest {
+
+    private static final String EPOCH = "epoca";
+
+    private PostChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = seededChangeLog(3);
+    }
+
+    @Test
+    void onPostsLoaded_FirstLoad_ShouldOnlySeedSnapshot() {
+        // Assert
+        assertEquals(0, changeLog.getLatestSequence());
+        assertEquals(List.of(), changeLog.changesSince(0));
+    }
+
+    @Test
+    void onPostsLoaded_ShouldDetectCreatedUpdatedAndDeletedPosts() {
+        // Arrange
+        AtomicInteger notifications = new AtomicInteger();
+        changeLog.addListener(notifications::incrementAndGet);
+
+        // Act
+        changeLog.onPostsLoaded(new PostsLoadedEvent(List.of(post(1L, "a"), post(2L, "b2"), post(3L, "c"))));
+        changeLog.onPostsLoaded(new PostsLoadedEvent(List.of(post(2L, "b2"), post(3L, "c"))));
+
+        // Assert
+        List<PostChange> changes = changeLog.changesSince(0);
+        assertEquals(List.of(PostChangeType.UPDATED, PostChangeType.CREATED, PostChangeType.DELETED),
+                changes.stream().map(PostChange::getType).toList());
+        assertEquals(List.of(2L, 3L, 1L), changes.stream().map(PostChange::getPostId).toList());
+        assertEquals("b2", changes.get(0).getPost().getTitle());
+        assertNull(changes.get(2).getPost());
+        assertEquals(List.of(1L, 2L, 3L), changes.stream().map(PostChange::getSequence).toList());
+        assertEquals(2, notifications.get());
+    }
+
+    @Test
+    void onPostsLoaded_WithSameContent_ShouldNotRecordChanges() {
+        // Act
+        changeLog.onPostsLoaded(new PostsLoadedEvent(List.of(post(1L, "a"), post(2L, "b"))));
+
+        // Assert
+        assertEquals(0, changeLog.getLatestSequence());
+    }
+
+    @Test
+    void onPostsDeleted_ShouldRecordDeletionOnce() {
+        // Act
+        changeLog.onPostsDeleted(new PostsDeletedEvent(List.of(1L)));
+        changeLog.onPostsLoaded(new PostsLoadedEvent(List.of(post(2L, "b"))));
+
+        // Assert
+        List<PostChange> changes = changeLog.changesSince(0);
+        assertEquals(1, changes.size());
+        assertEquals(PostChangeType.DELETED, changes.get(0).getType());
+        assertEquals(1L, changes.get(0).getPostId());
+    }
+
+    @Test
+    void changesSince_WhenChangesWereDiscarded_ShouldReturnNull() {
+        // Arrange
+        changeLog.onPostsDeleted(new PostsDeletedEvent(List.of(1L, 2L)));
+        changeLog.onPostsLoaded(new PostsLoadedEvent(List.of(post(3L, "c"), post(4L, "d"))));
+
+        // Act & Assert
+        assertEquals(4, changeLog.getLatestSequence());
+        assertNull(changeLog.changesSince(0));
+        assertEquals(List.of(3L, 4L), changeLog.changesSince(2).stream().map(PostChange::getSequence).toList());
+        assertEquals(List.of(), changeLog.changesSince(4));
+        assertNull(changeLog.changesSince(99));
+    }
+
+    @Test
+    void onCommentsLoaded_ShouldRecordAddedChangedAndRemovedComments() {
+        // Arrange
+        changeLog.onCommentsLoaded(new CommentsLoadedEvent(1L, List.of(comment(10L, 1L, "x"), comment(11L, 1L, "y"))));
+
+        // Act
+        changeLog.onCommentsLoaded(new CommentsLoadedEvent(1L, List.of(comment(10L, 1L, "x2"), comment(12L, 1L, "z"))));
+
+        // Assert
+        List<PostChange> changes = changeLog.changesSince(0);
+        assertEquals(1, changes.size());
+        assertEquals(PostChangeType.COMMENTS_UPDATED, changes.get(0).getType());
+        assertEquals(List.of(10L, 12L), changes.get(0).getComments().stream().map(Comment::getId).toList());
+        assertEquals(List.of(11L), changes.get(0).getRemovedCommentIds());
+    }
+
+    @Test
+    void deltaSince_ShouldCollapseChangesToCurrentState() {
+        // Arrange
+        changeLog = seededChangeLog(10);
+        changeLog.onPostsLoaded(new PostsLoadedEvent(List.of(post(1L, "a1"), post(2L, "b"), post(3L, "c"))));
+        changeLog.onCommentsLoaded(new CommentsLoadedEvent(3L, List.of(comment(30L, 3L, "nuevo"))));
+        changeLog.onPostsLoaded(new PostsLoadedEvent(List.of(post(1L, "a2"), post(3L, "c"))));
+
+        // Act
+        PostDelta delta = changeLog.deltaSince(version(0));
+
+        // Assert
+        assertFalse(delta.isFullResync());
+        assertEquals(EPOCH + "-" + changeLog.getLatestSequence(), delta.getVersion());
+        assertEquals(List.of(1L, 3L), delta.getPosts().stream().map(Post::getId).toList());
+        assertEquals("a2", delta.getPosts().get(0).getTitle());
+        assertEquals(List.of(2L), delta.getRemovedPostIds());
+        assertEquals(List.of(30L), delta.getComments().stream().map(Comment::getId).toList());
+        assertTrue(changeLog.deltaSince(changeLog.getLatestVersion()).getPosts().isEmpty());
+    }
+
+    @Test
+    void deltaSince_WhenVersionIsTooOld_ShouldRequestFullResync() {
+        // Arrange
+        changeLog.onPostsLoaded(new PostsLoadedEvent(List.of(post(3L, "c"), post(4L, "d"), post(5L, "e"), post(6L, "f"))));
+
+        // Act
+        PostDelta delta = changeLog.deltaSince(version(0));
+
+        // Assert
+        assertTrue(delta.isFullResync());
+        assertEquals(EPOCH + "-6", delta.getVersion());
+    }
+
+    @Test
+    void deltaSince_WhenVersionIsFromAnotherEpoch_ShouldRequestFullResync() {
+        // Arrange: la instancia anterior llegó a la secuencia 1 antes de reiniciarse
+        changeLog.onPostsDeleted(new PostsDeletedEvent(List.of(1L)));
+
+        // Act
+        PostDelta delta = changeLog.deltaSince(new DataVersion("anterior", 0));
+
+        // Assert
+        assertTrue(delta.isFullResync());
+        assertEquals(EPOCH + "-1", delta.getVersion());
+        assertFalse(changeLog.deltaSince(version(0)).isFullResync());
+    }
+
+    @Test
+    void deltaSince_WhenVersionIsAheadOfLatest_ShouldRequestFullResync() {
+        // Arrange
+        changeLog.onPostsDeleted(new PostsDeletedEvent(List.of(1L)));
+
+        // Act
+        PostDelta delta = changeLog.deltaSince(version(5));
+
+        // Assert
+        assertTrue(delta.isFullResync());
+        assertEquals(EPOCH + "-1", delta.getVersion());
+    }
+
+    @Test
+    void dataVersion_ShouldRoundTripAndRejectMalformedValues() {
+        // Act & Assert
+        assertEquals(new DataVersion("lq3k2a1f9c", 42), DataVersion.parse("lq3k2a1f9c-42"));
+        assertEquals("lq3k2a1f9c-42", new DataVersion("lq3k2a1f9c", 42).toString());
+        assertThrows(IllegalArgumentException.class, () -> DataVersion.parse("42"));
+        assertThrows(IllegalArgumentException.class, () -> DataVersion.parse("-1"));
+        assertThrows(IllegalArgumentException.class, () -> DataVersion.parse("epoca-x"));
+        assertThrows(IllegalArgumentException.class, () -> DataVersion.parse("epoca--1"));
+    }
+
+    @Test
+    void newInstance_ShouldUseDistinctEpochs() {
+        // Arrange
+        Clock clock = Clock.fixed(Instant.parse("2024-01-01T12:00:00Z"), ZoneOffset.UTC);
+
+        // Act
+        String first = new PostChangeLog(3, clock).getEpoch();
+        String second = new PostChangeLog(3, clock).getEpoch();
+
+        // Assert: mismo instante de arranque, sufijo aleatorio distinto (con alta probabilidad)
+        assertNotEquals(first, second);
+        assertDoesNotThrow(() -> new DataVersion(first, 0));
+    }
+
+    private static PostChangeLog seededChangeLog(int capacity) {
+        PostChangeLog log = new PostChangeLog(capacity, Clock.fixed(Instant.parse("2024-01-01T12:00:00Z"), ZoneOffset.UTC),
+                EPOCH);
+        log.onPostsLoaded(new PostsLoadedEvent(List.of(post(1L, "a"), post(2L, "b"))));
+        return log;
+    }
+
+    private static DataVersion version(long sequence) {
+        return new DataVersion(EPOCH, sequence);
+    }
+
+    private static Comment comment(Long id, Long postId, String body) {
+        return new Comment(id, postId, "name " + id, "user" + id + "@mail.com", body);
+    }
+
+    private static Post post(Long id, String title) {
+        return new Post(id, title, "body " + id, 1L);
+    }
+}
@@ -0,0 +1,102 @@
+package com.martinhacker.jsonplaceholder.index;
+
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.event.CacheEntryEvictedEvent;
+import com.martinhacker.jsonplaceholder.event.CommentsLoadedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsDeletedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostIndexTest {
+
+    private PostIndex postIndex;
+    private List<Post> posts;
+
+    @BeforeEach
+    void setUp() {
+        postIndex = new PostIndex();
+        posts = List.of(post(3L, 1L), post(1L, 1L), post(2L, 2L));
+        postIndex.onPostsLoaded(new PostsLoadedEvent(posts));
+    }
+
+    @Test
+    void findPostsByUser_ShouldReturnPostsOfUserOrderedById() {
+        // Act
+        List<Post> result = postIndex.findPostsByUser(1L);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), result.stream().map(Post::getId).toList());
+        assertTrue(postIndex.findPostsByUser(99L).isEmpty());
+    }
+
+    @Test
+    void findCommentsByEmail_ShouldIgnoreCase() {
+        // Arrange
+        postIndex.onCommentsLoaded(new CommentsLoadedEvent(1L, List.of(comment(10L, 1L, "Eliseo@gardner.biz"))));
+        postIndex.onCommentsLoaded(new CommentsLoadedEvent(2L, List.of(comment(20L, 2L, "eliseo@GARDNER.biz"))));
+
+        // Act
+        List<Comment> result = postIndex.findCommentsByEmail("ELISEO@gardner.biz");
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(List.of(3L), postIndex.findPostsWithoutComments());
+    }
+
+    @Test
+    void onPostsDeleted_ShouldRemovePostAndItsComments() {
+        // Arrange
+        postIndex.onCommentsLoaded(new CommentsLoadedEvent(1L, List.of(comment(10L, 1L, "a@b.com"))));
+
+        // Act
+        postIndex.onPostsDeleted(new PostsDeletedEvent(List.of(1L)));
+
+        // Assert
+        assertEquals(List.of(3L), postIndex.findPostsByUser(1L).stream().map(Post::getId).toList());
+        assertNull(postIndex.findCommentsByPost(1L));
+        assertTrue(postIndex.findCommentsByEmail("a@b.com").isEmpty());
+    }
+
+    @Test
+    void onCacheEntryEvicted_ShouldDropIndexWhenListEntryExpiresEvenIfRewritten() {
+        // Arrange: tras una eliminación la cache guarda una copia de la lista sin los posts eliminados
+        List<Post> rewritten = new ArrayList<>(posts);
+
+        // Act
+        postIndex.onCacheEntryEvicted(new CacheEntryEvictedEvent(CacheNames.POST_LISTS, "other", rewritten));
+
+        // Assert
+        assertTrue(postIndex.isPostsLoaded());
+
+        // Act
+        postIndex.onCacheEntryEvicted(new CacheEntryEvictedEvent(CacheNames.POST_LISTS, "all", rewritten));
+
+        // Assert
+        assertFalse(postIndex.isPostsLoaded());
+        assertTrue(postIndex.findPostsByUser(1L).isEmpty());
+    }
+
+    private static Post post(Long id, Long userId) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(userId);
+        post.setTitle("post " + id);
+        return post;
+    }
+
+    private static Comment comment(Long id, Long postId, String email) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setPostId(postId);
+        comment.setEmail(email);
+        return comment;
+    }
+}
@@ -0,0 +1,88 @@
+package com.martinhacker.jsonplaceholder.index;
+
+import com.martinhacker.jsonplaceholder.config.CacheNames;
+import com.martinhacker.jsonplaceholder.event.CacheEntryEvictedEvent;
+import com.martinhacker.jsonplaceholder.event.CommentsLoadedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsDeletedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.PostSearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new SearchIndex();
+        searchIndex.onPostsLoaded(new PostsLoadedEvent(List.of(
+                new Post(1L, "dolorem eum magni", "quia et suscipit", 1L),
+                new Post(2L, "qui est esse", "dolorem ipsum dolorem", 1L),
+                new Post(3L, "nesciunt quas odio", "repudiandae veniam", 2L))));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveBodyMatches() {
+        // Act
+        List<PostSearchResult> results = searchIndex.search("dolorem", 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(results));
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+    }
+
+    @Test
+    void search_WithPrefix_ShouldMatchExpandedTerms() {
+        // Act & Assert
+        assertEquals(List.of(3L), ids(searchIndex.search("NESCI*", 10)));
+        assertTrue(searchIndex.search("nesci", 10).isEmpty());
+    }
+
+    @Test
+    void onCacheEntryEvicted_ShouldDropIndexForRewrittenListEntry() {
+        // Arrange: la lista cacheada tras una eliminación es otra instancia
+        List<Post> rewritten = List.of(new Post(1L, "dolorem eum magni", "quia et suscipit", 1L));
+
+        // Act
+        searchIndex.onCacheEntryEvicted(new CacheEntryEvictedEvent(CacheNames.POST_LISTS, "all", rewritten));
+
+        // Assert
+        assertFalse(searchIndex.isPostsLoaded());
+        assertTrue(searchIndex.search("dolorem", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldIncludeCommentBodies() {
+        // Arrange
+        Comment comment = new Comment();
+        comment.setId(10L);
+        comment.setPostId(3L);
+        comment.setBody("laudantium enim quasi");
+
+        // Act
+        searchIndex.onCommentsLoaded(new CommentsLoadedEvent(3L, List.of(comment)));
+
+        // Assert
+        assertEquals(List.of(3L), ids(searchIndex.search("laudantium", 10)));
+    }
+
+    @Test
+    void onPostsDeleted_ShouldRemovePostFromResults() {
+        // Act
+        searchIndex.onPostsDeleted(new PostsDeletedEvent(List.of(1L)));
+
+        // Assert
+        assertEquals(List.of(2L), ids(searchIndex.search("dolorem", 10)));
+    }
+
+    private static List<Long> ids(List<PostSearchResult> results) {
+        return results.stream().map(result -> result.getPost().getId()).toList();
+    }
+}
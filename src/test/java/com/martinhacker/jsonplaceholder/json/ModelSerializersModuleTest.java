@@ -0,0 +1,70 @@
+package com.martinhacker.jsonplaceholder.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelSerializersModuleTest {
+
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+
+    @Test
+    void customSerializers_ShouldProduceSameJsonAsBeanSerializer() throws Exception {
+        // Arrange
+        ObjectMapper customMapper = new ObjectMapper().registerModule(new ModelSerializersModule());
+        ApiResponse<List<Post>> response = ApiResponse.success("ok", Arrays.asList(fullPost(), new Post(2L, null, "b", null)));
+
+        // Act & Assert
+        assertEquals(defaultMapper.writeValueAsString(response), customMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void blackbird_ShouldProduceSameJsonAsBeanSerializer() throws Exception {
+        // Arrange
+        ObjectMapper blackbirdMapper = new ObjectMapper().registerModule(new BlackbirdModule());
+        ApiResponse<List<Post>> response = ApiResponse.success("ok", List.of(fullPost()));
+
+        // Act & Assert
+        assertEquals(defaultMapper.writeValueAsString(response), blackbirdMapper.writeValueAsString(response));
+    }
+
+    static Post fullPost() {
+        User.Address.Geo geo = new User.Address.Geo();
+        geo.setLat("-37.3159");
+        geo.setLng("81.1496");
+
+        User.Address address = new User.Address();
+        address.setStreet("Kulas Light");
+        address.setSuite("Apt. 556");
+        address.setCity("Gwenborough");
+        address.setZipcode("92998-3874");
+        address.setGeo(geo);
+
+        User.Company company = new User.Company();
+        company.setName("Romaguera-Crona");
+        company.setCatchPhrase("Multi-layered client-server neural-net");
+        company.setBs("harness real-time e-markets");
+
+        User user = new User(1L, "Leanne Graham", "Bret", "Sincere@april.biz");
+        user.setAddress(address);
+        user.setPhone("1-770-736-8031 x56442");
+        user.setWebsite("hildegard.org");
+        user.setCompany(company);
+
+        Post post = new Post(1L, "sunt aut facere \"repellat\"", "quia et suscipit\nsuscipit", 1L);
+        post.setUser(user);
+        post.setComments(Arrays.asList(
+                new Comment(1L, 1L, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium enim"),
+                new Comment(2L, 1L, null, "Jayne_Kuhic@sydney.com", "est natus enim")));
+        return post;
+    }
+}
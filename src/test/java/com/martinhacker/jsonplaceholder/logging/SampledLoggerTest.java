@@ -0,0 +1,43 @@
+package com.martinhacker.jsonplaceholder.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SampledLoggerTest {
+
+    @Test
+    void debug_ShouldEmitOneInRateMessages() {
+        // Arrange
+        Logger logger = mock(Logger.class);
+        when(logger.isDebugEnabled()).thenReturn(true);
+        SampledLogger sampled = SampledLogger.oneIn(10, logger);
+
+        // Act
+        for (long id = 1; id <= 25; id++) {
+            sampled.debug("Obteniendo usuario con ID: {}", id);
+        }
+
+        // Assert
+        verify(logger, times(3)).debug(eq("Obteniendo usuario con ID: {}"), any(Object.class));
+    }
+
+    @Test
+    void debug_WhenLevelDisabled_ShouldNotLogNorCount() {
+        // Arrange
+        Logger logger = mock(Logger.class);
+        SampledLogger sampled = SampledLogger.oneIn(2, logger);
+
+        // Act
+        sampled.debug("Comentarios obtenidos para post {}: {}", 1L, 5);
+        when(logger.isDebugEnabled()).thenReturn(true);
+        sampled.debug("Comentarios obtenidos para post {}: {}", 2L, 5);
+
+        // Assert: el primer mensaje habilitado es el que se emite
+        verify(logger).debug("Comentarios obtenidos para post {}: {}", 2L, 5);
+        verify(logger, never()).debug(anyString(), eq(1L), any());
+    }
+}
@@ -0,0 +1,131 @@
+package com.martinhacker.jsonplaceholder.protobuf;
+
+import com.martinhacker.jsonplaceholder.model.ApiResponse;
+import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiResponseProtobufCodecTest {
+
+    @Test
+    void encodeAndDecode_ShouldPreservePostsWithUserAndComments() throws Exception {
+        // Arrange
+        User.Address.Geo geo = new User.Address.Geo();
+        geo.setLat("-37.3159");
+        geo.setLng("81.1496");
+        User.Address address = new User.Address();
+        address.setCity("Gwenborough");
+        address.setGeo(geo);
+        User.Company company = new User.Company();
+        company.setCatchPhrase("Multi-layered client-server neural-net");
+
+        User user = new User(1L, "Leanne Graham", "Bret", "Sincere@april.biz");
+        user.setAddress(address);
+        user.setCompany(company);
+
+        Post first = new Post(1L, "sunt aut facere", "quia et suscipit", 1L);
+        first.setUser(user);
+        first.setComments(List.of(new Comment(1L, 1L, "id labore", "Eliseo@gardner.biz", "laudantium ñandú")));
+        Post second = new Post(2L, "qui est esse", null, 1L);
+
+        // Act
+        ApiResponse<Object> decoded = roundTrip(ApiResponse.success("Se obtuvieron 2 posts", List.of(first, second)));
+
+        // Assert
+        assertTrue(decoded.isSuccess());
+        assertEquals("Se obtuvieron 2 posts", decoded.getMessage());
+        assertEquals(200, decoded.getStatusCode());
+
+        List<?> posts = (List<?>) decoded.getData();
+        assertEquals(2, posts.size());
+        Post firstDecoded = (Post) posts.get(0);
+        assertEquals("sunt aut facere", firstDecoded.getTitle());
+        assertEquals("Gwenborough", firstDecoded.getUser().getAddress().getCity());
+        assertEquals("81.1496", firstDecoded.getUser().getAddress().getGeo().getLng());
+        assertNull(firstDecoded.getUser().getAddress().getStreet());
+        assertEquals("Multi-layered client-server neural-net", firstDecoded.getUser().getCompany().getCatchPhrase());
+        assertEquals("laudantium ñandú", firstDecoded.getComments().get(0).getBody());
+
+        Post secondDecoded = (Post) posts.get(1);
+        assertEquals(2L, secondDecoded.getId());
+        assertNull(secondDecoded.getBody());
+        assertNull(secondDecoded.getUser());
+        assertNull(secondDecoded.getComments());
+    }
+
+    @Test
+    void encodeAndDecode_ShouldDistinguishEmptyListFromMissingData() throws Exception {
+        // Act
+        ApiResponse<Object> emptyList = roundTrip(ApiResponse.success(List.of()));
+        ApiResponse<Object> error = roundTrip(ApiResponse.error("Post no encontrado", 404));
+
+        // Assert
+        assertEquals(List.of(), emptyList.getData());
+        assertFalse(error.isSuccess());
+        assertNull(error.getData());
+        assertEquals(404, error.getStatusCode());
+    }
+
+    @Test
+    void encodeAndDecode_ShouldPreserveTextAndValidationDetails() throws Exception {
+        // Arrange
+        ApiResponse<Map<String, String>> validation = ApiResponse.error("Error de validación", 400);
+        validation.setData(Map.of("ids", "no puede estar vacío"));
+
+        // Act
+        ApiResponse<Object> text = roundTrip(ApiResponse.success("Post eliminado", "Operación completada"));
+        ApiResponse<Object> details = roundTrip(validation);
+
+        // Assert
+        assertEquals("Operación completada", text.getData());
+        assertEquals(Map.of("ids", "no puede estar vacío"), details.getData());
+    }
+
+    @Test
+    void hasRepresentation_ShouldDecideFromDeclaredDataType() throws Exception {
+        // Act & Assert
+        assertTrue(ProtobufApiResponseHttpMessageConverter.hasRepresentation(declared("post")));
+        assertTrue(ProtobufApiResponseHttpMessageConverter.hasRepresentation(declared("posts")));
+        assertTrue(ProtobufApiResponseHttpMessageConverter.hasRepresentation(declared("errors")));
+        assertTrue(ProtobufApiResponseHttpMessageConverter.hasRepresentation(declared("any")));
+        assertFalse(ProtobufApiResponseHttpMessageConverter.hasRepresentation(declared("comments")));
+        assertFalse(ProtobufApiResponseHttpMessageConverter.hasRepresentation(declared("statuses")));
+    }
+
+    @SuppressWarnings("unused")
+    private static class DeclaredTypes {
+        ApiResponse<Post> post;
+        ApiResponse<List<Post>> posts;
+        ApiResponse<Map<String, String>> errors;
+        ApiResponse<?> any;
+        ApiResponse<List<Comment>> comments;
+        ApiResponse<Map<Long, Integer>> statuses;
+    }
+
+    private static java.lang.reflect.Type declared(String field) throws NoSuchFieldException {
+        return DeclaredTypes.class.getDeclaredField(field).getGenericType();
+    }
+
+    @Test
+    void supportsData_ShouldRejectTypesOutsideTheSchema() {
+        // Act & Assert
+        assertTrue(ApiResponseProtobufCodec.supportsData(null));
+        assertTrue(ApiResponseProtobufCodec.supportsData(new Post()));
+        assertFalse(ApiResponseProtobufCodec.supportsData(List.of(new User())));
+        assertFalse(ApiResponseProtobufCodec.supportsData(Map.of("deleted", 1)));
+    }
+
+    private static ApiResponse<Object> roundTrip(ApiResponse<?> response) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ApiResponseProtobufCodec.encode(response, output);
+        return ApiResponseProtobufCodec.decode(new ByteArrayInputStream(output.toByteArray()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.martinhacker.jsonplaceholder.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Agregación: ráfaga de 1 a 1 petición/s; consultas: ráfaga de 3
+        filter = new RateLimitFilter(1, 1, 1, 3, 600000, 1000, Set.of("cliente-a"), new ObjectMapper());
+    }
+
+    @Test
+    void doFilter_WhenAggregateLimitExceeded_ShouldReturn429WithRetryAfter() throws Exception {
+        // Act
+        MockHttpServletResponse first = perform(request("GET", "/api/posts", "10.0.0.1"));
+        MockHttpServletResponse second = perform(request("GET", "/api/posts", "10.0.0.1"));
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals("1", second.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(second.getContentAsString().contains("\"statusCode\":429"));
+    }
+
+    @Test
+    void doFilter_ShouldLimitLookupsIndependentlyFromAggregate() throws Exception {
+        // Arrange
+        perform(request("GET", "/api/posts", "10.0.0.1"));
+
+        // Act
+        MockHttpServletResponse lookup = perform(request("GET", "/api/posts/1", "10.0.0.1"));
+        MockHttpServletRequest byIds = request("GET", "/api/posts", "10.0.0.1");
+        byIds.setParameter("ids", "1,2");
+        MockHttpServletResponse batch = perform(byIds);
+
+        // Assert
+        assertEquals(200, lookup.getStatus());
+        assertEquals(200, batch.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldKeyClientsByApiKeyBeforeIp() throws Exception {
+        // Arrange
+        MockHttpServletRequest withKey = request("GET", "/api/posts", "10.0.0.1");
+        withKey.addHeader(RateLimitFilter.API_KEY_HEADER, "cliente-a");
+        perform(withKey);
+
+        // Act
+        MockHttpServletResponse sameIpWithoutKey = perform(request("GET", "/api/posts", "10.0.0.1"));
+        MockHttpServletRequest sameKey = request("GET", "/api/posts", "10.0.0.2");
+        sameKey.addHeader(RateLimitFilter.API_KEY_HEADER, "cliente-a");
+        MockHttpServletResponse sameKeyOtherIp = perform(sameKey);
+
+        // Assert
+        assertEquals(200, sameIpWithoutKey.getStatus());
+        assertEquals(429, sameKeyOtherIp.getStatus());
+    }
+
+    @Test
+    void doFilter_WhenRotatingUnknownApiKeys_ShouldStillReturn429() throws Exception {
+        // Arrange
+        MockHttpServletRequest first = request("GET", "/api/posts", "10.0.0.1");
+        first.addHeader(RateLimitFilter.API_KEY_HEADER, "inventada-1");
+        perform(first);
+
+        // Act
+        MockHttpServletRequest rotated = request("GET", "/api/posts", "10.0.0.1");
+        rotated.addHeader(RateLimitFilter.API_KEY_HEADER, "inventada-2");
+        MockHttpServletResponse response = perform(rotated);
+
+        // Assert
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreOtherPaths() throws Exception {
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, perform(request("GET", "/api/users/1/posts", "10.0.0.1")).getStatus());
+        }
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
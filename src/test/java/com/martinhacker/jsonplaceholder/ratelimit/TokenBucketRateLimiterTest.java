@@ -0,0 +1,74 @@
+package com.martinhacker.jsonplaceholder.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenRejectWithWaitTime() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 3, Duration.ofMinutes(10), 100, clock::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire("ip:10.0.0.1"));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtConfiguredRate() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, Duration.ofMinutes(10), 100, clock::get);
+        assertEquals(0, limiter.tryAcquire("key:abc"));
+        assertTrue(limiter.tryAcquire("key:abc") > 0);
+
+        // Act
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire("key:abc"));
+        assertTrue(limiter.tryAcquire("key:abc") > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepIndependentStatePerClient() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, Duration.ofMinutes(10), 100, clock::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.2"));
+    }
+
+    @Test
+    void tryAcquire_ShouldNotAccumulateMoreThanBurstWhileIdle() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 2, Duration.ofMinutes(10), 100, clock::get);
+        limiter.tryAcquire("ip:10.0.0.1");
+
+        // Act
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1") > 0);
+    }
+
+    @Test
+    void constructor_WithInvalidRate_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenBucketRateLimiter(0, 1, Duration.ofMinutes(10), 100));
+    }
+}
@@ -0,0 +1,92 @@
+package com.martinhacker.jsonplaceholder.service;
+
+import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupServiceTest {
+
+    @Mock
+    private JsonPlaceholderService jsonPlaceholderService;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void warmUp_ShouldPreloadPostsUsersAndComments() throws Exception {
+        // Arrange
+        List<Post> posts = Arrays.asList(
+                new Post(1L, "titulo 1", "cuerpo 1", 1L),
+                new Post(2L, "titulo 2", "cuerpo 2", 1L),
+                new Post(3L, "titulo 3", "cuerpo 3", 2L));
+        when(jsonPlaceholderService.getPosts()).thenReturn(posts);
+        when(jsonPlaceholderService.getUserById(anyLong())).thenReturn(new User(1L, "Leanne Graham", "Bret", "Sincere@april.biz"));
+        when(jsonPlaceholderService.preloadAllComments()).thenReturn(3);
+
+        CacheWarmupService warmupService = new CacheWarmupService(jsonPlaceholderService, meterRegistry, true, 4, 5000);
+
+        // Act
+        warmupService.warmUp().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(CacheWarmupService.WarmupStatus.COMPLETED, warmupService.getStatus());
+        verify(jsonPlaceholderService, times(2)).getUserById(anyLong());
+        verify(jsonPlaceholderService, times(1)).preloadAllComments();
+        verify(jsonPlaceholderService, never()).getCommentsByPostId(anyLong());
+        assertEquals(3L, warmupService.getEntryCounts().get("posts"));
+        assertEquals(2L, warmupService.getEntryCounts().get("users"));
+        assertEquals(3L, warmupService.getEntryCounts().get("comments"));
+        assertEquals(1, meterRegistry.get("cache.warmup.duration").timer().count());
+        assertEquals(2.0, meterRegistry.get("cache.warmup.entries").tag("cache", "users").gauge().value());
+    }
+
+    @Test
+    void warmUp_WhenUpstreamIsSlow_ShouldFinishWithTimeout() throws Exception {
+        // Arrange
+        when(jsonPlaceholderService.getPosts()).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return List.of();
+        });
+
+        CacheWarmupService warmupService = new CacheWarmupService(jsonPlaceholderService, meterRegistry, true, 2, 100);
+
+        // Act
+        warmupService.warmUp().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(CacheWarmupService.WarmupStatus.TIMED_OUT, warmupService.getStatus());
+        assertTrue(warmupService.getStatus().isFinished());
+    }
+
+    @Test
+    void onApplicationReady_WhenDisabled_ShouldNotCallUpstream() {
+        // Arrange
+        CacheWarmupService warmupService = new CacheWarmupService(jsonPlaceholderService, meterRegistry, false, 2, 100);
+
+        // Act
+        warmupService.onApplicationReady();
+
+        // Assert
+        assertEquals(CacheWarmupService.WarmupStatus.DISABLED, warmupService.getStatus());
+        verifyNoInteractions(jsonPlaceholderService);
+    }
+}
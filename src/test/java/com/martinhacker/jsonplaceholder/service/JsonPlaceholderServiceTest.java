@@ -1,23 +1,41 @@
 package com.martinhacker.jsonplaceholder.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.martinhacker.jsonplaceholder.cache.NegativeLookupCache;
+import com.martinhacker.jsonplaceholder.cache.SharedCacheStore;
+import com.martinhacker.jsonplaceholder.client.JsonArrayStreamReader;
+import com.martinhacker.jsonplaceholder.event.CommentsLoadedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsDeletedEvent;
+import com.martinhacker.jsonplaceholder.event.PostsLoadedEvent;
 import com.martinhacker.jsonplaceholder.model.Comment;
+import com.martinhacker.jsonplaceholder.model.DeleteStatus;
 import com.martinhacker.jsonplaceholder.model.Post;
+import com.martinhacker.jsonplaceholder.model.PostBatchResult;
 import com.martinhacker.jsonplaceholder.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,17 +47,29 @@ class JsonPlaceholderServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private JsonPlaceholderService jsonPlaceholderService;
 
     private Post samplePost;
     private User sampleUser;
     private Comment sampleComment;
+    private CacheManager cacheManager;
+    private NegativeLookupCache negativeLookupCache;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Object> publishedEvents;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     void setUp() {
         // Configurar URL base para testing
-        jsonPlaceholderService = new JsonPlaceholderService(restTemplate, "https://jsonplaceholder.typicode.com");
+        cacheManager = new ConcurrentMapCacheManager("posts", "postLists", "users", "comments");
+        publishedEvents = new ArrayList<>();
+        ApplicationEventPublisher eventPublisher = publishedEvents::add;
+        PostCacheInvalidator postCacheInvalidator = new PostCacheInvalidator(cacheManager, eventPublisher, (SharedCacheStore) null, null, 60000, 1000);
+        meterRegistry = new SimpleMeterRegistry();
+        negativeLookupCache = new NegativeLookupCache(60000, 1000, true, 0.01, meterRegistry);
+        jsonPlaceholderService = new JsonPlaceholderService(restTemplate, "https://jsonplaceholder.typicode.com",
+                cacheManager, postCacheInvalidator, negativeLookupCache, eventPublisher,
+                new JsonArrayStreamReader(objectMapper), 4, 10);
         
         // Crear datos de muestra
         sampleUser = new User();
@@ -66,14 +96,7 @@ class JsonPlaceholderServiceTest {
     void getPosts_ShouldReturnListOfPosts() {
         // Arrange
         List<Post> expectedPosts = Arrays.asList(samplePost);
-        ResponseEntity<List<Post>> responseEntity = new ResponseEntity<>(expectedPosts, HttpStatus.OK);
-        
-        when(restTemplate.exchange(
-                eq("https://jsonplaceholder.typicode.com/posts"),
-                eq(HttpMethod.GET),
-                isNull(),
-                any(ParameterizedTypeReference.class)
-        )).thenReturn(responseEntity);
+        stubJsonArray("https://jsonplaceholder.typicode.com/posts", expectedPosts);
 
         // Act
         List<Post> result = jsonPlaceholderService.getPosts();
@@ -83,6 +106,7 @@ class JsonPlaceholderServiceTest {
         assertEquals(1, result.size());
         assertEquals(samplePost.getId(), result.get(0).getId());
         assertEquals(samplePost.getTitle(), result.get(0).getTitle());
+        assertTrue(publishedEvents.contains(new PostsLoadedEvent(result)));
     }
 
     @Test
@@ -123,14 +147,7 @@ class JsonPlaceholderServiceTest {
     void getCommentsByPostId_ShouldReturnComments() {
         // Arrange
         List<Comment> expectedComments = Arrays.asList(sampleComment);
-        ResponseEntity<List<Comment>> responseEntity = new ResponseEntity<>(expectedComments, HttpStatus.OK);
-        
-        when(restTemplate.exchange(
-                eq("https://jsonplaceholder.typicode.com/posts/1/comments"),
-                eq(HttpMethod.GET),
-                isNull(),
-                any(ParameterizedTypeReference.class)
-        )).thenReturn(responseEntity);
+        stubJsonArray("https://jsonplaceholder.typicode.com/posts/1/comments", expectedComments);
 
         // Act
         List<Comment> result = jsonPlaceholderService.getCommentsByPostId(1L);
@@ -155,14 +172,106 @@ class JsonPlaceholderServiceTest {
         verify(restTemplate).delete("https://jsonplaceholder.typicode.com/posts/1");
     }
 
+    @Test
+    void deletePost_ShouldInvalidateCachedEntriesAndRecordTombstone() {
+        // Arrange
+        Post otherPost = new Post(2L, "otro titulo", "otro cuerpo", 1L);
+        cacheManager.getCache("postLists").put("all", Arrays.asList(samplePost, otherPost));
+        cacheManager.getCache("posts").put(1L, samplePost);
+        cacheManager.getCache("comments").put(1L, Arrays.asList(sampleComment));
+        doNothing().when(restTemplate).delete("https://jsonplaceholder.typicode.com/posts/1");
+
+        // Act
+        jsonPlaceholderService.deletePost(1L);
+
+        // Assert
+        assertNull(cacheManager.getCache("posts").get(1L));
+        assertNull(cacheManager.getCache("comments").get(1L));
+        assertTrue(publishedEvents.contains(new PostsDeletedEvent(Set.of(1L))));
+        List<?> cachedPosts = (List<?>) cacheManager.getCache("postLists").get("all").get();
+        assertEquals(1, cachedPosts.size());
+        assertSame(otherPost, cachedPosts.get(0));
+        
+        assertNull(jsonPlaceholderService.getPostById(1L));
+        assertTrue(jsonPlaceholderService.getCommentsByPostId(1L).isEmpty());
+        verify(restTemplate, never()).getForObject(anyString(), eq(Post.class));
+    }
+
+    @Test
+    void getPosts_AfterDelete_ShouldNotReturnDeletedPost() {
+        // Arrange
+        Post otherPost = new Post(2L, "otro titulo", "otro cuerpo", 1L);
+
+        doNothing().when(restTemplate).delete("https://jsonplaceholder.typicode.com/posts/1");
+        stubJsonArray("https://jsonplaceholder.typicode.com/posts", Arrays.asList(samplePost, otherPost));
+
+        // Act
+        jsonPlaceholderService.deletePost(1L);
+        List<Post> result = jsonPlaceholderService.getPosts();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getId());
+    }
+
+    @Test
+    void deletePosts_ShouldReturnResultPerIdAndInvalidateDeletedOnly() {
+        // Arrange
+        cacheManager.getCache("posts").put(1L, samplePost);
+        doNothing().when(restTemplate).delete("https://jsonplaceholder.typicode.com/posts/1");
+        doThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND))
+                .when(restTemplate).delete("https://jsonplaceholder.typicode.com/posts/2");
+        doThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))
+                .when(restTemplate).delete("https://jsonplaceholder.typicode.com/posts/3");
+
+        // Act
+        Map<Long, DeleteStatus> result = jsonPlaceholderService.deletePosts(Arrays.asList(3L, 1L, 2L, 1L));
+
+        // Assert
+        assertEquals(Arrays.asList(3L, 1L, 2L), List.copyOf(result.keySet()));
+        assertEquals(DeleteStatus.DELETED, result.get(1L));
+        assertEquals(DeleteStatus.NOT_FOUND, result.get(2L));
+        assertEquals(DeleteStatus.FAILED, result.get(3L));
+        assertNull(cacheManager.getCache("posts").get(1L));
+        verify(restTemplate, times(1)).delete("https://jsonplaceholder.typicode.com/posts/1");
+    }
+
+    @Test
+    void getPostsByIds_ShouldUseCacheFetchMissesAndKeepInputOrder() {
+        // Arrange
+        Post cachedPost = new Post(2L, "cacheado", "cuerpo", 1L);
+        cacheManager.getCache("posts").put(2L, cachedPost);
+        cacheManager.getCache("posts").put(3L, null);
+        when(restTemplate.getForObject(
+                eq("https://jsonplaceholder.typicode.com/posts/1"),
+                eq(Post.class)
+        )).thenReturn(samplePost);
+        when(restTemplate.getForObject(
+                eq("https://jsonplaceholder.typicode.com/posts/999"),
+                eq(Post.class)
+        )).thenReturn(null);
+
+        // Act
+        PostBatchResult result = jsonPlaceholderService.getPostsByIds(Arrays.asList(999L, 2L, 3L, 1L), false);
+
+        // Assert
+        assertEquals(2, result.getPosts().size());
+        assertSame(cachedPost, result.getPosts().get(0));
+        assertEquals(1L, result.getPosts().get(1).getId());
+        assertEquals(Arrays.asList(999L, 3L), result.getMissingIds());
+        assertTrue(result.getFailedIds().isEmpty());
+        verify(restTemplate, never()).getForObject(eq("https://jsonplaceholder.typicode.com/posts/2"), eq(Post.class));
+        verify(restTemplate, never()).getForObject(eq("https://jsonplaceholder.typicode.com/posts/3"), eq(Post.class));
+    }
+
     @Test
     void getPosts_WhenApiThrowsException_ShouldThrowRuntimeException() {
         // Arrange
-        when(restTemplate.exchange(
-                anyString(),
+        when(restTemplate.execute(
+                any(URI.class),
                 any(HttpMethod.class),
-                isNull(),
-                any(ParameterizedTypeReference.class)
+                any(RequestCallback.class),
+                any(ResponseExtractor.class)
         )).thenThrow(new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
 
         // Act & Assert
@@ -186,31 +295,72 @@ class JsonPlaceholderServiceTest {
         assertNull(result);
     }
 
+    @Test
+    void getPostById_WhenUpstreamReturns404_ShouldRememberMissingPost() {
+        // Arrange
+        when(restTemplate.getForObject(
+                eq("https://jsonplaceholder.typicode.com/posts/999"),
+                eq(Post.class)
+        )).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        // Act
+        Post first = jsonPlaceholderService.getPostById(999L);
+        Post second = jsonPlaceholderService.getPostById(999L);
+
+        // Assert
+        assertNull(first);
+        assertNull(second);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(Post.class));
+        assertEquals(1, negativeLookupCache.getUpstreamCallsAvoided());
+        assertEquals(1.0, meterRegistry.get("cache.negative.calls_avoided").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.negative.size").gauge().value());
+    }
+
+    @Test
+    void getUserById_WhenUserNotFound_ShouldNotCallUpstreamAgain() {
+        // Arrange
+        when(restTemplate.getForObject(
+                eq("https://jsonplaceholder.typicode.com/users/99"),
+                eq(User.class)
+        )).thenReturn(null);
+
+        // Act
+        jsonPlaceholderService.getUserById(99L);
+        User result = jsonPlaceholderService.getUserById(99L);
+
+        // Assert
+        assertNull(result);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(User.class));
+    }
+
+    @Test
+    void getPostById_WhenIdOutsideLoadedPosts_ShouldSkipUpstream() {
+        // Arrange
+        stubJsonArray("https://jsonplaceholder.typicode.com/posts", List.of(samplePost));
+        List<Post> posts = jsonPlaceholderService.getPosts();
+        negativeLookupCache.onPostsLoaded(new PostsLoadedEvent(posts));
+
+        // Act
+        Post result = jsonPlaceholderService.getPostById(123456L);
+
+        // Assert
+        assertNull(result);
+        verify(restTemplate, never()).getForObject(anyString(), eq(Post.class));
+    }
+
     @Test
     void getAllPostsWithDetails_ShouldReturnPostsWithUserAndComments() {
         // Arrange
         List<Post> posts = Arrays.asList(samplePost);
-        ResponseEntity<List<Post>> postsResponse = new ResponseEntity<>(posts, HttpStatus.OK);
-        ResponseEntity<List<Comment>> commentsResponse = new ResponseEntity<>(Arrays.asList(sampleComment), HttpStatus.OK);
         
-        when(restTemplate.exchange(
-                eq("https://jsonplaceholder.typicode.com/posts"),
-                eq(HttpMethod.GET),
-                isNull(),
-                any(ParameterizedTypeReference.class)
-        )).thenReturn(postsResponse);
+        stubJsonArray("https://jsonplaceholder.typicode.com/posts", posts);
         
         when(restTemplate.getForObject(
                 eq("https://jsonplaceholder.typicode.com/users/1"),
                 eq(User.class)
         )).thenReturn(sampleUser);
         
-        when(restTemplate.exchange(
-                eq("https://jsonplaceholder.typicode.com/posts/1/comments"),
-                eq(HttpMethod.GET),
-                isNull(),
-                any(ParameterizedTypeReference.class)
-        )).thenReturn(commentsResponse);
+        stubJsonArray("https://jsonplaceholder.typicode.com/posts/1/comments", Arrays.asList(sampleComment));
 
         // Act
         List<Post> result = jsonPlaceholderService.getAllPostsWithDetails();
@@ -223,4 +373,80 @@ class JsonPlaceholderServiceTest {
         assertEquals(sampleUser.getId(), result.get(0).getUser().getId());
         assertEquals(1, result.get(0).getComments().size());
     }
+
+    @Test
+    void getAllPostsWithDetails_ShouldNotEnrichCachedPosts() {
+        // Arrange: como el proxy de @Cacheable, getPosts() devuelve siempre la misma lista cacheada
+        List<Post> cachedPosts = List.of(samplePost);
+        JsonPlaceholderService cachingProxy = mock(JsonPlaceholderService.class);
+        when(cachingProxy.getPosts()).thenReturn(cachedPosts);
+        when(cachingProxy.getUserById(1L)).thenReturn(sampleUser);
+        when(cachingProxy.getCommentsByPostId(1L)).thenReturn(List.of(sampleComment));
+        jsonPlaceholderService.setSelf(cachingProxy);
+
+        // Act
+        List<Post> result = jsonPlaceholderService.getAllPostsWithDetails();
+
+        // Assert: el post cacheado sigue sin usuario ni comentarios, con el peso calculado al insertarlo
+        assertNotSame(samplePost, result.get(0));
+        assertNull(samplePost.getUser());
+        assertNull(samplePost.getComments());
+        assertEquals(sampleUser, result.get(0).getUser());
+        assertEquals(1, result.get(0).getComments().size());
+    }
+
+    @Test
+    void getAllPostsWithDetails_ShouldResolveEachAuthorOnce() {
+        // Arrange
+        Post secondPost = new Post(2L, "otro título", "otro contenido", 1L);
+        
+        stubJsonArray("https://jsonplaceholder.typicode.com/posts", Arrays.asList(samplePost, secondPost));
+        stubJsonArray("https://jsonplaceholder.typicode.com/posts/1/comments", List.of());
+        stubJsonArray("https://jsonplaceholder.typicode.com/posts/2/comments", List.of());
+        when(restTemplate.getForObject(
+                eq("https://jsonplaceholder.typicode.com/users/1"),
+                eq(User.class)
+        )).thenReturn(sampleUser);
+
+        // Act
+        List<Post> result = jsonPlaceholderService.getAllPostsWithDetails();
+
+        // Assert
+        assertSame(result.get(0).getUser(), result.get(1).getUser());
+        verify(restTemplate, times(1)).getForObject(eq("https://jsonplaceholder.typicode.com/users/1"), eq(User.class));
+    }
+
+    @Test
+    void preloadAllComments_ShouldGroupCommentsByPostIntoCache() {
+        // Arrange
+        Comment secondComment = new Comment(2L, 2L, "quo vero reiciendis", "Jayne_Kuhic@sydney.com", "est natus enim");
+        Comment thirdComment = new Comment(3L, 1L, "odio adipisci", "Nikita@garfield.biz", "quia molestiae");
+        stubJsonArray("https://jsonplaceholder.typicode.com/comments", Arrays.asList(sampleComment, secondComment, thirdComment));
+
+        // Act
+        int loadedPosts = jsonPlaceholderService.preloadAllComments();
+
+        // Assert
+        assertEquals(2, loadedPosts);
+        List<Comment> cachedForPost1 = cacheManager.getCache("comments").get(1L, List.class);
+        assertEquals(List.of(1L, 3L), cachedForPost1.stream().map(Comment::getId).toList());
+        assertEquals(1, cacheManager.getCache("comments").get(2L, List.class).size());
+        assertEquals(2, publishedEvents.stream().filter(CommentsLoadedEvent.class::isInstance).count());
+    }
+
+    /**
+     * Simula una respuesta JSON de la API externa leída en streaming por el extractor del servicio
+     */
+    @SuppressWarnings("unchecked")
+    private void stubJsonArray(String url, List<?> body) {
+        when(restTemplate.execute(
+                eq(URI.create(url)),
+                eq(HttpMethod.GET),
+                any(RequestCallback.class),
+                any(ResponseExtractor.class)
+        )).thenAnswer(invocation -> {
+            ResponseExtractor<Object> extractor = invocation.getArgument(3);
+            return extractor.extractData(new MockClientHttpResponse(objectMapper.writeValueAsBytes(body), HttpStatus.OK));
+        });
+    }
 }
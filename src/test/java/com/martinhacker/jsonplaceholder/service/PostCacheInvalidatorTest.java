@@ -0,0 +1,69 @@
+package com.martinhacker.jsonplaceholder.service;
+
+import com.martinhacker.jsonplaceholder.cache.InMemoryInvalidationBus;
+import com.martinhacker.jsonplaceholder.cache.InMemorySharedCacheStore;
+import com.martinhacker.jsonplaceholder.event.PostsDeletedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostCacheInvalidatorTest {
+
+    private InMemorySharedCacheStore sharedStore;
+    private InMemoryInvalidationBus invalidationBus;
+    private List<Object> nodeBEvents;
+    private PostCacheInvalidator nodeA;
+    private PostCacheInvalidator nodeB;
+
+    @BeforeEach
+    void setUp() {
+        sharedStore = new InMemorySharedCacheStore(Duration.ofMinutes(10));
+        invalidationBus = new InMemoryInvalidationBus();
+        nodeBEvents = new ArrayList<>();
+        nodeA = newNode(new ArrayList<>());
+        nodeB = newNode(nodeBEvents);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    void invalidateDeletedPosts_ShouldBroadcastTombstonesToOtherNodes() {
+        // Act
+        nodeA.invalidateDeletedPosts(List.of(1L));
+
+        // Assert
+        assertTrue(nodeB.isDeleted(1L));
+        assertFalse(nodeB.isDeleted(2L));
+        assertTrue(nodeBEvents.contains(new PostsDeletedEvent(Set.of(1L))));
+    }
+
+    @Test
+    void isDeleted_ForNodeJoiningAfterDelete_ShouldReadTombstoneFromSharedStore() {
+        // Arrange
+        nodeA.invalidateDeletedPosts(List.of(1L));
+
+        // Act
+        PostCacheInvalidator nodeC = newNode(new ArrayList<>());
+
+        // Assert
+        assertTrue(nodeC.isDeleted(1L));
+        nodeC.shutdown();
+    }
+
+    private PostCacheInvalidator newNode(List<Object> events) {
+        return new PostCacheInvalidator(new ConcurrentMapCacheManager("posts", "postLists", "comments"),
+                events::add, sharedStore, invalidationBus, 60000, 1000);
+    }
+}
@@ -0,0 +1,102 @@
+package com.martinhacker.jsonplaceholder.upstream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamCallSchedulerTest {
+
+    private static final Map<UpstreamPriority, Integer> WEIGHTS = Map.of(
+            UpstreamPriority.INTERACTIVE, 4, UpstreamPriority.BULK, 1, UpstreamPriority.BACKGROUND, 1);
+
+    @Test
+    void acquire_WhenSaturated_ShouldGrantSlotsInWeightedFairOrder() throws Exception {
+        // Arrange
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(1, 0, WEIGHTS, 5000);
+        UpstreamCallScheduler.Permit holder = scheduler.acquire(UpstreamPriority.BACKGROUND);
+        List<UpstreamPriority> grants = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UpstreamPriority priority = i < 8 ? UpstreamPriority.INTERACTIVE : UpstreamPriority.BULK;
+            Thread caller = new Thread(() -> {
+                try (UpstreamCallScheduler.Permit permit = scheduler.acquire(priority)) {
+                    grants.add(permit.getPriority());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        while (scheduler.getQueued(UpstreamPriority.INTERACTIVE) + scheduler.getQueued(UpstreamPriority.BULK) < 10) {
+            Thread.sleep(5);
+        }
+
+        // Act
+        holder.close();
+        for (Thread caller : callers) {
+            caller.join(5000);
+        }
+
+        // Assert: peso 4 frente a 1, sin dejar sin servicio a la agregación
+        UpstreamPriority i = UpstreamPriority.INTERACTIVE;
+        UpstreamPriority b = UpstreamPriority.BULK;
+        assertEquals(List.of(i, i, i, i, b, i, i, i, i, b), grants);
+        assertEquals(0, scheduler.getInFlight());
+    }
+
+    @Test
+    void acquire_ShouldKeepReservedSlotsForInteractiveCalls() throws Exception {
+        // Arrange
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(2, 1, WEIGHTS, 50);
+        UpstreamCallScheduler.Permit bulk = scheduler.acquire(UpstreamPriority.BULK);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> scheduler.acquire(UpstreamPriority.BACKGROUND));
+        try (UpstreamCallScheduler.Permit interactive = scheduler.acquire(UpstreamPriority.INTERACTIVE)) {
+            assertEquals(2, scheduler.getInFlight());
+        }
+        bulk.close();
+        bulk.close();
+        assertEquals(0, scheduler.getInFlight());
+    }
+
+    @Test
+    void prioritizedFactory_ShouldHoldSlotUntilResponseIsClosed() throws Exception {
+        // Arrange
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(4, 0, WEIGHTS, 1000);
+        PrioritizedClientHttpRequestFactory factory = new PrioritizedClientHttpRequestFactory((uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(new MockClientHttpResponse("[]".getBytes(), HttpStatus.OK));
+            return request;
+        }, scheduler);
+
+        // Act
+        ClientHttpResponse response = UpstreamPriority.BULK.call(() -> {
+            try {
+                return factory.createRequest(URI.create("http://localhost/posts"), HttpMethod.GET).execute();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Assert
+        assertEquals(1, scheduler.getInFlight());
+        assertEquals(UpstreamPriority.INTERACTIVE, UpstreamPriority.current());
+        response.close();
+        assertEquals(0, scheduler.getInFlight());
+        assertTrue(scheduler.getQueueWaitNanos(UpstreamPriority.BULK) >= 0);
+    }
+}
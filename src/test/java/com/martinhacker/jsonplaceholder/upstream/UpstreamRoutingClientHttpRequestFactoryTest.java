@@ -0,0 +1,169 @@
+package com.martinhacker.jsonplaceholder.upstream;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRoutingClientHttpRequestFactoryTest {
+
+    private static final String LOGICAL_BASE_URL = "https://jsonplaceholder.typicode.com";
+
+    private final List<MockWebServer> servers = new ArrayList<>();
+    private SimpleClientHttpRequestFactory httpFactory;
+
+    @BeforeEach
+    void setUp() {
+        httpFactory = new SimpleClientHttpRequestFactory();
+        httpFactory.setConnectTimeout(1000);
+        httpFactory.setReadTimeout(2000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (MockWebServer server : servers) {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    void execute_ShouldPreferFastestUpstream() throws Exception {
+        // Arrange
+        MockWebServer fast = startServer(0);
+        MockWebServer slow = startServer(150);
+        UpstreamPool pool = pool(fast, slow);
+        UpstreamRoutingClientHttpRequestFactory factory =
+                new UpstreamRoutingClientHttpRequestFactory(httpFactory, pool, LOGICAL_BASE_URL);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertEquals("ok", get(factory, "/posts/" + (i + 1)));
+        }
+
+        // Assert
+        assertTrue(fast.getRequestCount() >= 18, "La réplica rápida recibió " + fast.getRequestCount());
+        assertTrue(fast.takeRequest().getPath().startsWith("/posts/"));
+    }
+
+    @Test
+    void execute_WhenUpstreamIsDown_ShouldFailOverAndEjectIt() throws IOException {
+        // Arrange
+        MockWebServer healthy = startServer(0);
+        MockWebServer down = startServer(0);
+        UpstreamPool pool = pool(healthy, down);
+        down.shutdown();
+        UpstreamRoutingClientHttpRequestFactory factory =
+                new UpstreamRoutingClientHttpRequestFactory(httpFactory, pool, LOGICAL_BASE_URL);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertEquals("ok", get(factory, "/posts"));
+        }
+
+        // Assert
+        assertEquals(10, healthy.getRequestCount());
+        assertTrue(pool.getEndpoints().get(1).isEjected());
+        assertFalse(pool.getEndpoints().get(0).isEjected());
+    }
+
+    @Test
+    void probeAll_WhenEjectedUpstreamRecovers_ShouldReinstateIt() throws Exception {
+        // Arrange
+        MockWebServer server = startServer(0);
+        UpstreamPool pool = pool(server);
+        UpstreamEndpoint endpoint = pool.getEndpoints().get(0);
+        pool.recordFailure(endpoint);
+        pool.recordFailure(endpoint);
+        assertTrue(endpoint.isEjected());
+
+        // Act
+        pool.probeAll();
+
+        // Assert
+        assertFalse(endpoint.isEjected());
+        assertEquals("/posts/1", server.takeRequest(1, TimeUnit.SECONDS).getPath());
+    }
+
+    @Test
+    void createRequest_ForOtherHosts_ShouldNotBeRouted() throws IOException {
+        // Arrange
+        MockWebServer upstream = startServer(0);
+        MockWebServer other = startServer(0);
+        UpstreamRoutingClientHttpRequestFactory factory =
+                new UpstreamRoutingClientHttpRequestFactory(httpFactory, pool(upstream), LOGICAL_BASE_URL);
+
+        // Act
+        try (ClientHttpResponse response = factory
+                .createRequest(other.url("/users/1").uri(), HttpMethod.GET).execute()) {
+            // Assert
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+        assertEquals(1, other.getRequestCount());
+        assertEquals(0, upstream.getRequestCount());
+    }
+
+    @Test
+    void createRequest_ForHostExtendingLogicalBaseUrl_ShouldNotBeRouted() throws Exception {
+        // Arrange: la URL de otro servidor empieza por la URL base lógica pero no está bajo ella
+        MockWebServer upstream = startServer(0);
+        MockWebServer other = startServer(0);
+        String logicalBaseUrl = "http://" + other.getHostName();
+        URI extendedHost = URI.create("http://" + other.getHostName() + ":" + other.getPort() + "/users/1");
+        UpstreamRoutingClientHttpRequestFactory factory =
+                new UpstreamRoutingClientHttpRequestFactory(httpFactory, pool(upstream), logicalBaseUrl);
+
+        // Act
+        try (ClientHttpResponse response = factory.createRequest(extendedHost, HttpMethod.GET).execute()) {
+            // Assert
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+        assertEquals(1, other.getRequestCount());
+        assertEquals(0, upstream.getRequestCount());
+    }
+
+    private MockWebServer startServer(long headersDelayMs) throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeadersDelay(headersDelayMs, TimeUnit.MILLISECONDS)
+                        .setBody("ok");
+            }
+        });
+        server.start();
+        servers.add(server);
+        return server;
+    }
+
+    private UpstreamPool pool(MockWebServer... upstreams) {
+        List<String> baseUrls = new ArrayList<>();
+        for (MockWebServer upstream : upstreams) {
+            baseUrls.add("http://" + upstream.getHostName() + ":" + upstream.getPort());
+        }
+        return new UpstreamPool(baseUrls, httpFactory, "/posts/1", 2, 60000, 60000);
+    }
+
+    private static String get(UpstreamRoutingClientHttpRequestFactory factory, String path) throws IOException {
+        try (ClientHttpResponse response = factory.createRequest(URI.create(LOGICAL_BASE_URL + path), HttpMethod.GET)
+                .execute()) {
+            return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}